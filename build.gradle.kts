@@ -45,6 +45,26 @@ repositories {
     maven("https://oss.sonatype.org/content/repositories/snapshots")
 }
 
+// benchmarks run against the mod and minecraft on a plain jvm, without launching the client
+val jmh by sourceSets.creating {
+    // shared by every version, like the mod's own sources
+    java.setSrcDirs(listOf(rootProject.file("src/jmh/java")))
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    runtimeClasspath += sourceSets.main.get().output + sourceSets.main.get().runtimeClasspath
+}
+
+// the SDL3 library the mod downloads at runtime, for the SDL benchmarks
+val sdl3Natives by configurations.creating {
+    isTransitive = false
+}
+
+// tests share the benchmarks' stand-ins for the client
+sourceSets.test {
+    java.setSrcDirs(listOf(rootProject.file("src/test/java")))
+    compileClasspath += jmh.output
+    runtimeClasspath += jmh.output
+}
+
 loom {
     accessWidenerPath.set(project.file("src/main/resources/controlify.accesswidener"))
 
@@ -113,6 +133,20 @@ dependencies {
 
     // simple-voice-chat compat
     modCompileOnly("maven.modrinth:simple-voice-chat:${property("deps.simpleVoiceChat")}")
+
+    // benchmarks
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:${property("deps.jmh")}")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:${property("deps.jmh")}")
+    sdl3NativesArtifact()?.let { (classifier, extension) ->
+        // libsdl4j is versioned as the SDL3 version it binds, plus its own build number
+        val sdl3Version = property("deps.sdl34j").toString().substringBefore('-')
+        sdl3Natives("dev.isxander:libsdl4j-natives:$sdl3Version:$classifier@$extension")
+    }
+
+    // tests
+    testImplementation(platform("org.junit:junit-bom:${property("deps.junit")}"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 java {
@@ -174,6 +208,36 @@ tasks {
         }
     }
 
+    test {
+        useJUnitPlatform()
+    }
+
+    register<JavaExec>("jmh") {
+        group = "verification"
+        description = "Runs the JMH benchmarks. Arguments are passed to JMH with -Pjmh.args=\"...\""
+
+        val results = layout.buildDirectory.file("reports/jmh/results-$mcVersion.json").get().asFile
+        val jmhArgs = providers.gradleProperty("jmh.args").map { it.split(' ').filter(String::isNotBlank) }.getOrElse(listOf())
+        // resolved leniently, so the SDL benchmarks are left out rather than failing the run when offline
+        val sdl3Library = sdl3Natives.incoming.artifactView { lenient(true) }.files
+        classpath = jmh.runtimeClasspath
+        mainClass.set("org.openjdk.jmh.Main")
+        args("-rf", "json", "-rff", results.absolutePath)
+        args(jmhArgs)
+        doFirst {
+            results.parentFile.mkdirs()
+
+            val library = sdl3Library.files.singleOrNull()
+            if (library != null) {
+                // forks inherit the runner's system properties
+                systemProperty("controlify.benchmark.sdl3", library.absolutePath)
+            } else if (jmhArgs.none { "controlify.benchmark.sdl3" in it }) {
+                logger.warn("SDL3 could not be resolved for this platform, skipping SDL3NativesBenchmark.")
+                args("-e", "SDL3NativesBenchmark")
+            }
+        }
+    }
+
     register("releaseMod") {
         group = "mod"
 
@@ -287,3 +351,18 @@ tasks.getByName("generateMetadataFileForModPublication") {
     dependsOn("optimizeOutputsOfRemapJar")
 }
 
+// the classifier and extension the SDL3 library is published with for this machine,
+// matching SDL3NativesManager's targets, or null if there is none
+fun sdl3NativesArtifact(): Pair<String, String>? {
+    val os = System.getProperty("os.name").lowercase()
+    val arch = System.getProperty("os.arch")
+    val is64Bit = "64" in arch
+    val isArm = "arm" in arch || "aarch" in arch
+
+    return when {
+        os.startsWith("windows") && !isArm -> (if (is64Bit) "windows64" else "window32") to "dll"
+        os.startsWith("linux") && is64Bit && !isArm -> "linux64" to "so"
+        os.startsWith("mac") && is64Bit -> (if (isArm) "macos-aarch64" else "macos-x86_64") to "dylib"
+        else -> null
+    }
+}
@@ -0,0 +1,65 @@
+package dev.isxander.controlify.benchmark;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.loader.impl.FabricLoaderImpl;
+import net.fabricmc.loader.impl.launch.FabricLauncherBase;
+import net.fabricmc.loader.impl.launch.knot.Knot;
+import net.minecraft.client.Minecraft;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.resources.ReloadableResourceManager;
+import sun.misc.Unsafe;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+
+/**
+ * Stands in for the client singletons the input pipeline reaches for,
+ * so benchmarks run on a plain JVM without launching Minecraft.
+ * <p>
+ * {@link Minecraft#getInstance()} returns an instance that was never constructed,
+ * with only an empty resource manager set. Anything else on it is null.
+ * <p>
+ * Fabric Loader is given a launcher that is never initialised, so it reports a production environment
+ * to anything that asks, such as the debug properties, and the game directory is a new temporary directory.
+ */
+public final class BenchmarkBootstrap {
+    private static boolean bootstrapped = false;
+
+    private BenchmarkBootstrap() {
+    }
+
+    public static synchronized void bootstrap() {
+        if (bootstrapped) return;
+        bootstrapped = true;
+
+        if (FabricLauncherBase.getLauncher() == null) {
+            new Knot(EnvType.CLIENT);
+        }
+        try {
+            FabricLoaderImpl.INSTANCE.setGameDir(Files.createTempDirectory("controlify-benchmark"));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create game directory", e);
+        }
+
+        try {
+            Minecraft minecraft = (Minecraft) unsafe().allocateInstance(Minecraft.class);
+            setField(minecraft, "resourceManager", new ReloadableResourceManager(PackType.CLIENT_RESOURCES));
+            setField(null, "instance", minecraft);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to stub Minecraft", e);
+        }
+    }
+
+    private static void setField(Minecraft owner, String name, Object value) throws ReflectiveOperationException {
+        Field field = Minecraft.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(owner, value);
+    }
+
+    private static Unsafe unsafe() throws ReflectiveOperationException {
+        Field field = Unsafe.class.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        return (Unsafe) field.get(null);
+    }
+}
@@ -0,0 +1,133 @@
+package dev.isxander.controlify.benchmark;
+
+import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.GamepadInputs;
+import dev.isxander.controlify.controller.input.HatState;
+import dev.isxander.controlify.controller.input.JoystickInputs;
+import dev.isxander.controlify.controller.input.mapping.ControllerMapping;
+import dev.isxander.controlify.controller.input.mapping.MappingEntry;
+import dev.isxander.controlify.driver.synthetic.SyntheticInput;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Pre-generated controller states and mappings shared by the benchmarks,
+ * so benchmarks cycle through realistic, varying input without generating it as they run.
+ */
+public final class BenchmarkInputs {
+    /** How many states are generated. A power of two, so they can be cycled through with a mask. */
+    public static final int SAMPLES = 256;
+    public static final int SAMPLE_MASK = SAMPLES - 1;
+
+    private static final int JOYSTICK_BUTTONS = 16, JOYSTICK_AXES = 6;
+    private static final HatState[] HAT_STATES = HatState.values();
+
+    private BenchmarkInputs() {
+    }
+
+    /**
+     * States as written by a gamepad driver, taken from {@link SyntheticInput#random(long)}.
+     */
+    public static ControllerStateImpl[] gamepadSamples(long seed) {
+        SyntheticInput input = SyntheticInput.random(seed);
+        SyntheticInput.Frame frame = new SyntheticInput.Frame();
+
+        ControllerStateImpl[] samples = new ControllerStateImpl[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            input.next(frame);
+            samples[i] = new ControllerStateImpl();
+            samples[i].copyFrom(frame.state);
+        }
+        return samples;
+    }
+
+    /**
+     * States as written by a joystick driver for a device with 16 buttons, 6 axes and a hat.
+     */
+    public static ControllerStateImpl[] joystickSamples(long seed) {
+        Random random = new Random(seed);
+
+        ControllerStateImpl[] samples = new ControllerStateImpl[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            ControllerStateImpl state = samples[i] = new ControllerStateImpl();
+            for (int button = 0; button < JOYSTICK_BUTTONS; button++) {
+                state.setButton(JoystickInputs.button(button), random.nextInt(8) == 0);
+            }
+            for (int axis = 0; axis < JOYSTICK_AXES; axis++) {
+                float value = random.nextFloat() * 2 - 1;
+                state.setAxis(JoystickInputs.axis(axis, true), Math.max(value, 0));
+                state.setAxis(JoystickInputs.axis(axis, false), -Math.min(value, 0));
+            }
+            state.setHat(JoystickInputs.hat(0), HAT_STATES[random.nextInt(HAT_STATES.length)]);
+        }
+        return samples;
+    }
+
+    /**
+     * Maps a generic joystick onto a gamepad: buttons to buttons, the first four axes to sticks,
+     * the next two to triggers and the hat to the d-pad.
+     * This is the shape of mapping most joystick mappings take.
+     */
+    public static ControllerMapping joystickToGamepad() {
+        ControllerMapping.Builder builder = new ControllerMapping.Builder();
+
+        List<ResourceLocation> buttons = SyntheticInput.BUTTONS;
+        for (int button = 0; button < JOYSTICK_BUTTONS && button < buttons.size(); button++) {
+            builder.putMapping(new MappingEntry.FromButton.ToButton(JoystickInputs.button(button), buttons.get(button), false));
+        }
+
+        ResourceLocation[] axes = {
+                GamepadInputs.LEFT_STICK_AXIS_RIGHT, GamepadInputs.LEFT_STICK_AXIS_LEFT,
+                GamepadInputs.LEFT_STICK_AXIS_DOWN, GamepadInputs.LEFT_STICK_AXIS_UP,
+                GamepadInputs.RIGHT_STICK_AXIS_RIGHT, GamepadInputs.RIGHT_STICK_AXIS_LEFT,
+                GamepadInputs.RIGHT_STICK_AXIS_DOWN, GamepadInputs.RIGHT_STICK_AXIS_UP,
+        };
+        for (int axis = 0; axis < 4; axis++) {
+            builder.putMapping(new MappingEntry.FromAxis.ToAxis(JoystickInputs.axis(axis, true), axes[axis * 2], 0, 0, 1, 1));
+            builder.putMapping(new MappingEntry.FromAxis.ToAxis(JoystickInputs.axis(axis, false), axes[axis * 2 + 1], 0, 0, 1, 1));
+        }
+        builder.putMapping(new MappingEntry.FromAxis.ToAxis(JoystickInputs.axis(4, true), GamepadInputs.LEFT_TRIGGER_AXIS, 0, 0, 1, 1));
+        builder.putMapping(new MappingEntry.FromAxis.ToAxis(JoystickInputs.axis(5, true), GamepadInputs.RIGHT_TRIGGER_AXIS, 0, 0, 1, 1));
+
+        ResourceLocation hat = JoystickInputs.hat(0);
+        builder.putMapping(new MappingEntry.FromHat.ToButton(hat, GamepadInputs.DPAD_UP_BUTTON, HatState.UP));
+        builder.putMapping(new MappingEntry.FromHat.ToButton(hat, GamepadInputs.DPAD_DOWN_BUTTON, HatState.DOWN));
+        builder.putMapping(new MappingEntry.FromHat.ToButton(hat, GamepadInputs.DPAD_LEFT_BUTTON, HatState.LEFT));
+        builder.putMapping(new MappingEntry.FromHat.ToButton(hat, GamepadInputs.DPAD_RIGHT_BUTTON, HatState.RIGHT));
+
+        return builder.putDeadzoneGroups(GamepadInputs.DEADZONE_GROUPS).build();
+    }
+
+    /**
+     * Remaps a gamepad onto itself: swapped face buttons, an inverted right stick
+     * and triggers pressing the shoulder buttons, passing everything else through.
+     */
+    public static ControllerMapping gamepadRemap() {
+        ControllerMapping.Builder builder = new ControllerMapping.Builder();
+
+        builder.putMapping(new MappingEntry.FromButton.ToButton(GamepadInputs.SOUTH_BUTTON, GamepadInputs.EAST_BUTTON, false));
+        builder.putMapping(new MappingEntry.FromButton.ToButton(GamepadInputs.EAST_BUTTON, GamepadInputs.SOUTH_BUTTON, false));
+        builder.putMapping(new MappingEntry.FromButton.ToButton(GamepadInputs.WEST_BUTTON, GamepadInputs.NORTH_BUTTON, false));
+        builder.putMapping(new MappingEntry.FromButton.ToButton(GamepadInputs.NORTH_BUTTON, GamepadInputs.WEST_BUTTON, false));
+        for (ResourceLocation button : SyntheticInput.BUTTONS.subList(6, SyntheticInput.BUTTONS.size())) {
+            builder.putMapping(new MappingEntry.FromButton.ToButton(button, button, false));
+        }
+
+        for (ResourceLocation axis : List.of(
+                GamepadInputs.LEFT_STICK_AXIS_UP, GamepadInputs.LEFT_STICK_AXIS_DOWN,
+                GamepadInputs.LEFT_STICK_AXIS_LEFT, GamepadInputs.LEFT_STICK_AXIS_RIGHT,
+                GamepadInputs.RIGHT_STICK_AXIS_LEFT, GamepadInputs.RIGHT_STICK_AXIS_RIGHT
+        )) {
+            builder.putMapping(new MappingEntry.FromAxis.ToAxis(axis, axis, 0, 0, 1, 1));
+        }
+        builder.putMapping(new MappingEntry.FromAxis.ToAxis(GamepadInputs.RIGHT_STICK_AXIS_UP, GamepadInputs.RIGHT_STICK_AXIS_DOWN, 0, 0, 1, 1));
+        builder.putMapping(new MappingEntry.FromAxis.ToAxis(GamepadInputs.RIGHT_STICK_AXIS_DOWN, GamepadInputs.RIGHT_STICK_AXIS_UP, 0, 0, 1, 1));
+
+        builder.putMapping(new MappingEntry.FromAxis.ToButton(GamepadInputs.LEFT_TRIGGER_AXIS, GamepadInputs.LEFT_SHOULDER_BUTTON, 0.5f));
+        builder.putMapping(new MappingEntry.FromAxis.ToButton(GamepadInputs.RIGHT_TRIGGER_AXIS, GamepadInputs.RIGHT_SHOULDER_BUTTON, 0.5f));
+
+        return builder.putDeadzoneGroups(GamepadInputs.DEADZONE_GROUPS).build();
+    }
+}
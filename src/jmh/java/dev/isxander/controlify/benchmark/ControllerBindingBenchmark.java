@@ -0,0 +1,101 @@
+package dev.isxander.controlify.benchmark;
+
+import dev.isxander.controlify.api.bind.ControllerBinding;
+import dev.isxander.controlify.api.bind.ControllerBindingBuilder;
+import dev.isxander.controlify.bindings.AxisBind;
+import dev.isxander.controlify.bindings.ButtonBind;
+import dev.isxander.controlify.bindings.IBind;
+import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.GamepadInputs;
+import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.controllermanager.SyntheticControllerManager;
+import dev.isxander.controlify.driver.synthetic.SyntheticControllerSpec;
+import dev.isxander.controlify.driver.synthetic.SyntheticDriver;
+import dev.isxander.controlify.driver.synthetic.SyntheticInput;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Querying bindings of a synthetic controller.
+ * <p>
+ * The bindings are standalone, evaluated against the controller's state on every query.
+ * The full binding set can't be created without a running client,
+ * so the evaluation shared between the bindings of a controller is not covered.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerBindingBenchmark {
+    private ControllerBinding button, axis;
+    private InputComponent input;
+    private ControllerStateImpl[] samples;
+    private int index;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.bootstrap();
+
+        SyntheticDriver driver = new SyntheticDriver(
+                SyntheticControllerSpec.FULL,
+                SyntheticInput.none(),
+                "benchmark",
+                new SyntheticControllerManager.SyntheticUniqueControllerID(0)
+        );
+        ControllerEntity controller = driver.getController();
+        input = controller.input().orElseThrow();
+
+        button = binding(controller, "button", new ButtonBind(GamepadInputs.SOUTH_BUTTON));
+        axis = binding(controller, "axis", new AxisBind(GamepadInputs.RIGHT_STICK_AXIS_RIGHT));
+
+        samples = BenchmarkInputs.gamepadSamples(0);
+
+        // released then pressed, so the button is just pressed on every query
+        ControllerStateImpl state = new ControllerStateImpl();
+        state.copyFrom(samples[0]);
+        state.setButton(GamepadInputs.SOUTH_BUTTON, false);
+        input.pushState(state);
+        state.setButton(GamepadInputs.SOUTH_BUTTON, true);
+        input.pushState(state);
+    }
+
+    @Benchmark
+    public float buttonState() {
+        return button.state();
+    }
+
+    @Benchmark
+    public float axisState() {
+        return axis.state();
+    }
+
+    @Benchmark
+    public boolean justPressed() {
+        return button.justPressed();
+    }
+
+    /**
+     * A driver update followed by the queries a tick makes, as the state changes between queries.
+     */
+    @Benchmark
+    public boolean pushAndQuery() {
+        input.pushState(samples[index++ & BenchmarkInputs.SAMPLE_MASK]);
+        return button.justPressed() | axis.state() > 0.5f;
+    }
+
+    private static ControllerBinding binding(ControllerEntity controller, String path, IBind bind) {
+        return ControllerBindingBuilder.create(controller)
+                .identifier(new ResourceLocation("controlify", "benchmark_" + path))
+                .defaultBind(bind)
+                .name(Component.literal(path))
+                .description(Component.empty())
+                .category(Component.empty())
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package dev.isxander.controlify.benchmark;
+
+import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.mapping.ControllerMapping;
+import dev.isxander.controlify.controller.input.mapping.StateMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a whole state, both by interpreting each entry of the mapping and through its compiled form.
+ * <p>
+ * The only mapping bundled with the mod, {@code tm_t16000.json}, is in the legacy joystick format
+ * that {@link ControllerMapping} doesn't read, so mappings of the two shapes found in practice are built instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerMappingBenchmark {
+    @Param({"joystick_to_gamepad", "gamepad_remap"})
+    public String mapping;
+
+    @Param({"false", "true"})
+    public boolean compiled;
+
+    private StateMapper mapper;
+    private ControllerStateImpl[] samples;
+    private ControllerStateImpl output;
+    private int index;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.bootstrap();
+
+        ControllerMapping controllerMapping = switch (mapping) {
+            case "joystick_to_gamepad" -> BenchmarkInputs.joystickToGamepad();
+            case "gamepad_remap" -> BenchmarkInputs.gamepadRemap();
+            default -> throw new IllegalArgumentException("Unknown mapping " + mapping);
+        };
+        mapper = compiled ? controllerMapping.compile() : controllerMapping;
+        samples = mapping.equals("joystick_to_gamepad")
+                ? BenchmarkInputs.joystickSamples(0)
+                : BenchmarkInputs.gamepadSamples(0);
+        output = new ControllerStateImpl();
+    }
+
+    @Benchmark
+    public ControllerStateImpl mapState() {
+        mapper.mapState(samples[index++ & BenchmarkInputs.SAMPLE_MASK], output);
+        return output;
+    }
+}
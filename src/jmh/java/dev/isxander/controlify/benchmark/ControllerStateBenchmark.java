@@ -0,0 +1,91 @@
+package dev.isxander.controlify.benchmark;
+
+import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.GamepadInputs;
+import dev.isxander.controlify.controller.input.InputRegistry;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and writing single inputs of a state, and copying and clearing whole states,
+ * as drivers and mappings do on every update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerStateBenchmark {
+    private ControllerStateImpl[] samples;
+    private ControllerStateImpl state;
+    private ResourceLocation button, axis;
+    private int buttonSlot, axisSlot;
+    private int index;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.bootstrap();
+
+        samples = BenchmarkInputs.gamepadSamples(0);
+        state = new ControllerStateImpl();
+        state.copyFrom(samples[0]);
+
+        button = GamepadInputs.SOUTH_BUTTON;
+        axis = GamepadInputs.LEFT_STICK_AXIS_UP;
+        buttonSlot = InputRegistry.BUTTONS.slotOf(button);
+        axisSlot = InputRegistry.AXES.slotOf(axis);
+    }
+
+    @Benchmark
+    public void setButton() {
+        state.setButton(buttonSlot, (index++ & 1) == 0);
+    }
+
+    @Benchmark
+    public void setButtonById() {
+        state.setButton(button, (index++ & 1) == 0);
+    }
+
+    @Benchmark
+    public void setAxis() {
+        state.setAxis(axisSlot, (index++ & 0xFF) / 255f);
+    }
+
+    @Benchmark
+    public void setAxisById() {
+        state.setAxis(axis, (index++ & 0xFF) / 255f);
+    }
+
+    @Benchmark
+    public boolean isButtonDown() {
+        return state.isButtonDown(buttonSlot);
+    }
+
+    @Benchmark
+    public boolean isButtonDownById() {
+        return state.isButtonDown(button);
+    }
+
+    @Benchmark
+    public float getAxisState() {
+        return state.getAxisState(axisSlot);
+    }
+
+    @Benchmark
+    public float getAxisStateById() {
+        return state.getAxisState(axis);
+    }
+
+    @Benchmark
+    public void copyFrom() {
+        state.copyFrom(samples[index++ & BenchmarkInputs.SAMPLE_MASK]);
+    }
+
+    @Benchmark
+    public void clearState() {
+        state.clearState();
+    }
+}
@@ -0,0 +1,48 @@
+package dev.isxander.controlify.benchmark;
+
+import dev.isxander.controlify.utils.ControllerUtils;
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stick maths run for every look and virtual mouse update,
+ * with the easings the in-game and virtual mouse handlers use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerUtilsBenchmark {
+    private final float[] values = new float[BenchmarkInputs.SAMPLES * 2];
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextFloat() * 2 - 1;
+        }
+    }
+
+    @Benchmark
+    public float deadzone() {
+        return ControllerUtils.deadzone(values[index++ & BenchmarkInputs.SAMPLE_MASK], 0.2f);
+    }
+
+    @Benchmark
+    public Vector2f applyEasingToLengthLook() {
+        int i = (index++ & BenchmarkInputs.SAMPLE_MASK) * 2;
+        return ControllerUtils.applyEasingToLength(values[i], values[i + 1], x -> x * Math.abs(x));
+    }
+
+    @Benchmark
+    public Vector2f applyEasingToLengthVirtualMouse() {
+        int i = (index++ & BenchmarkInputs.SAMPLE_MASK) * 2;
+        return ControllerUtils.applyEasingToLength(values[i], values[i + 1], x -> (float) Math.pow(x, 3));
+    }
+}
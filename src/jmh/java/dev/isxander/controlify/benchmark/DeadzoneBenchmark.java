@@ -0,0 +1,49 @@
+package dev.isxander.controlify.benchmark;
+
+import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.DeadzoneControllerStateView;
+import dev.isxander.controlify.controller.input.GamepadInputs;
+import dev.isxander.controlify.controller.input.InputRegistry;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading axes through a deadzone view, as every binding and look handler does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeadzoneBenchmark {
+    private DeadzoneControllerStateView view;
+    private ResourceLocation axis;
+    private int axisSlot;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.bootstrap();
+
+        ControllerStateImpl state = BenchmarkInputs.gamepadSamples(0)[0];
+        float[] deadzones = new float[InputRegistry.AXES.size()];
+        Arrays.fill(deadzones, 0.2f);
+        view = new DeadzoneControllerStateView(state, deadzones);
+
+        axis = GamepadInputs.RIGHT_STICK_AXIS_RIGHT;
+        axisSlot = InputRegistry.AXES.slotOf(axis);
+    }
+
+    @Benchmark
+    public float getAxisState() {
+        return view.getAxisState(axisSlot);
+    }
+
+    @Benchmark
+    public float getAxisStateById() {
+        return view.getAxisState(axis);
+    }
+}
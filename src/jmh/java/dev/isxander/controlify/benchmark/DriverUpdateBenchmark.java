@@ -0,0 +1,63 @@
+package dev.isxander.controlify.benchmark;
+
+import dev.isxander.controlify.Controlify;
+import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.controllermanager.SyntheticControllerManager;
+import dev.isxander.controlify.driver.synthetic.SyntheticControllerSpec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A controller manager tick with many synthetic controllers, each fed random input,
+ * with drivers updated one after another or in parallel.
+ * Shows at which controller count updating in parallel starts to pay for its hand-off,
+ * which is what {@code parallelDriverUpdates} defaulting to off rests on,
+ * as most players have one or two controllers connected.
+ * <p>
+ * The counts step through the update pool's bound of {@code min(cpus - 1, 8)} threads,
+ * so past it the extra controllers queue behind the pool. To see how the bound scales,
+ * run on fewer cores with {@code -Pjmh.args="DriverUpdateBenchmark -jvmArgsAppend -XX:ActiveProcessorCount=<n>"}.
+ * <p>
+ * The controllers have no bindings, which need a running client,
+ * and nothing listens to the state update events dispatched after the drivers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DriverUpdateBenchmark {
+    @Param({"1", "2", "3", "4", "6", "8", "12", "16"})
+    public int controllers;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private SyntheticControllerManager manager;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.bootstrap();
+
+        Controlify.instance().config().globalSettings().parallelDriverUpdates = parallel;
+
+        manager = new SyntheticControllerManager(SyntheticControllerSpec.FULL, controllers) {
+            @Override
+            protected void createBindings(ControllerEntity controller) {
+            }
+        };
+        manager.discoverControllers();
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.close();
+    }
+
+    @Benchmark
+    public void tick() {
+        manager.tick(false);
+    }
+}
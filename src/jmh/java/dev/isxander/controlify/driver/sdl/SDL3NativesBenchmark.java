@@ -0,0 +1,172 @@
+package dev.isxander.controlify.driver.sdl;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLibrary;
+import dev.isxander.controlify.benchmark.BenchmarkBootstrap;
+import dev.isxander.controlify.controller.ControllerType;
+import dev.isxander.controlify.controllermanager.SDLControllerManager;
+import dev.isxander.sdl3java.api.gamepad.SDL_Gamepad;
+import dev.isxander.sdl3java.api.joystick.SDL_JoystickID;
+import dev.isxander.sdl3java.jna.SdlNativeLibraryLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static dev.isxander.sdl3java.api.SdlInit.*;
+import static dev.isxander.sdl3java.api.SdlSubSystemConst.*;
+import static dev.isxander.sdl3java.api.error.SdlError.*;
+import static dev.isxander.sdl3java.api.gamepad.SDL_GamepadAxis.*;
+import static dev.isxander.sdl3java.api.gamepad.SDL_GamepadButton.*;
+import static dev.isxander.sdl3java.api.gamepad.SdlGamepad.*;
+import static dev.isxander.sdl3java.api.sensor.SDL_SensorType.*;
+
+/**
+ * The SDL3 calls {@link SDL3GamepadDriver} makes every tick, through each {@link SDL3Natives} backend,
+ * against a virtual gamepad so no device is needed.
+ * <p>
+ * The virtual gamepad has no sensors, touchpads or rumble, so those calls fail in SDL
+ * after looking up the gamepad like they would for a real one.
+ * What they compare is the cost of each backend getting there and back.
+ * <p>
+ * SDL3 is the same library the mod downloads, which the {@code jmh} task resolves through Gradle
+ * and passes as {@code -Dcontrolify.benchmark.sdl3}. If it can't be resolved, such as offline,
+ * the task leaves this benchmark out; another library can then be given with
+ * {@code -Pjmh.args="-jvmArgsAppend -Dcontrolify.benchmark.sdl3=<path>"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SDL3NativesBenchmark {
+    // SDL_JOYSTICK_TYPE_GAMEPAD
+    private static final int VIRTUAL_GAMEPAD_TYPE = 1;
+    // every button and axis the driver reads
+    private static final int BUTTONS = SDL_GAMEPAD_BUTTON_TOUCHPAD + 1;
+    private static final int AXES = SDL_GAMEPAD_AXIS_RIGHT_TRIGGER + 1;
+
+    @Param({"direct", "libsdl4j"})
+    public String backend;
+
+    private SDL3Natives natives;
+    private int virtualJid;
+    private SDL_Gamepad gamepad;
+    private SDL3GamepadDriver driver;
+
+    private final float[] sensorData = new float[3];
+    private final float[] fingerData = new float[4];
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.bootstrap();
+
+        Path library = sdl3Library();
+        SdlNativeLibraryLoader.loadLibSDL3FromFilePathNow(library.toAbsolutePath().toString());
+        if (SDL_Init(SDL_INIT_EVENTS | SDL_INIT_GAMEPAD) != 0)
+            throw new IllegalStateException("Failed to initialise SDL3: " + SDL_GetError());
+
+        VirtualJoysticks.bind(library);
+        virtualJid = VirtualJoysticks.SDL_AttachVirtualJoystick(VIRTUAL_GAMEPAD_TYPE, AXES, BUTTONS, 0);
+        if (virtualJid == 0)
+            throw new IllegalStateException("Failed to attach virtual gamepad: " + SDL_GetError());
+        SDL_JoystickID jid = new SDL_JoystickID(virtualJid);
+
+        natives = switch (backend) {
+            case "direct" -> DirectSDL3Natives.bind(library);
+            case "libsdl4j" -> new LibSDL4JNatives();
+            default -> throw new IllegalArgumentException("Unknown backend " + backend);
+        };
+
+        gamepad = SDL_OpenGamepad(jid);
+        if (gamepad == null)
+            throw new IllegalStateException("Failed to open virtual gamepad: " + SDL_GetError());
+
+        driver = new SDL3GamepadDriver(natives.forDriver(), jid, ControllerType.UNKNOWN, "benchmark",
+                new SDLControllerManager.SDLUniqueControllerID(jid), Optional.empty());
+        driver.createController();
+    }
+
+    @TearDown
+    public void tearDown() {
+        driver.close();
+        SDL_CloseGamepad(gamepad);
+        VirtualJoysticks.SDL_DetachVirtualJoystick(virtualJid);
+        SDL_Quit();
+    }
+
+    /**
+     * A tick of the driver, polling every input on the input thread and pushing it on the client thread.
+     */
+    @Benchmark
+    public void driverTick() {
+        driver.resync();
+        driver.publish(true);
+        driver.update(false);
+    }
+
+    @Benchmark
+    public int gamepadState() {
+        int state = 0;
+        for (int button = 0; button < BUTTONS; button++) {
+            if (natives.getGamepadButton(gamepad, button)) {
+                state |= 1 << button;
+            }
+        }
+        for (int axis = 0; axis < AXES; axis++) {
+            state += natives.getGamepadAxis(gamepad, axis);
+        }
+        return state;
+    }
+
+    @Benchmark
+    public boolean sensorData() {
+        return natives.getGamepadSensorData(gamepad, SDL_SENSOR_GYRO, sensorData, 3);
+    }
+
+    @Benchmark
+    public boolean touchpadFinger() {
+        return natives.getGamepadTouchpadFinger(gamepad, 0, 0, fingerData);
+    }
+
+    @Benchmark
+    public boolean rumble() {
+        return natives.rumbleGamepad(gamepad, (short) 0, (short) 0, 0);
+    }
+
+    @Benchmark
+    public boolean triggerRumble() {
+        return natives.rumbleGamepadTriggers(gamepad, (short) 0, (short) 0, 0);
+    }
+
+    @Benchmark
+    public int pollEvent() {
+        return natives.pollEvent();
+    }
+
+    private static Path sdl3Library() {
+        String library = System.getProperty("controlify.benchmark.sdl3");
+        if (library == null || library.isBlank())
+            throw new IllegalStateException("No SDL3 library given, run through the jmh task or set -Dcontrolify.benchmark.sdl3=<path>");
+        return Path.of(library);
+    }
+
+    /**
+     * SDL's virtual joysticks, which only the benchmark needs so aren't part of {@link SDL3Natives}.
+     */
+    private static final class VirtualJoysticks {
+        private static boolean bound = false;
+
+        static synchronized void bind(Path library) {
+            if (!bound) {
+                Native.register(VirtualJoysticks.class, NativeLibrary.getInstance(library.toAbsolutePath().toString()));
+                bound = true;
+            }
+        }
+
+        static native int SDL_AttachVirtualJoystick(int type, int naxes, int nbuttons, int nhats);
+        static native int SDL_DetachVirtualJoystick(int instanceId);
+    }
+}
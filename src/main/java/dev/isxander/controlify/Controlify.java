@@ -8,16 +8,24 @@ import dev.isxander.controlify.compatibility.ControlifyCompat;
 import dev.isxander.controlify.controller.*;
 import dev.isxander.controlify.controller.input.ControllerState;
 import dev.isxander.controlify.controller.input.ControllerStateView;
-import dev.isxander.controlify.controller.input.HatState;
 import dev.isxander.controlify.controller.input.InputComponent;
 import dev.isxander.controlify.controller.rumble.RumbleComponent;
 import dev.isxander.controlify.controllermanager.ControllerManager;
 import dev.isxander.controlify.controllermanager.GLFWControllerManager;
 import dev.isxander.controlify.controllermanager.SDLControllerManager;
+import dev.isxander.controlify.controllermanager.SyntheticControllerManager;
 import dev.isxander.controlify.driver.global.GlobalDriver;
 import dev.isxander.controlify.gui.screen.*;
 import dev.isxander.controlify.driver.SDL3NativesManager;
 import dev.isxander.controlify.debug.DebugProperties;
+import dev.isxander.controlify.debug.SyntheticStressHarness;
+import dev.isxander.controlify.debug.jfr.ControlifyFlightRecorder;
+import dev.isxander.controlify.debug.latency.LatencyProbe;
+import dev.isxander.controlify.debug.recording.InputRecorder;
+import dev.isxander.controlify.debug.recording.InputReplay;
+import dev.isxander.controlify.debug.timings.TickStage;
+import dev.isxander.controlify.debug.timings.TickTimings;
+import dev.isxander.controlify.driver.synthetic.SyntheticControllerSpec;
 import dev.isxander.controlify.ingame.ControllerPlayerMovement;
 import dev.isxander.controlify.rumble.RumbleManager;
 import dev.isxander.controlify.server.*;
@@ -46,6 +54,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.lwjgl.glfw.GLFW;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Optional;
@@ -60,6 +70,10 @@ public class Controlify implements ControlifyApi {
     private final Minecraft minecraft = Minecraft.getInstance();
 
     private ControllerManager controllerManager;
+    private @Nullable SyntheticStressHarness stressHarness;
+    private @Nullable InputRecorder inputRecorder;
+    private @Nullable InputReplay inputReplay;
+    private @Nullable ControlifyFlightRecorder flightRecorder;
 
     private boolean finishedInit = false;
     private boolean probeMode = false;
@@ -96,6 +110,10 @@ public class Controlify implements ControlifyApi {
     public void preInitialiseControlify() {
         DebugProperties.printProperties();
 
+        if (DebugProperties.FLIGHT_RECORDING) {
+            flightRecorder = ControlifyFlightRecorder.start(FabricLoader.getInstance().getGameDir().resolve("controlify-recordings"));
+        }
+
         CUtil.LOGGER.info("Pre-initializing Controlify...");
 
         this.inGameInputHandler = null; // set when the current controller changes
@@ -181,6 +199,11 @@ public class Controlify implements ControlifyApi {
         // register events
         ClientLifecycleEvents.CLIENT_STOPPING.register(minecraft -> {
             controllerHIDService().stop();
+            if (inputRecorder != null) inputRecorder.close();
+            if (inputReplay != null) inputReplay.close();
+            if (flightRecorder != null) flightRecorder.close();
+            if (LatencyProbe.ENABLED) exportLatency(false);
+            config().close();
         });
 
         // sends toasts of new features
@@ -259,12 +282,39 @@ public class Controlify implements ControlifyApi {
             }
 
             try {
-                controllerManager = loaded ? new SDLControllerManager() : new GLFWControllerManager();
+                if (DebugProperties.REPLAY_INPUT != null) {
+                    SyntheticControllerManager syntheticManager = new SyntheticControllerManager(SyntheticControllerSpec.FULL, 0);
+                    inputReplay = InputReplay.open(Path.of(DebugProperties.REPLAY_INPUT), syntheticManager);
+                    controllerManager = syntheticManager;
+                } else if (DebugProperties.SYNTHETIC_CONTROLLERS || DebugProperties.STRESS_HARNESS) {
+                    SyntheticControllerManager syntheticManager = new SyntheticControllerManager(SyntheticControllerSpec.FULL, DebugProperties.STRESS_HARNESS ? 0 : 1);
+                    if (DebugProperties.STRESS_HARNESS) {
+                        stressHarness = new SyntheticStressHarness(syntheticManager, SyntheticControllerSpec.FULL);
+                    }
+                    controllerManager = syntheticManager;
+                } else if (loaded) {
+                    try {
+                        controllerManager = new SDLControllerManager();
+                    } catch (IllegalStateException e) {
+                        CUtil.LOGGER.error("Failed to start SDL3, falling back to GLFW. MANY FEATURES DISABLED!", e);
+                        controllerManager = new GLFWControllerManager();
+                    }
+                } else {
+                    controllerManager = new GLFWControllerManager();
+                }
             } catch (Throwable throwable) {
                 CUtil.LOGGER.error("Failed to initialize controller manager", throwable);
                 return;
             }
 
+            if (DebugProperties.RECORD_INPUT) {
+                try {
+                    inputRecorder = InputRecorder.start(FabricLoader.getInstance().getGameDir().resolve("controlify-recordings"), controllerManager.getConnectedControllers());
+                } catch (IOException e) {
+                    CUtil.LOGGER.error("Failed to start recording controller input", e);
+                }
+            }
+
             GlobalDriver.createInstance();
 
             ClientTickEvents.START_CLIENT_TICK.register(this::tick);
@@ -437,6 +487,8 @@ public class Controlify implements ControlifyApi {
      * In Controlify's current state, only the current controller is ticked.
      */
     public void tick(Minecraft client) {
+        long tickStart = TickTimings.start();
+
         if (minecraft.getOverlay() == null) {
             if (currentSetupWizard != null && currentSetupWizard.isDone()) {
                 currentSetupWizard = null;
@@ -450,6 +502,16 @@ public class Controlify implements ControlifyApi {
 
         boolean outOfFocus = !config().globalSettings().outOfFocusInput && !client.isWindowActive();
 
+        if (stressHarness != null) {
+            stressHarness.startTick();
+        }
+        if (inputReplay != null) {
+            inputReplay.tick();
+        }
+        if (inputRecorder != null) {
+            inputRecorder.tick();
+        }
+
         // handles updating state of all controllers
         controllerManager.tick(outOfFocus);
 
@@ -476,6 +538,13 @@ public class Controlify implements ControlifyApi {
                     currentController
             );
         });
+
+        TickTimings.end(TickStage.TICK, tickStart);
+        TickTimings.endTick();
+
+        if (stressHarness != null) {
+            stressHarness.endTick();
+        }
     }
 
     /**
@@ -496,9 +565,7 @@ public class Controlify implements ControlifyApi {
             rumbleManager.ifPresent(RumbleManager::tick);
         }
 
-        boolean givingInput = state.getButtons().stream().anyMatch(state::isButtonDown)
-                || state.getAxes().stream().map(state::getAxisState).anyMatch(axis -> Math.abs(axis) > 0.1f)
-                || state.getHats().stream().map(state::getHatState).anyMatch(hat -> hat != HatState.CENTERED);
+        boolean givingInput = state.changes().anyActive();
         if (givingInput && !this.currentInputMode().isController()) {
             this.setInputMode(input.config().config().mixedInput ? InputMode.MIXED : InputMode.CONTROLLER);
 
@@ -519,13 +586,19 @@ public class Controlify implements ControlifyApi {
 
         if (this.currentInputMode().isController()) { // only process input if in correct input mode
             if (minecraft.screen != null) {
+                long screenStart = TickTimings.start();
                 ScreenProcessorProvider.provide(minecraft.screen).onControllerUpdate(controller);
+                TickTimings.end(TickStage.SCREEN_PROCESSOR, screenStart);
             }
             if (minecraft.level != null) {
+                long inGameStart = TickTimings.start();
                 this.inGameInputHandler().ifPresent(InGameInputHandler::inputTick);
+                TickTimings.end(TickStage.INGAME_INPUT, inGameStart);
             }
 
+            long eventStart = TickTimings.start();
             ControlifyEvents.ACTIVE_CONTROLLER_TICKED.invoker().onControllerStateUpdate(controller);
+            TickTimings.end(TickStage.EVENTS, eventStart);
         }
     }
 
@@ -627,10 +700,7 @@ public class Controlify implements ControlifyApi {
         lastInputSwitchTime = Blaze3D.getTime();
 
         if (this.currentInputMode.isController()) {
-            getCurrentController().flatMap(ControllerEntity::input).ifPresent(state -> {
-                state.rawStateNow().clearState();
-                state.rawStateThen().clearState();
-            });
+            getCurrentController().flatMap(ControllerEntity::input).ifPresent(InputComponent::clearState);
             if (minecraft.getCurrentServer() != null) {
                 notifyNewServer(minecraft.getCurrentServer());
             }
@@ -671,6 +741,27 @@ public class Controlify implements ControlifyApi {
         }
     }
 
+    /**
+     * Writes the {@link LatencyProbe}'s histograms to a file in the game directory.
+     * @param notify if a toast should be shown once written
+     */
+    public void exportLatency(boolean notify) {
+        try {
+            List<Path> paths = LatencyProbe.export(FabricLoader.getInstance().getGameDir().resolve("controlify-recordings"));
+            CUtil.LOGGER.info("Exported input latency to {}", paths);
+
+            if (notify) {
+                ToastUtils.sendToast(
+                        Component.translatable("controlify.toast.latency_exported.title"),
+                        Component.translatable("controlify.toast.latency_exported.description", paths.get(0).getParent().getFileName().toString()),
+                        false
+                );
+            }
+        } catch (IOException e) {
+            CUtil.LOGGER.error("Failed to export input latency", e);
+        }
+    }
+
     private void notifyOfNewFeatures() {
         if (config().isFirstLaunch())
             return;
@@ -4,6 +4,7 @@ import com.google.gson.JsonObject;
 import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.input.ControllerStateView;
+import dev.isxander.controlify.controller.input.InputRegistry;
 import dev.isxander.controlify.controller.input.Inputs;
 import dev.isxander.controlify.gui.DrawSize;
 import net.minecraft.client.Minecraft;
@@ -17,14 +18,20 @@ public class AxisBind implements IBind {
     public static final String BIND_ID = "axis";
 
     private final ResourceLocation axis;
+    private final int slot;
 
     public AxisBind(ResourceLocation axis) {
         this.axis = axis;
+        this.slot = InputRegistry.AXES.intern(axis);
     }
 
     @Override
     public float state(ControllerStateView state) {
-        return state.getAxisState(axis);
+        return state.getAxisState(slot);
+    }
+
+    int slot() {
+        return slot;
     }
 
     @Override
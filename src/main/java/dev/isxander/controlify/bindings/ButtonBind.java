@@ -4,6 +4,7 @@ import com.google.gson.JsonObject;
 import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.input.ControllerStateView;
+import dev.isxander.controlify.controller.input.InputRegistry;
 import dev.isxander.controlify.controller.input.Inputs;
 import dev.isxander.controlify.gui.DrawSize;
 import net.minecraft.client.Minecraft;
@@ -17,14 +18,20 @@ public class ButtonBind implements IBind {
     public static final String BIND_ID = "button";
 
     private final ResourceLocation button;
+    private final int slot;
 
     public ButtonBind(ResourceLocation button) {
         this.button = button;
+        this.slot = InputRegistry.BUTTONS.intern(button);
     }
 
     @Override
     public float state(ControllerStateView state) {
-        return state.isButtonDown(button) ? 1 : 0;
+        return state.isButtonDown(slot) ? 1 : 0;
+    }
+
+    int slot() {
+        return slot;
     }
 
     @Override
@@ -13,8 +13,6 @@ import dev.isxander.controlify.gui.controllers.BindController;
 import dev.isxander.controlify.gui.DrawSize;
 import dev.isxander.yacl3.api.Option;
 import dev.isxander.yacl3.api.OptionDescription;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.minecraft.client.KeyMapping;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.locale.Language;
@@ -39,10 +37,11 @@ public class ControllerBindingImpl implements ControllerBinding {
     private final ResourceLocation radialIcon;
     private final KeyMappingOverride override;
 
-    private static final Map<ControllerEntity, Set<IBind>> pressedBinds = new Object2ObjectOpenHashMap<>();
-
     private byte fakePressState = 0;
 
+    private ControllerBindings owner;
+    private int slot = -1;
+
     private ControllerBindingImpl(ControllerEntity controller, IBind defaultBind, Function<ControllerStateView, Float> hardcodedBind, ResourceLocation id, KeyMappingOverride vanillaOverride, Component name, Component description, Component category, Set<BindContext> contexts, ResourceLocation icon) {
         this.controller = controller;
         this.bind = this.defaultBind = defaultBind;
@@ -61,36 +60,61 @@ public class ControllerBindingImpl implements ControllerBinding {
     public float state() {
         if (fakePressState == 1)
             return 1f;
-        return Math.max(bind.state(input().stateNow()), hardcodedBind.apply(input().stateNow()));
+        if (owner != null)
+            return owner.stateNow(slot);
+        return Math.max(bind.state(input().stateNow()), hardcodedState(input().stateNow()));
     }
 
     @Override
     public float prevState() {
         if (fakePressState == 2)
             return 1f;
-        return Math.max(bind.state(input().stateThen()), hardcodedBind.apply(input().stateThen()));
+        if (owner != null)
+            return owner.stateThen(slot);
+        return Math.max(bind.state(input().stateThen()), hardcodedState(input().stateThen()));
     }
 
     @Override
     public boolean held() {
-        return fakePressState == 2 || analogue2Digital(bind.state(input().stateNow()));
+        if (fakePressState == 2)
+            return true;
+        if (owner != null)
+            return owner.heldNow(slot);
+        return analogue2Digital(bind.state(input().stateNow()));
     }
 
     @Override
     public boolean prevHeld() {
-        return fakePressState == 3 || analogue2Digital(bind.state(input().stateThen()));
+        if (fakePressState == 3)
+            return true;
+        if (owner != null)
+            return owner.heldThen(slot);
+        return analogue2Digital(bind.state(input().stateThen()));
     }
 
     private boolean analogue2Digital(float analogue) {
         return analogue > input().config().config().buttonActivationThreshold;
     }
 
+    float hardcodedState(ControllerStateView state) {
+        return hardcodedBind != null ? hardcodedBind.apply(state) : 0f;
+    }
+
+    boolean hasHardcodedBind() {
+        return hardcodedBind != null;
+    }
+
+    void assignSlot(ControllerBindings owner, int slot) {
+        this.owner = owner;
+        this.slot = slot;
+    }
+
     @Override
     public boolean justPressed() {
-        if (hasBindPressed(this)) return false;
+        if (isConsumed()) return false;
 
         if ((held() && !prevHeld()) || fakePressState == 2) {
-            addPressedBind(this);
+            consume();
             return true;
         } else {
             return false;
@@ -99,10 +123,10 @@ public class ControllerBindingImpl implements ControllerBinding {
 
     @Override
     public boolean justReleased() {
-        if (hasBindPressed(this)) return false;
+        if (isConsumed()) return false;
 
         if ((!held() && prevHeld()) || fakePressState == 3) {
-            addPressedBind(this);
+            consume();
             return true;
         } else {
             return false;
@@ -112,14 +136,19 @@ public class ControllerBindingImpl implements ControllerBinding {
     @Override
     public void fakePress() {
         this.fakePressState = 1;
+        if (owner != null)
+            owner.setFakePressed(slot, true);
     }
 
     @Override
     public void tick() {
         if (fakePressState > 0)
             fakePressState++;
-        if (fakePressState >= 4)
+        if (fakePressState >= 4) {
             fakePressState = 0;
+            if (owner != null)
+                owner.setFakePressed(slot, false);
+        }
     }
 
     @Override
@@ -130,6 +159,10 @@ public class ControllerBindingImpl implements ControllerBinding {
     public void setCurrentBind(IBind bind) {
         this.bind = bind;
         this.renderer = new BindRendererImpl(bind, controller);
+        if (owner != null) {
+            owner.invalidateEvaluation();
+            owner.markConfigDirty();
+        }
         Controlify.instance().config().setDirty();
     }
 
@@ -205,32 +238,20 @@ public class ControllerBindingImpl implements ControllerBinding {
         return this.controller.input().orElseThrow();
     }
 
-    // FIXME: very hack solution please remove me
-
-    public static void clearPressedBinds(ControllerEntity controller) {
-        if (pressedBinds.containsKey(controller)) {
-            pressedBinds.get(controller).clear();
-        }
-    }
-
-    private static boolean hasBindPressed(ControllerBindingImpl binding) {
-        var pressed = pressedBinds.getOrDefault(binding.controller, Set.of());
-        return pressed.containsAll(getBinds(binding.bind));
-    }
-
-    private static void addPressedBind(ControllerBindingImpl binding) {
-        pressedBinds.computeIfAbsent(binding.controller, c -> new ObjectOpenHashSet<>()).addAll(getBinds(binding.bind));
+    private boolean isConsumed() {
+        return owner != null && owner.isConsumed(slot);
     }
 
-    private static Set<IBind> getBinds(IBind bind) {
-        return Set.of(bind);
+    private void consume() {
+        if (owner != null)
+            owner.consume(slot);
     }
 
     @ApiStatus.Internal
     public static final class ControllerBindingBuilderImpl implements ControllerBindingBuilder {
         private final ControllerEntity controller;
         private IBind bind;
-        private Function<ControllerStateView, Float> hardcodedBind = state -> 0f;
+        private Function<ControllerStateView, Float> hardcodedBind = null;
         private ResourceLocation id;
         private Component name = null, description = null, category = null;
         private KeyMappingOverride override = null;
@@ -8,12 +8,20 @@ import dev.isxander.controlify.api.bind.ControllerBinding;
 import dev.isxander.controlify.api.bind.ControllerBindingBuilder;
 import dev.isxander.controlify.api.bind.RadialIcon;
 import dev.isxander.controlify.api.event.ControlifyEvents;
+import dev.isxander.controlify.controller.input.ControllerState;
+import dev.isxander.controlify.controller.input.ControllerStateView;
 import dev.isxander.controlify.controller.input.GamepadInputs;
 import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.debug.latency.LatencyProbe;
+import dev.isxander.controlify.debug.timings.TickStage;
+import dev.isxander.controlify.debug.timings.TickTimings;
 import dev.isxander.controlify.mixins.compat.fapi.KeyBindingRegistryImplAccessor;
 import dev.isxander.controlify.mixins.feature.bind.KeyMappingAccessor;
 import dev.isxander.controlify.mixins.feature.bind.ToggleKeyMappingAccessor;
 import dev.isxander.controlify.utils.CUtil;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.minecraft.ChatFormatting;
@@ -85,6 +93,30 @@ public class ControllerBindings {
 
     private final ControllerEntity controller;
 
+    // if any bind has changed since the bindings were last serialized or deserialized
+    private boolean configDirty = true;
+
+    // every binding is evaluated once per pushed state into these, indexed by binding slot
+    private final List<ControllerBindingImpl> slots = new ArrayList<>();
+    private float[] stateNow = new float[0], stateThen = new float[0];
+    private long[] heldNow = new long[0], heldThen = new long[0];
+    private InputComponent input;
+    private int evaluatedVersion;
+    private ControllerState evaluatedRawNow;
+    private float evaluatedThreshold;
+    private boolean evaluationDirty = true;
+
+    // binding slots that read each input slot, so only bindings whose inputs changed are re-evaluated
+    private int[][] bindingsByButton = new int[0][], bindingsByAxis = new int[0][], bindingsByHat = new int[0][];
+    private int[] alwaysEvaluated = new int[0];
+    private boolean indexDirty = true;
+
+    private long[] overridden = new long[0], fakePressed = new long[0];
+
+    // a binding is consumed this tick if its stamp matches the current generation
+    private int[] consumedGeneration = new int[0];
+    private int generation = 1;
+
     public ControllerBindings(ControllerEntity controller) {
         this.controller = controller;
         var options = Minecraft.getInstance().options;
@@ -541,7 +573,10 @@ public class ControllerBindings {
 
         ControlifyEvents.CONTROLLER_STATE_UPDATE.register(ctrl -> {
             if (ctrl == this.controller) {
-                this.imitateVanillaClick();
+                boolean clicked = this.imitateVanillaClick();
+                if (LatencyProbe.ENABLED) {
+                    ctrl.input().ifPresent(input -> LatencyProbe.onClicksImitated(input, clicked));
+                }
             }
         });
         ClientTickEvents.END_CLIENT_TICK.register(client -> {
@@ -554,6 +589,25 @@ public class ControllerBindings {
     public ControllerBinding register(ControllerBinding binding) {
         registry.put(binding.id(), binding);
 
+        if (binding instanceof ControllerBindingImpl impl) {
+            int slot = slots.size();
+            impl.assignSlot(this, slot);
+            slots.add(impl);
+
+            int words = (slots.size() + 63) >>> 6;
+            if (overridden.length < words) {
+                overridden = Arrays.copyOf(overridden, words);
+                fakePressed = Arrays.copyOf(fakePressed, words);
+            }
+            if (impl.override() != null)
+                overridden[slot >>> 6] |= 1L << slot;
+
+            if (consumedGeneration.length < slots.size())
+                consumedGeneration = Arrays.copyOf(consumedGeneration, Math.max(slots.size(), consumedGeneration.length * 2));
+            evaluationDirty = true;
+            indexDirty = true;
+        }
+
         if (binding.override() != null) {
             ((KeyMappingOverrideHolder) binding.override().keyMapping()).controlify$addOverride(() ->
                     ControlifyApi.get().getCurrentController().equals(Optional.of(controller))
@@ -578,11 +632,207 @@ public class ControllerBindings {
         return Collections.unmodifiableMap(registry);
     }
 
+    float stateNow(int slot) {
+        ensureEvaluated();
+        return stateNow[slot];
+    }
+
+    float stateThen(int slot) {
+        ensureEvaluated();
+        return stateThen[slot];
+    }
+
+    boolean heldNow(int slot) {
+        ensureEvaluated();
+        return (heldNow[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    boolean heldThen(int slot) {
+        ensureEvaluated();
+        return (heldThen[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    boolean isConsumed(int slot) {
+        return consumedGeneration[slot] == generation;
+    }
+
+    void consume(int slot) {
+        consumedGeneration[slot] = generation;
+    }
+
+    /**
+     * Releases every binding consumed by {@link ControllerBinding#justPressed()}
+     * or {@link ControllerBinding#justReleased()} so far this tick.
+     */
+    private void clearConsumed() {
+        if (++generation == 0) {
+            Arrays.fill(consumedGeneration, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Forces every binding to be re-evaluated on the next query,
+     * e.g. when a bind has been changed mid-tick.
+     */
+    void invalidateEvaluation() {
+        evaluationDirty = true;
+        indexDirty = true;
+    }
+
+    /**
+     * Marks the bindings as changed, so they are serialized again on the next save.
+     */
+    void markConfigDirty() {
+        configDirty = true;
+    }
+
+    public boolean isConfigDirty() {
+        return configDirty;
+    }
+
+    void setFakePressed(int slot, boolean fakePressed) {
+        if (fakePressed) {
+            this.fakePressed[slot >>> 6] |= 1L << slot;
+        } else {
+            this.fakePressed[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+
+    private void ensureEvaluated() {
+        if (input == null)
+            input = controller.input().orElseThrow();
+
+        int version = input.stateVersion();
+        if (!evaluationDirty && version == evaluatedVersion)
+            return;
+
+        long start = TickTimings.start();
+        int size = slots.size();
+        if (stateNow.length < size) {
+            stateNow = new float[size];
+            stateThen = new float[size];
+            heldNow = new long[(size + 63) >>> 6];
+            heldThen = new long[heldNow.length];
+            evaluationDirty = true;
+        }
+
+        float threshold = input.confObj().buttonActivationThreshold;
+
+        // if exactly one state has been pushed since the last evaluation, the old `now` is the new `then`
+        boolean rolled = !evaluationDirty
+                && version == evaluatedVersion + 1
+                && input.rawStateThen() == evaluatedRawNow
+                && threshold == evaluatedThreshold;
+        if (indexDirty)
+            rebuildIndex();
+
+        if (rolled) {
+            System.arraycopy(stateNow, 0, stateThen, 0, size);
+            System.arraycopy(heldNow, 0, heldThen, 0, heldNow.length);
+            evaluateChanged(input.stateThen(), input.stateNow(), threshold);
+        } else {
+            for (int i = 0; i < size; i++) {
+                evaluate(i, input.stateThen(), stateThen, heldThen, threshold);
+                evaluate(i, input.stateNow(), stateNow, heldNow, threshold);
+            }
+        }
+
+        evaluatedVersion = version;
+        evaluatedRawNow = input.rawStateNow();
+        evaluatedThreshold = threshold;
+        evaluationDirty = false;
+        TickTimings.end(TickStage.BINDINGS, start);
+    }
+
+    private void evaluateChanged(ControllerStateView then, ControllerStateView now, float threshold) {
+        for (int slot = 0; slot < bindingsByButton.length; slot++) {
+            if (now.isButtonDown(slot) != then.isButtonDown(slot))
+                evaluate(bindingsByButton[slot], now, threshold);
+        }
+        for (int slot = 0; slot < bindingsByAxis.length; slot++) {
+            if (Float.compare(now.getAxisState(slot), then.getAxisState(slot)) != 0)
+                evaluate(bindingsByAxis[slot], now, threshold);
+        }
+        for (int slot = 0; slot < bindingsByHat.length; slot++) {
+            if (now.getHatState(slot) != then.getHatState(slot))
+                evaluate(bindingsByHat[slot], now, threshold);
+        }
+        evaluate(alwaysEvaluated, now, threshold);
+    }
+
+    private void evaluate(int[] bindings, ControllerStateView state, float threshold) {
+        for (int i : bindings) {
+            evaluate(i, state, stateNow, heldNow, threshold);
+        }
+    }
+
+    private void evaluate(int i, ControllerStateView state, float[] states, long[] held, float threshold) {
+        ControllerBindingImpl binding = slots.get(i);
+
+        float bindState = binding.getBind().state(state);
+        states[i] = Math.max(bindState, binding.hardcodedState(state));
+        if (bindState > threshold) {
+            held[i >>> 6] |= 1L << i;
+        } else {
+            held[i >>> 6] &= ~(1L << i);
+        }
+    }
+
+    private void rebuildIndex() {
+        List<IntList> byButton = new ArrayList<>(), byAxis = new ArrayList<>(), byHat = new ArrayList<>();
+        IntList always = new IntArrayList();
+
+        for (int i = 0; i < slots.size(); i++) {
+            ControllerBindingImpl binding = slots.get(i);
+            IBind bind = binding.getBind();
+
+            if (binding.hasHardcodedBind()) {
+                // hardcoded binds can read anything
+                always.add(i);
+            } else if (bind instanceof ButtonBind button) {
+                addToIndex(byButton, button.slot(), i);
+            } else if (bind instanceof AxisBind axis) {
+                addToIndex(byAxis, axis.slot(), i);
+            } else if (bind instanceof HatBind hat) {
+                addToIndex(byHat, hat.slot(), i);
+            } else if (!(bind instanceof EmptyBind)) {
+                always.add(i);
+            }
+        }
+
+        bindingsByButton = toIndex(byButton);
+        bindingsByAxis = toIndex(byAxis);
+        bindingsByHat = toIndex(byHat);
+        alwaysEvaluated = always.toIntArray();
+        indexDirty = false;
+    }
+
+    private static void addToIndex(List<IntList> index, int inputSlot, int bindingSlot) {
+        while (index.size() <= inputSlot) {
+            index.add(null);
+        }
+        if (index.get(inputSlot) == null) {
+            index.set(inputSlot, new IntArrayList());
+        }
+        index.get(inputSlot).add(bindingSlot);
+    }
+
+    private static int[][] toIndex(List<IntList> index) {
+        int[][] array = new int[index.size()][];
+        for (int i = 0; i < array.length; i++) {
+            IntList bindings = index.get(i);
+            array[i] = bindings != null ? bindings.toIntArray() : new int[0];
+        }
+        return array;
+    }
+
     public JsonObject toJson() {
         JsonObject json = new JsonObject();
         for (var binding : registry().values()) {
             json.add(binding.id().toString(), binding.toJson());
         }
+        configDirty = false;
         return json;
     }
 
@@ -604,6 +854,8 @@ public class ControllerBindings {
             ((ControllerBindingImpl) binding).setCurrentBind(IBind.fromJson(bind));
         }
 
+        // what was loaded only needs writing again if some of it was missing
+        configDirty = !clean;
         return clean;
     }
 
@@ -641,31 +893,52 @@ public class ControllerBindings {
         }
     }
 
-    private void imitateVanillaClick() {
-        ControllerBindingImpl.clearPressedBinds(controller);
+    /**
+     * @return if any vanilla key was clicked
+     */
+    private boolean imitateVanillaClick() {
+        clearConsumed();
 
         if (!Controlify.instance().currentInputMode().isController())
-            return;
+            return false;
         if (Minecraft.getInstance().screen != null)
-            return;
+            return false;
 
-        for (var binding : registry().values()) {
-            var override = binding.override();
-            if (override == null) continue;
+        ensureEvaluated();
 
-            var accessor = (KeyMappingAccessor) override.keyMapping();
-            var vanillaKeyCode = accessor.getKey();
+        boolean clicked = false;
 
-            if (override.toggleable().getAsBoolean()) {
-                if (binding.justPressed()) {
-                    // must set field directly to avoid ToggleKeyMapping breaking things
-                    accessor.setIsDown(!accessor.getIsDown());
-                }
+        // only bindings whose held state changed, or that are being fake pressed, can be just pressed
+        for (int word = 0; word < overridden.length; word++) {
+            long candidates = overridden[word] & ((heldNow[word] ^ heldThen[word]) | fakePressed[word]);
+            while (candidates != 0) {
+                int slot = (word << 6) + Long.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+
+                clicked |= imitateVanillaClick(slots.get(slot));
             }
+        }
+
+        return clicked;
+    }
+
+    private boolean imitateVanillaClick(ControllerBinding binding) {
+        var override = binding.override();
+
+        var accessor = (KeyMappingAccessor) override.keyMapping();
+        var vanillaKeyCode = accessor.getKey();
+
+        if (override.toggleable().getAsBoolean()) {
             if (binding.justPressed()) {
-                KeyMapping.click(vanillaKeyCode);
+                // must set field directly to avoid ToggleKeyMapping breaking things
+                accessor.setIsDown(!accessor.getIsDown());
             }
         }
+        if (binding.justPressed()) {
+            KeyMapping.click(vanillaKeyCode);
+            return true;
+        }
+        return false;
     }
 
     public static void lockRegistry() {
@@ -5,6 +5,7 @@ import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.controller.*;
 import dev.isxander.controlify.controller.input.ControllerStateView;
 import dev.isxander.controlify.controller.input.HatState;
+import dev.isxander.controlify.controller.input.InputRegistry;
 import dev.isxander.controlify.controller.input.Inputs;
 import dev.isxander.controlify.gui.DrawSize;
 import net.minecraft.client.gui.GuiGraphics;
@@ -15,15 +16,21 @@ public class HatBind implements IBind {
 
     private final ResourceLocation hat;
     private final HatState targetState;
+    private final int slot;
 
     public HatBind(ResourceLocation hat, HatState targetState) {
         this.hat = hat;
         this.targetState = targetState;
+        this.slot = InputRegistry.HATS.intern(hat);
     }
 
     @Override
     public float state(ControllerStateView state) {
-        return state.getHatState(hat) == targetState ? 1 : 0;
+        return state.getHatState(slot) == targetState ? 1 : 0;
+    }
+
+    int slot() {
+        return slot;
     }
 
     @Override
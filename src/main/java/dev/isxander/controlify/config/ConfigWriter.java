@@ -0,0 +1,135 @@
+package dev.isxander.controlify.config;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import dev.isxander.controlify.debug.jfr.ConfigSaveEvent;
+import dev.isxander.controlify.utils.CUtil;
+import dev.isxander.controlify.utils.DebugLog;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes config snapshots on a background thread, shortly after the first is submitted,
+ * so a burst of saves results in a single write of the latest snapshot.
+ * <p>
+ * Each write goes to a temporary file that is then moved over the config,
+ * so the game crashing mid-write can never leave the config empty or truncated.
+ */
+class ConfigWriter {
+    private static final long COALESCE_MILLIS = 500;
+
+    private final Path path;
+    private final Path tempPath;
+    private final Gson gson;
+    private final ScheduledExecutorService executor;
+
+    // held while taking and writing a snapshot, so writes can never land out of order
+    private final Object writeLock = new Object();
+
+    // guarded by `this`
+    private @Nullable JsonObject pending;
+    private @Nullable ScheduledFuture<?> scheduled;
+    private boolean closed;
+
+    ConfigWriter(Path path, Gson gson) {
+        this.path = path;
+        this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        this.gson = gson;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Controlify Config Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues the snapshot to be written, replacing any not yet written.
+     * The snapshot must not be modified afterwards.
+     */
+    void submit(JsonObject snapshot) {
+        synchronized (this) {
+            pending = snapshot;
+
+            if (!closed) {
+                if (scheduled == null) {
+                    scheduled = executor.schedule(this::writePending, COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+                } else {
+                    DebugLog.log("Coalescing Controlify config save with one already queued");
+                }
+                return;
+            }
+        }
+
+        // nothing would be left to write it once the game has closed
+        writePending();
+    }
+
+    /**
+     * Writes the queued snapshot now, if any, waiting for any write in progress to finish.
+     */
+    void flush() {
+        writePending();
+    }
+
+    /**
+     * Flushes, then writes every later snapshot immediately on the thread that submits it.
+     */
+    void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+        executor.shutdown();
+    }
+
+    private void writePending() {
+        synchronized (writeLock) {
+            JsonObject snapshot;
+            synchronized (this) {
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                    scheduled = null;
+                }
+                snapshot = pending;
+                pending = null;
+            }
+
+            if (snapshot != null) {
+                write(snapshot);
+            }
+        }
+    }
+
+    private void write(JsonObject snapshot) {
+        ConfigSaveEvent event = new ConfigSaveEvent();
+        event.begin();
+
+        try {
+            byte[] json = gson.toJson(snapshot).getBytes(StandardCharsets.UTF_8);
+            Files.write(tempPath, json);
+            try {
+                Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.size = json.length;
+                event.commit();
+            }
+        } catch (IOException e) {
+            CUtil.LOGGER.error("Failed to save Controlify config!", e);
+        }
+    }
+}
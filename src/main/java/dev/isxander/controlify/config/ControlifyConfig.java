@@ -3,6 +3,7 @@ package dev.isxander.controlify.config;
 import com.google.gson.*;
 import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.controllermanager.SyntheticControllerManager;
 import dev.isxander.controlify.controller.input.mapping.MappingEntry;
 import dev.isxander.controlify.controller.input.mapping.MappingEntryTypeAdapter;
 import dev.isxander.controlify.utils.DebugLog;
@@ -13,10 +14,8 @@ import net.fabricmc.loader.api.VersionParsingException;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 
 public class ControlifyConfig {
     public static final Path CONFIG_PATH = FabricLoader.getInstance().getConfigDir().resolve("controlify.json");
@@ -42,6 +41,8 @@ public class ControlifyConfig {
 
     private boolean dirty;
 
+    private final ConfigWriter writer = new ConfigWriter(CONFIG_PATH, GSON);
+
     public ControlifyConfig(Controlify controlify) {
         this.controlify = controlify;
         try {
@@ -51,16 +52,22 @@ public class ControlifyConfig {
         }
     }
 
+    /**
+     * Snapshots the config and queues it to be written in the background,
+     * along with any other saves made shortly after.
+     */
     public void save() {
         CUtil.LOGGER.info("Saving Controlify config...");
 
-        try {
-            Files.deleteIfExists(CONFIG_PATH);
-            Files.writeString(CONFIG_PATH, GSON.toJson(generateConfig()), StandardOpenOption.CREATE_NEW, StandardOpenOption.TRUNCATE_EXISTING);
-            dirty = false;
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to save config!", e);
-        }
+        writer.submit(generateConfig());
+        dirty = false;
+    }
+
+    /**
+     * Writes any queued save before the game closes. Saves made afterwards are written immediately.
+     */
+    public void close() {
+        writer.close();
     }
 
     public void load() {
@@ -94,12 +101,20 @@ public class ControlifyConfig {
 
         config.addProperty("last_seen_version", CUtil.VERSION.getFriendlyString());
 
-        JsonObject newControllerData = controllerData.deepCopy(); // we use the old config, so we don't lose disconnected controller data
+        // start from the old data so disconnected controllers aren't lost.
+        // snapshots handed to the writer must never change, so anything replaced is copied rather than modified
+        JsonObject newControllerData = shallowCopy(controllerData);
 
         controlify.getControllerManager().ifPresent(controllerManager -> {
             for (ControllerEntity controller : controllerManager.getConnectedControllers()) {
+                if (controller.info().ucid() instanceof SyntheticControllerManager.SyntheticUniqueControllerID)
+                    continue;
+
+                String uid = controller.info().uid();
+                JsonObject previous = newControllerData.get(uid) instanceof JsonObject object ? object : null;
+
                 // `add` replaces if already existing
-                newControllerData.add(controller.info().uid(), generateControllerConfig(controller));
+                newControllerData.add(uid, generateControllerConfig(controller, previous));
             }
         });
 
@@ -111,17 +126,41 @@ public class ControlifyConfig {
         return config;
     }
 
-    private JsonObject generateControllerConfig(ControllerEntity controller) {
-        JsonObject object = new JsonObject();
-        JsonObject config = new JsonObject();
-        controller.serializeToObject(config, GSON);
+    /**
+     * Only re-serializes the parts of the controller's config that have changed since {@code previous} was generated.
+     */
+    private JsonObject generateControllerConfig(ControllerEntity controller, @Nullable JsonObject previous) {
+        JsonObject previousConfig = previous != null && previous.get("config") instanceof JsonObject object ? object : new JsonObject();
+        JsonObject previousBindings = previous != null && previous.get("bindings") instanceof JsonObject object ? object : null;
 
+        boolean configDirty = controller.isConfigDirty() || previousConfig.size() == 0;
+        boolean bindingsDirty = controller.bindings().isConfigDirty() || previousBindings == null;
+        if (!configDirty && !bindingsDirty)
+            return previous;
+
+        DebugLog.log("Serializing changed config for {}", controller.info().uid());
+
+        JsonObject config = previousConfig;
+        if (configDirty) {
+            config = new JsonObject();
+            controller.serializeToObject(config, previousConfig, GSON);
+        }
+
+        JsonObject object = new JsonObject();
         object.add("config", config);
-        object.add("bindings", controller.bindings().toJson());
+        object.add("bindings", bindingsDirty ? controller.bindings().toJson() : previousBindings);
 
         return object;
     }
 
+    private static JsonObject shallowCopy(JsonObject object) {
+        JsonObject copy = new JsonObject();
+        for (var entry : object.entrySet()) {
+            copy.add(entry.getKey(), entry.getValue());
+        }
+        return copy;
+    }
+
     private void applyConfig(JsonObject object) throws VersionParsingException {
         if (lastSeenVersion == null) {
             boolean hasLastSeenVersion = object.has("last_seen_version");
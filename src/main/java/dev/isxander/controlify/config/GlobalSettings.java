@@ -31,6 +31,16 @@ public class GlobalSettings {
     public boolean notifyLowBattery = true;
     public boolean quietMode = false;
     public float ingameButtonGuideScale = 1f;
+    /** Rate in Hz at which SDL gamepads are sampled between ticks, or 0 to only sample once per tick */
+    public int highFrequencyPollingRate = 0;
+    /** Rate in Hz that idle controllers are polled at, or 0 to never idle */
+    public int idlePollingRate = 2;
+    /** Seconds without input, gyro or touchpad use before a controller goes idle, or 0 to only idle whilst out of focus */
+    public int idleTimeout = 60;
+    /** Update each controller on its own thread when more than one is connected */
+    public boolean parallelDriverUpdates = false;
+    /** Show how long each stage of Controlify's tick takes in the corner of the screen */
+    public boolean showTickTimings = false;
 
     public Set<String> seenServers = new HashSet<>();
 
@@ -0,0 +1,70 @@
+package dev.isxander.controlify.controller;
+
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A typed key for a component, assigned a dense index when registered
+ * so entities can store their components in an array.
+ *
+ * @param <T> the type of component stored under this key
+ */
+public final class ComponentType<T extends ECSComponent> {
+    private static final Map<ResourceLocation, ComponentType<?>> TYPES = new ConcurrentHashMap<>();
+    private static int count;
+
+    private final ResourceLocation id;
+    private final int index;
+
+    private ComponentType(ResourceLocation id, int index) {
+        this.id = id;
+        this.index = index;
+    }
+
+    /**
+     * Gets the type of the component with this id, registering it if it has never been seen before.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends ECSComponent> ComponentType<T> of(ResourceLocation id) {
+        ComponentType<?> type = TYPES.get(id);
+        if (type == null) {
+            type = register(id);
+        }
+        return (ComponentType<T>) type;
+    }
+
+    /**
+     * Gets the type of the component with this id without registering it.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends ECSComponent> @Nullable ComponentType<T> lookup(ResourceLocation id) {
+        return (ComponentType<T>) TYPES.get(id);
+    }
+
+    /**
+     * @return the number of types registered so far. All indices are in the range [0, count).
+     */
+    public static int count() {
+        return count;
+    }
+
+    private static synchronized ComponentType<?> register(ResourceLocation id) {
+        return TYPES.computeIfAbsent(id, k -> new ComponentType<>(k, count++));
+    }
+
+    public ResourceLocation id() {
+        return this.id;
+    }
+
+    public int index() {
+        return this.index;
+    }
+
+    @Override
+    public String toString() {
+        return "ComponentType[" + this.id + "]";
+    }
+}
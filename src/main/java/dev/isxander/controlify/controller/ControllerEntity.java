@@ -20,6 +20,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 public class ControllerEntity extends ECSEntityImpl {
@@ -29,7 +30,7 @@ public class ControllerEntity extends ECSEntityImpl {
     public ControllerEntity(ControllerInfo info) {
         this.info = info;
 
-        this.setComponent(new ConfigImpl<>(GenericControllerConfig::new, GenericControllerConfig.class), GenericControllerConfig.ID);
+        this.setComponent(new ConfigImpl<>(GenericControllerConfig::new, GenericControllerConfig.class), GenericControllerConfig.TYPE);
     }
 
     public ControllerInfo info() {
@@ -50,47 +51,47 @@ public class ControllerEntity extends ECSEntityImpl {
     }
 
     public Optional<InputComponent> input() {
-        return this.getComponent(InputComponent.ID);
+        return this.getComponent(InputComponent.TYPE);
     }
 
     public Optional<RumbleComponent> rumble() {
-        return this.getComponent(RumbleComponent.ID);
+        return this.getComponent(RumbleComponent.TYPE);
     }
 
     public Optional<TriggerRumbleComponent> triggerRumble() {
-        return this.getComponent(TriggerRumbleComponent.ID);
+        return this.getComponent(TriggerRumbleComponent.TYPE);
     }
 
     public Optional<GyroComponent> gyro() {
-        return this.getComponent(GyroComponent.ID);
+        return this.getComponent(GyroComponent.TYPE);
     }
 
     public Optional<TouchpadComponent> touchpad() {
-        return this.getComponent(TouchpadComponent.ID);
+        return this.getComponent(TouchpadComponent.TYPE);
     }
 
     public Optional<BatteryLevelComponent> batteryLevel() {
-        return this.getComponent(BatteryLevelComponent.ID);
+        return this.getComponent(BatteryLevelComponent.TYPE);
     }
 
     public Optional<HDHapticComponent> hdHaptics() {
-        return this.getComponent(HDHapticComponent.ID);
+        return this.getComponent(HDHapticComponent.TYPE);
     }
 
     public IConfig<GenericControllerConfig> genericConfig() {
-        return this.<IConfig<GenericControllerConfig>>getComponent(GenericControllerConfig.ID).orElseThrow();
+        return Objects.requireNonNull(this.getComponentOrNull(GenericControllerConfig.TYPE));
     }
 
     public Optional<IConfig<GamepadControllerConfig>> gamepadConfig() {
-        return this.getComponent(GamepadControllerConfig.ID);
+        return this.getComponent(GamepadControllerConfig.TYPE);
     }
 
     public Optional<IConfig<JoystickControllerConfig>> joystickConfig() {
-        return this.getComponent(JoystickControllerConfig.ID);
+        return this.getComponent(JoystickControllerConfig.TYPE);
     }
 
     public Optional<BluetoothDeviceComponent> bluetooth() {
-        return this.getComponent(BluetoothDeviceComponent.ID);
+        return this.getComponent(BluetoothDeviceComponent.TYPE);
     }
 
     public ControllerBindings bindings() {
@@ -125,6 +126,36 @@ public class ControllerEntity extends ECSEntityImpl {
         }
     }
 
+    /**
+     * Serializes every config into the object, reusing what was serialized into {@code previous}
+     * for any that haven't changed since.
+     */
+    public void serializeToObject(JsonObject object, JsonObject previous, Gson gson) throws SerializationException {
+        for (var entry : this.getAllConfigs().entrySet()) {
+            String key = entry.getKey().toString();
+            IConfig<?> config = entry.getValue();
+
+            JsonElement unchanged = previous.get(key);
+            object.add(key, !config.isDirty() && unchanged != null ? unchanged : config.serialize(gson, this));
+        }
+    }
+
+    /**
+     * Marks every config of this controller as changed, for when any of them may have been set directly.
+     */
+    public void markConfigDirty() {
+        for (var config : this.getAllConfigs().values()) {
+            config.markDirty();
+        }
+    }
+
+    public boolean isConfigDirty() {
+        for (var config : this.getAllConfigs().values()) {
+            if (config.isDirty()) return true;
+        }
+        return false;
+    }
+
     public void deserializeFromObject(JsonObject object, Gson gson) throws SerializationException {
         for (var entry : this.getAllConfigs().entrySet()) {
             ResourceLocation key = entry.getKey();
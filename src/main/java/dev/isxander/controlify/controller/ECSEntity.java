@@ -1,18 +1,36 @@
 package dev.isxander.controlify.controller;
 
 import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 public interface ECSEntity {
     Map<ResourceLocation, ECSComponent> getAllComponents();
 
-    <T extends ECSComponent> boolean setComponent(T component, ResourceLocation id);
+    <T extends ECSComponent> boolean setComponent(T component, ComponentType<T> type);
 
-    boolean removeComponent(ResourceLocation id);
+    default <T extends ECSComponent> boolean setComponent(T component, ResourceLocation id) {
+        return this.setComponent(component, ComponentType.of(id));
+    }
 
-    <T extends ECSComponent> Optional<T> getComponent(ResourceLocation id);
+    boolean removeComponent(ComponentType<?> type);
+
+    default boolean removeComponent(ResourceLocation id) {
+        ComponentType<?> type = ComponentType.lookup(id);
+        return type != null && this.removeComponent(type);
+    }
+
+    <T extends ECSComponent> Optional<T> getComponent(ComponentType<T> type);
+
+    default <T extends ECSComponent> Optional<T> getComponent(ResourceLocation id) {
+        ComponentType<T> type = ComponentType.lookup(id);
+        return type != null ? this.getComponent(type) : Optional.empty();
+    }
+
+    /**
+     * Non-allocating alternative to {@link #getComponent(ComponentType)}.
+     */
+    <T extends ECSComponent> @Nullable T getComponentOrNull(ComponentType<T> type);
 }
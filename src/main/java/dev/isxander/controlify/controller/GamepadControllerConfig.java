@@ -5,4 +5,5 @@ import net.minecraft.resources.ResourceLocation;
 
 public class GamepadControllerConfig implements ConfigClass {
     public static final ResourceLocation ID = Controlify.id("config/gamepad");
+    public static final ComponentType<IConfig<GamepadControllerConfig>> TYPE = ComponentType.of(ID);
 }
@@ -9,6 +9,7 @@ import org.jetbrains.annotations.Nullable;
 
 public class GenericControllerConfig implements ConfigClass {
     public static final ResourceLocation ID = Controlify.id("config/generic");
+    public static final ComponentType<IConfig<GenericControllerConfig>> TYPE = ComponentType.of(ID);
 
     @Nullable
     public String nickname = null;
@@ -32,7 +33,9 @@ public class GenericControllerConfig implements ConfigClass {
 
     @Override
     public void onConfigSaveLoad(ControllerEntity controller) {
-        this.validateRadialActions(controller.bindings());
+        if (!this.validateRadialActions(controller.bindings())) {
+            controller.genericConfig().markDirty();
+        }
     }
 
     public boolean validateRadialActions(ControllerBindings bindings) {
@@ -14,4 +14,12 @@ public interface IConfig<T extends ConfigClass> extends ECSComponent {
     void deserialize(JsonElement element, Gson gson, ControllerEntity controller) throws SerializationException;
 
     void resetToDefault();
+
+    /**
+     * Marks the config as changed since it was last serialized or deserialized,
+     * so it is serialized again on the next save. Needed whenever the fields of {@link #config()} are set directly.
+     */
+    void markDirty();
+
+    boolean isDirty();
 }
@@ -5,4 +5,5 @@ import net.minecraft.resources.ResourceLocation;
 
 public class JoystickControllerConfig implements ConfigClass {
     public static final ResourceLocation ID = Controlify.id("config/joystick");
+    public static final ComponentType<IConfig<JoystickControllerConfig>> TYPE = ComponentType.of(ID);
 }
@@ -1,11 +1,13 @@
 package dev.isxander.controlify.controller.battery;
 
 import dev.isxander.controlify.Controlify;
+import dev.isxander.controlify.controller.ComponentType;
 import dev.isxander.controlify.controller.ECSComponent;
 import net.minecraft.resources.ResourceLocation;
 
 public class BatteryLevelComponent implements ECSComponent {
     public static final ResourceLocation ID = Controlify.id("battery_level");
+    public static final ComponentType<BatteryLevelComponent> TYPE = ComponentType.of(ID);
 
     private BatteryLevel batteryLevel = BatteryLevel.UNKNOWN;
 
@@ -1,6 +1,7 @@
 package dev.isxander.controlify.controller.gyro;
 
 import dev.isxander.controlify.Controlify;
+import dev.isxander.controlify.controller.ComponentType;
 import dev.isxander.controlify.controller.ConfigClass;
 import dev.isxander.controlify.controller.ConfigHolder;
 import dev.isxander.controlify.controller.ECSComponent;
@@ -10,6 +11,7 @@ import net.minecraft.resources.ResourceLocation;
 
 public class GyroComponent implements ECSComponent, ConfigHolder<GyroComponent.Config> {
     public static final ResourceLocation ID = Controlify.id("gyro");
+    public static final ComponentType<GyroComponent> TYPE = ComponentType.of(ID);
 
     private GyroStateC gyroState = GyroStateC.ZERO;
     private final IConfig<Config> config = new ConfigImpl<>(Config::new, Config.class);
@@ -1,6 +1,7 @@
 package dev.isxander.controlify.controller.hdhaptic;
 
 import dev.isxander.controlify.Controlify;
+import dev.isxander.controlify.controller.ComponentType;
 import dev.isxander.controlify.controller.ConfigClass;
 import dev.isxander.controlify.controller.ConfigHolder;
 import dev.isxander.controlify.controller.ECSComponent;
@@ -15,6 +16,7 @@ import net.minecraft.util.RandomSource;
 
 public class HDHapticComponent implements ECSComponent, ConfigHolder<HDHapticComponent.Config> {
     public static final ResourceLocation ID = Controlify.id("hd_haptics");
+    public static final ComponentType<HDHapticComponent> TYPE = ComponentType.of(ID);
 
     private final IConfig<Config> config = new ConfigImpl<>(Config::new, Config.class);
     private final Event<PlayHapticEvent> playHapticEvent;
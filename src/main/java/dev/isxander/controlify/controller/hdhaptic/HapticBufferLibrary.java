@@ -1,5 +1,6 @@
 package dev.isxander.controlify.controller.hdhaptic;
 
+import dev.isxander.controlify.debug.jfr.HapticDecodeEvent;
 import dev.isxander.controlify.driver.sdl.DualsenseOggAudioStream;
 import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
@@ -31,12 +32,22 @@ public class HapticBufferLibrary {
 
     private CompletableFuture<HapticBuffer> createHapticBuffer(ResourceLocation haptic) {
         return CompletableFuture.supplyAsync(() -> {
+            HapticDecodeEvent event = new HapticDecodeEvent();
+            event.begin();
+
             try (InputStream is = resources.open(haptic)) {
                 try (DualsenseOggAudioStream stream = new DualsenseOggAudioStream(is)) {
                     ByteBuffer audioBuf = stream.readAll();
                     byte[] audio = new byte[audioBuf.capacity()];
                     audioBuf.get(audio);
 
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.haptic = haptic.toString();
+                        event.size = audio.length;
+                        event.commit();
+                    }
+
                     return new HapticBuffer(audio, stream.getFormat());
                 }
             } catch (IOException e) {
@@ -15,6 +15,8 @@ public class ConfigImpl<T extends ConfigClass> implements IConfig<T> {
 
     private final T defaultInstance;
     private T instance;
+    // never serialized yet
+    private boolean dirty = true;
 
     public ConfigImpl(Supplier<T> defaultFactory, Class<T> configClass) {
         this.defaultFactory = defaultFactory;
@@ -37,7 +39,9 @@ public class ConfigImpl<T extends ConfigClass> implements IConfig<T> {
     public JsonElement serialize(Gson gson, ControllerEntity controller) throws SerializationException {
         try {
             this.config().onConfigSaveLoad(controller);
-            return gson.toJsonTree(this.config(), this.classOfT);
+            JsonElement element = gson.toJsonTree(this.config(), this.classOfT);
+            this.dirty = false;
+            return element;
         } catch (Exception e) {
             throw new SerializationException("Failed to serialize config type " + this.classOfT.getTypeName(), e);
         }
@@ -47,8 +51,10 @@ public class ConfigImpl<T extends ConfigClass> implements IConfig<T> {
     public void deserialize(JsonElement element, Gson gson, ControllerEntity controller) throws SerializationException {
         try {
             this.instance = gson.fromJson(element, this.classOfT);
+            this.dirty = false;
         } catch (Throwable e) {
             this.instance = this.defaultFactory.get();
+            this.dirty = true;
             throw new SerializationException("Failed to deserialize type " + this.classOfT.getTypeName() + ". Resetting to default.", e);
         }
         this.instance.onConfigSaveLoad(controller);
@@ -57,5 +63,16 @@ public class ConfigImpl<T extends ConfigClass> implements IConfig<T> {
     @Override
     public void resetToDefault() {
         this.instance = this.defaultFactory.get();
+        this.dirty = true;
+    }
+
+    @Override
+    public void markDirty() {
+        this.dirty = true;
+    }
+
+    @Override
+    public boolean isDirty() {
+        return this.dirty;
     }
 }
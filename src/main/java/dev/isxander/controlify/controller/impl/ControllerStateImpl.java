@@ -1,90 +1,339 @@
 package dev.isxander.controlify.controller.impl;
 
+import dev.isxander.controlify.controller.input.ControllerState;
 import dev.isxander.controlify.controller.input.HatState;
+import dev.isxander.controlify.controller.input.InputRegistry;
 import dev.isxander.controlify.controller.input.ModifiableControllerState;
-import it.unimi.dsi.fastutil.objects.Object2BooleanArrayMap;
-import it.unimi.dsi.fastutil.objects.Object2FloatArrayMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
+import dev.isxander.controlify.controller.input.StateChangeSet;
 import net.minecraft.resources.ResourceLocation;
 
-import java.util.Map;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
+/**
+ * A controller state backed by dense primitive arrays, indexed by the slots
+ * handed out by {@link InputRegistry}. The {@link ResourceLocation} methods
+ * simply resolve the slot and delegate.
+ * <p>
+ * Each input type keeps a bitset of which slots have been set, so
+ * {@link #getButtons()} and friends only report the inputs this state actually contains.
+ */
 public class ControllerStateImpl implements ModifiableControllerState {
-    private final Map<ResourceLocation, Boolean> buttons;
-    private final Map<ResourceLocation, Float> axes;
-    private final Map<ResourceLocation, Float> restingAxes;
-    private final Map<ResourceLocation, HatState> hats;
+    private static final HatState[] HAT_STATES = HatState.values();
+
+    private long[] presentButtons, buttons;
+    private long[] presentAxes;
+    private float[] axes, restingAxes;
+    private long[] presentHats;
+    private byte[] hats;
+
+    private final Set<ResourceLocation> buttonSet, axisSet, hatSet;
 
     public ControllerStateImpl() {
-        this.buttons = new Object2BooleanArrayMap<>();
-        this.axes = new Object2FloatArrayMap<>();
-        this.restingAxes = new Object2FloatArrayMap<>();
-        this.hats = new Object2ObjectArrayMap<>();
+        int buttonWords = words(InputRegistry.BUTTONS.size());
+        this.presentButtons = new long[buttonWords];
+        this.buttons = new long[buttonWords];
+
+        int axisCount = Math.max(InputRegistry.AXES.size(), 16);
+        this.presentAxes = new long[words(axisCount)];
+        this.axes = new float[axisCount];
+        this.restingAxes = new float[axisCount];
+
+        int hatCount = Math.max(InputRegistry.HATS.size(), 4);
+        this.presentHats = new long[words(hatCount)];
+        this.hats = new byte[hatCount];
+
+        this.buttonSet = new SlotSet(InputRegistry.BUTTONS) {
+            @Override
+            long[] mask() {
+                return presentButtons;
+            }
+        };
+        this.axisSet = new SlotSet(InputRegistry.AXES) {
+            @Override
+            long[] mask() {
+                return presentAxes;
+            }
+        };
+        this.hatSet = new SlotSet(InputRegistry.HATS) {
+            @Override
+            long[] mask() {
+                return presentHats;
+            }
+        };
     }
 
     @Override
     public boolean isButtonDown(ResourceLocation button) {
-        return buttons.getOrDefault(button, false);
+        return isButtonDown(InputRegistry.BUTTONS.slotOf(button));
+    }
+
+    @Override
+    public boolean isButtonDown(int slot) {
+        return getBit(buttons, slot);
     }
 
     @Override
     public Set<ResourceLocation> getButtons() {
-        return buttons.keySet();
+        return buttonSet;
     }
 
     @Override
     public float getAxisState(ResourceLocation axis) {
-        return axes.getOrDefault(axis, 0f);
+        return getAxisState(InputRegistry.AXES.slotOf(axis));
+    }
+
+    @Override
+    public float getAxisState(int slot) {
+        return slot >= 0 && slot < axes.length ? axes[slot] : 0f;
     }
 
     @Override
     public Set<ResourceLocation> getAxes() {
-        return axes.keySet();
+        return axisSet;
     }
 
     @Override
     public float getAxisResting(ResourceLocation axis) {
-        return restingAxes.getOrDefault(axis, 0f);
+        return getAxisResting(InputRegistry.AXES.slotOf(axis));
+    }
+
+    @Override
+    public float getAxisResting(int slot) {
+        return slot >= 0 && slot < restingAxes.length ? restingAxes[slot] : 0f;
     }
 
     @Override
     public HatState getHatState(ResourceLocation hat) {
-        return hats.getOrDefault(hat, HatState.CENTERED);
+        return getHatState(InputRegistry.HATS.slotOf(hat));
+    }
+
+    @Override
+    public HatState getHatState(int slot) {
+        return slot >= 0 && slot < hats.length ? HAT_STATES[hats[slot]] : HatState.CENTERED;
     }
 
     @Override
     public Set<ResourceLocation> getHats() {
-        return hats.keySet();
+        return hatSet;
+    }
+
+    /**
+     * @return whether this state contains the button, rather than it just not being pressed
+     */
+    public boolean hasButton(int slot) {
+        return getBit(presentButtons, slot);
+    }
+
+    public boolean hasAxis(int slot) {
+        return getBit(presentAxes, slot);
+    }
+
+    public boolean hasHat(int slot) {
+        return getBit(presentHats, slot);
+    }
+
+    @Override
+    public StateChangeSet changes() {
+        return StateChangeSet.NONE;
     }
 
     @Override
     public void setButton(ResourceLocation button, boolean value) {
-        buttons.put(button, value);
+        setButton(InputRegistry.BUTTONS.intern(button), value);
+    }
+
+    @Override
+    public void setButton(int slot, boolean value) {
+        int word = slot >>> 6;
+        if (word >= buttons.length) {
+            int newLength = Math.max(words(InputRegistry.BUTTONS.size()), word + 1);
+            presentButtons = Arrays.copyOf(presentButtons, newLength);
+            buttons = Arrays.copyOf(buttons, newLength);
+        }
+
+        long bit = 1L << slot;
+        presentButtons[word] |= bit;
+        if (value) {
+            buttons[word] |= bit;
+        } else {
+            buttons[word] &= ~bit;
+        }
     }
 
     @Override
     public void setAxis(ResourceLocation axis, float value) {
-        axes.put(axis, value);
+        setAxis(InputRegistry.AXES.intern(axis), value);
+    }
+
+    @Override
+    public void setAxis(int slot, float value) {
+        ensureAxisCapacity(slot);
+
+        presentAxes[slot >>> 6] |= 1L << slot;
+        axes[slot] = value;
     }
 
     public void setRestingAxis(ResourceLocation axis, float value) {
-        if (!axes.containsKey(axis))
+        setRestingAxis(InputRegistry.AXES.slotOf(axis), value);
+    }
+
+    public void setRestingAxis(int slot, float value) {
+        if (!getBit(presentAxes, slot))
             throw new IllegalArgumentException("Cannot set resting axis for axis that doesn't exist");
 
-        restingAxes.put(axis, value);
+        restingAxes[slot] = value;
     }
 
     @Override
     public void setHat(ResourceLocation hat, HatState value) {
-        hats.put(hat, value);
+        setHat(InputRegistry.HATS.intern(hat), value);
+    }
+
+    @Override
+    public void setHat(int slot, HatState value) {
+        if (slot >= hats.length) {
+            int newLength = Math.max(InputRegistry.HATS.size(), slot + 1);
+            presentHats = Arrays.copyOf(presentHats, words(newLength));
+            hats = Arrays.copyOf(hats, newLength);
+        }
+
+        presentHats[slot >>> 6] |= 1L << slot;
+        hats[slot] = (byte) value.ordinal();
     }
 
     @Override
     public void clearState() {
-        this.buttons.clear();
-        this.axes.clear();
-        this.restingAxes.clear();
-        this.hats.clear();
+        Arrays.fill(presentButtons, 0L);
+        Arrays.fill(buttons, 0L);
+        Arrays.fill(presentAxes, 0L);
+        Arrays.fill(axes, 0f);
+        Arrays.fill(restingAxes, 0f);
+        Arrays.fill(presentHats, 0L);
+        Arrays.fill(hats, (byte) 0);
+    }
+
+    /**
+     * Replaces the contents of this state with another, reusing this state's arrays where possible.
+     */
+    public void copyFrom(ControllerState other) {
+        if (other instanceof ControllerStateImpl impl) {
+            presentButtons = copyInto(impl.presentButtons, presentButtons);
+            buttons = copyInto(impl.buttons, buttons);
+            presentAxes = copyInto(impl.presentAxes, presentAxes);
+            axes = copyInto(impl.axes, axes);
+            restingAxes = copyInto(impl.restingAxes, restingAxes);
+            presentHats = copyInto(impl.presentHats, presentHats);
+            hats = copyInto(impl.hats, hats);
+            return;
+        }
+
+        clearState();
+        for (ResourceLocation button : other.getButtons()) {
+            setButton(button, other.isButtonDown(button));
+        }
+        for (ResourceLocation axis : other.getAxes()) {
+            setAxis(axis, other.getAxisState(axis));
+            setRestingAxis(axis, other.getAxisResting(axis));
+        }
+        for (ResourceLocation hat : other.getHats()) {
+            setHat(hat, other.getHatState(hat));
+        }
+    }
+
+    private static long[] copyInto(long[] src, long[] dst) {
+        if (dst.length < src.length) return src.clone();
+        System.arraycopy(src, 0, dst, 0, src.length);
+        Arrays.fill(dst, src.length, dst.length, 0L);
+        return dst;
+    }
+
+    private static float[] copyInto(float[] src, float[] dst) {
+        if (dst.length < src.length) return src.clone();
+        System.arraycopy(src, 0, dst, 0, src.length);
+        Arrays.fill(dst, src.length, dst.length, 0f);
+        return dst;
+    }
+
+    private static byte[] copyInto(byte[] src, byte[] dst) {
+        if (dst.length < src.length) return src.clone();
+        System.arraycopy(src, 0, dst, 0, src.length);
+        Arrays.fill(dst, src.length, dst.length, (byte) 0);
+        return dst;
+    }
+
+    private void ensureAxisCapacity(int slot) {
+        if (slot >= axes.length) {
+            int newLength = Math.max(InputRegistry.AXES.size(), slot + 1);
+            presentAxes = Arrays.copyOf(presentAxes, words(newLength));
+            axes = Arrays.copyOf(axes, newLength);
+            restingAxes = Arrays.copyOf(restingAxes, newLength);
+        }
+    }
+
+    private static boolean getBit(long[] bits, int slot) {
+        if (slot < 0) return false;
+
+        int word = slot >>> 6;
+        return word < bits.length && (bits[word] & (1L << slot)) != 0;
+    }
+
+    private static int words(int bits) {
+        return Math.max((bits + 63) >>> 6, 1);
+    }
+
+    private abstract static class SlotSet extends AbstractSet<ResourceLocation> {
+        private final InputRegistry.Slots registry;
+
+        private SlotSet(InputRegistry.Slots registry) {
+            this.registry = registry;
+        }
+
+        abstract long[] mask();
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof ResourceLocation id && getBit(mask(), registry.slotOf(id));
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (long word : mask()) {
+                size += Long.bitCount(word);
+            }
+            return size;
+        }
+
+        @Override
+        public Iterator<ResourceLocation> iterator() {
+            long[] mask = mask();
+
+            return new Iterator<>() {
+                private int word = 0;
+                private long remaining = mask.length > 0 ? mask[0] : 0L;
+
+                @Override
+                public boolean hasNext() {
+                    while (remaining == 0 && word + 1 < mask.length) {
+                        remaining = mask[++word];
+                    }
+                    return remaining != 0;
+                }
+
+                @Override
+                public ResourceLocation next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+
+                    int bit = Long.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+                    return registry.id((word << 6) + bit);
+                }
+            };
+        }
     }
 }
@@ -1,37 +1,90 @@
 package dev.isxander.controlify.controller.impl;
 
 import com.google.common.collect.ImmutableMap;
+import dev.isxander.controlify.controller.ComponentType;
 import dev.isxander.controlify.controller.ECSComponent;
 import dev.isxander.controlify.controller.ECSEntity;
 import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
 public class ECSEntityImpl implements ECSEntity {
-    private final Map<ResourceLocation, ECSComponent> components;
+    // both indexed by ComponentType#index. the optionals are kept so the Optional API doesn't allocate
+    private ECSComponent[] components;
+    private Optional<?>[] optionals;
+    private final List<ComponentType<?>> types;
+    private Map<ResourceLocation, ECSComponent> allComponents;
 
     public ECSEntityImpl() {
-        this.components = new HashMap<>();
+        int count = Math.max(ComponentType.count(), 16);
+        this.components = new ECSComponent[count];
+        this.optionals = new Optional<?>[count];
+        this.types = new ArrayList<>();
     }
 
     @SuppressWarnings("unchecked")
     @Override
-    public <T extends ECSComponent> Optional<T> getComponent(ResourceLocation id) {
-        return Optional.ofNullable((T) this.components.get(id));
+    public <T extends ECSComponent> Optional<T> getComponent(ComponentType<T> type) {
+        int index = type.index();
+        if (index >= this.optionals.length)
+            return Optional.empty();
+
+        Optional<T> optional = (Optional<T>) this.optionals[index];
+        return optional != null ? optional : Optional.empty();
     }
 
+    @SuppressWarnings("unchecked")
     @Override
-    public <T extends ECSComponent> boolean setComponent(T component, ResourceLocation id) {
-        return this.components.put(id, component) != null;
+    public <T extends ECSComponent> @Nullable T getComponentOrNull(ComponentType<T> type) {
+        int index = type.index();
+        return index < this.components.length ? (T) this.components[index] : null;
     }
 
     @Override
-    public boolean removeComponent(ResourceLocation id) {
-        return this.components.remove(id) != null;
+    public <T extends ECSComponent> boolean setComponent(T component, ComponentType<T> type) {
+        if (component == null)
+            return this.removeComponent(type);
+
+        int index = type.index();
+        if (index >= this.components.length) {
+            int length = Math.max(ComponentType.count(), index + 1);
+            this.components = Arrays.copyOf(this.components, length);
+            this.optionals = Arrays.copyOf(this.optionals, length);
+        }
+
+        ECSComponent old = this.components[index];
+        if (old == null)
+            this.types.add(type);
+
+        this.components[index] = component;
+        this.optionals[index] = Optional.of(component);
+        this.allComponents = null;
+        return old != null;
+    }
+
+    @Override
+    public boolean removeComponent(ComponentType<?> type) {
+        int index = type.index();
+        if (index >= this.components.length || this.components[index] == null)
+            return false;
+
+        this.components[index] = null;
+        this.optionals[index] = null;
+        this.types.remove(type);
+        this.allComponents = null;
+        return true;
     }
 
     @Override
     public Map<ResourceLocation, ECSComponent> getAllComponents() {
-        return ImmutableMap.copyOf(this.components);
+        if (this.allComponents == null) {
+            ImmutableMap.Builder<ResourceLocation, ECSComponent> builder = ImmutableMap.builder();
+            for (ComponentType<?> type : this.types) {
+                builder.put(type.id(), this.components[type.index()]);
+            }
+            this.allComponents = builder.build();
+        }
+        return this.allComponents;
     }
 }
@@ -7,13 +7,39 @@ import java.util.Set;
 public interface ControllerStateView {
     boolean isButtonDown(ResourceLocation button);
 
+    /**
+     * @param slot the slot of the button in {@link InputRegistry#BUTTONS}
+     */
+    boolean isButtonDown(int slot);
+
     Set<ResourceLocation> getButtons();
 
     float getAxisState(ResourceLocation axis);
+
+    /**
+     * @param slot the slot of the axis in {@link InputRegistry#AXES}
+     */
+    float getAxisState(int slot);
+
     Set<ResourceLocation> getAxes();
 
     float getAxisResting(ResourceLocation axis);
 
+    float getAxisResting(int slot);
+
     HatState getHatState(ResourceLocation hat);
+
+    /**
+     * @param slot the slot of the hat in {@link InputRegistry#HATS}
+     */
+    HatState getHatState(int slot);
+
     Set<ResourceLocation> getHats();
+
+    /**
+     * Gets the inputs that changed between the previous state and this one.
+     * Only the states provided by {@link InputComponent} track changes,
+     * any other state reports {@link StateChangeSet#NONE}.
+     */
+    StateChangeSet changes();
 }
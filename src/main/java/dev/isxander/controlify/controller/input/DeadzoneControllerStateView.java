@@ -3,16 +3,36 @@ package dev.isxander.controlify.controller.input;
 import dev.isxander.controlify.utils.ControllerUtils;
 import net.minecraft.resources.ResourceLocation;
 
-import java.util.Optional;
 import java.util.Set;
 
+/**
+ * Wraps a state, applying deadzones to every axis.
+ * Deadzones are applied once when the wrapped state is set, not on every query.
+ */
 public class DeadzoneControllerStateView implements ControllerStateView {
-    private final ControllerStateView view;
-    private final InputComponent input;
+    private ControllerStateView view;
+    private float[] axes = new float[0];
+    private final StateChangeSet changes = new StateChangeSet();
 
-    public DeadzoneControllerStateView(ControllerStateView view, InputComponent input) {
+    /**
+     * @param deadzones the deadzone of each axis, indexed by {@link InputRegistry#AXES} slot
+     */
+    public DeadzoneControllerStateView(ControllerStateView view, float[] deadzones) {
+        this.setView(view, deadzones);
+    }
+
+    void setView(ControllerStateView view, float[] deadzones) {
         this.view = view;
-        this.input = input;
+
+        int axisCount = InputRegistry.AXES.size();
+        if (axes.length < axisCount) {
+            axes = new float[axisCount];
+        }
+
+        for (int slot = 0; slot < axisCount; slot++) {
+            float deadzone = slot < deadzones.length ? deadzones[slot] : 0f;
+            axes[slot] = ControllerUtils.deadzone(view.getAxisState(slot), deadzone);
+        }
     }
 
     @Override
@@ -20,6 +40,11 @@ public class DeadzoneControllerStateView implements ControllerStateView {
         return view.isButtonDown(button);
     }
 
+    @Override
+    public boolean isButtonDown(int slot) {
+        return view.isButtonDown(slot);
+    }
+
     @Override
     public Set<ResourceLocation> getButtons() {
         return view.getButtons();
@@ -27,11 +52,12 @@ public class DeadzoneControllerStateView implements ControllerStateView {
 
     @Override
     public float getAxisState(ResourceLocation axis) {
-        float rawAxis = view.getAxisState(axis);
-        Optional<ResourceLocation> deadzoneId = input.getDeadzoneForAxis(axis);
-        float deadzone = deadzoneId.map(id -> input.confObj().deadzones.get(id)).orElse(0f);
+        return getAxisState(InputRegistry.AXES.slotOf(axis));
+    }
 
-        return ControllerUtils.deadzone(rawAxis, deadzone);
+    @Override
+    public float getAxisState(int slot) {
+        return slot >= 0 && slot < axes.length ? axes[slot] : 0f;
     }
 
     @Override
@@ -44,13 +70,28 @@ public class DeadzoneControllerStateView implements ControllerStateView {
         return view.getAxisResting(axis);
     }
 
+    @Override
+    public float getAxisResting(int slot) {
+        return view.getAxisResting(slot);
+    }
+
     @Override
     public HatState getHatState(ResourceLocation hat) {
         return view.getHatState(hat);
     }
 
+    @Override
+    public HatState getHatState(int slot) {
+        return view.getHatState(slot);
+    }
+
     @Override
     public Set<ResourceLocation> getHats() {
         return view.getHats();
     }
+
+    @Override
+    public StateChangeSet changes() {
+        return changes;
+    }
 }
@@ -82,12 +82,18 @@ public final class GamepadInputs {
     }
 
     private static ResourceLocation button(String id) {
-        return Controlify.id("button/" + id);
+        ResourceLocation button = Controlify.id("button/" + id);
+        InputRegistry.BUTTONS.intern(button);
+        return button;
     }
     private static ResourceLocation axis(String id) {
-        return Controlify.id("axis/" + id);
+        ResourceLocation axis = Controlify.id("axis/" + id);
+        InputRegistry.AXES.intern(axis);
+        return axis;
     }
     private static ResourceLocation hat(String id) {
-        return Controlify.id("hat/" + id);
+        ResourceLocation hat = Controlify.id("hat/" + id);
+        InputRegistry.HATS.intern(hat);
+        return hat;
     }
 }
@@ -2,9 +2,14 @@ package dev.isxander.controlify.controller.input;
 
 import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.controller.*;
+import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.mapping.CompiledMapping;
 import dev.isxander.controlify.controller.input.mapping.ControllerMapping;
 import dev.isxander.controlify.controller.impl.ConfigImpl;
 import dev.isxander.controlify.controller.input.mapping.ControllerMappingStorage;
+import dev.isxander.controlify.debug.latency.LatencyProbe;
+import dev.isxander.controlify.debug.timings.TickStage;
+import dev.isxander.controlify.debug.timings.TickTimings;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.Nullable;
@@ -15,11 +20,29 @@ import java.util.stream.Collectors;
 
 public class InputComponent implements ECSComponent, ConfigHolder<InputComponent.Config> {
     public static final ResourceLocation ID = Controlify.id("input");
+    public static final ComponentType<InputComponent> TYPE = ComponentType.of(ID);
+    private static final long OBSERVATION_EXPIRY_NANOS = 1_000_000_000L; // 1 second
 
-    private ControllerState
-            stateNow = ControllerState.EMPTY,
-            stateThen = ControllerState.EMPTY;
+    // drivers write into `stateWrite`, which is rotated into `stateNow` when pushed.
+    // `stateMapped` is the scratch output of the controller mapping, swapped with `stateWrite` when used.
+    private ControllerStateImpl
+            stateWrite = new ControllerStateImpl(),
+            stateMapped = new ControllerStateImpl(),
+            stateNow = new ControllerStateImpl(),
+            stateThen = new ControllerStateImpl();
     private DeadzoneControllerStateView deadzoneStateNow, deadzoneStateThen;
+    private int stateVersion;
+    // whether `stateThen` is known to equal `stateNow`
+    private boolean settled;
+
+    // deadzone of each axis, indexed by axis slot. rebuilt when the mapping or config changes
+    private float[] deadzoneTable = new float[0];
+    private boolean deadzoneTableDirty = true;
+    private ControllerMapping deadzoneTableMapping;
+    private Config deadzoneTableConfig;
+
+    private ControllerMapping compiledMappingSource;
+    private CompiledMapping compiledMapping;
 
     private final int buttonCount, axisCount, hatCount;
     private final Map<ResourceLocation, DeadzoneGroup> deadzoneAxes;
@@ -27,6 +50,11 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
 
     private final IConfig<Config> config;
 
+    private @Nullable RawStateListener rawStateListener;
+
+    // only tracked for the LatencyProbe
+    private long pendingObservedAt, axisChangeObservedAt, buttonChangeObservedAt;
+
     public InputComponent(int buttonCount, int axisCount, int hatCount, boolean definitelyGamepad, Set<DeadzoneGroup> deadzoneAxes, String mappingId) {
         this.buttonCount = buttonCount;
         this.axisCount = axisCount;
@@ -35,7 +63,8 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
         this.definitelyGamepad = definitelyGamepad;
         this.deadzoneAxes = deadzoneAxes.stream()
                 .collect(Collectors.toMap(DeadzoneGroup::name, Function.identity(), (x, y) -> y, LinkedHashMap::new));
-        this.updateDeadzoneView();
+        this.deadzoneStateNow = new DeadzoneControllerStateView(this.stateNow, this.deadzoneTable);
+        this.deadzoneStateThen = new DeadzoneControllerStateView(this.stateThen, this.deadzoneTable);
     }
 
     public ControllerStateView stateNow() {
@@ -53,15 +82,159 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
         return this.stateThen;
     }
 
-    public void pushState(ControllerState state) {
-        ControllerMapping mapping = confObj().mapping;
+    /**
+     * Gets the buffer that the driver should write the next state into.
+     * The buffer is cleared and is only valid until {@link #pushState()} is called.
+     */
+    public ModifiableControllerState stateBuffer() {
+        this.stateWrite.clearState();
+        return this.stateWrite;
+    }
+
+    /**
+     * Pushes the state written to {@link #stateBuffer()}, making it the current state.
+     * No allocations are made, the buffers are simply rotated.
+     */
+    public void pushState() {
+        if (this.rawStateListener != null) {
+            this.rawStateListener.onPushState(this.stateWrite);
+        }
+
+        CompiledMapping mapping = this.getCompiledMapping();
         if (mapping != null) {
-            state = mapping.mapState(state);
+            long mappingStart = TickTimings.start();
+            mapping.mapState(this.stateWrite, this.stateMapped);
+            TickTimings.end(TickStage.MAPPING, mappingStart);
+
+            ControllerStateImpl raw = this.stateWrite;
+            this.stateWrite = this.stateMapped;
+            this.stateMapped = raw;
         }
 
+        ControllerStateImpl oldThen = this.stateThen;
         this.stateThen = this.stateNow;
-        this.stateNow = state;
-        this.updateDeadzoneView();
+        this.stateNow = this.stateWrite;
+        this.stateWrite = oldThen;
+
+        // the deadzone-applied `now` becomes `then`, so only the new state needs deadzones applied
+        long deadzoneStart = TickTimings.start();
+        DeadzoneControllerStateView oldDeadzoneThen = this.deadzoneStateThen;
+        this.deadzoneStateThen = this.deadzoneStateNow;
+        this.deadzoneStateNow = oldDeadzoneThen;
+        this.deadzoneStateNow.setView(this.stateNow, this.getDeadzoneTable());
+        this.deadzoneStateNow.changes().compute(this.deadzoneStateThen, this.deadzoneStateNow);
+        TickTimings.end(TickStage.DEADZONE, deadzoneStart);
+        this.settled = false;
+        this.stateVersion++;
+
+        if (LatencyProbe.ENABLED) {
+            this.observeChanges();
+        }
+    }
+
+    /**
+     * Marks when the input about to be pushed was first observed, if the driver knows it was before it is pushed,
+     * such as the time of the SDL event that changed it. Only needed while the {@link LatencyProbe} is enabled.
+     */
+    public void markObserved(long nanoTime) {
+        if (this.pendingObservedAt == 0 || nanoTime < this.pendingObservedAt) {
+            this.pendingObservedAt = nanoTime;
+        }
+    }
+
+    /**
+     * @return when the earliest axis change not yet taken was first observed, as a {@link System#nanoTime()}, or 0 if none
+     */
+    public long takeAxisChangeObservedAt() {
+        long observedAt = this.axisChangeObservedAt;
+        this.axisChangeObservedAt = 0;
+        return observedAt;
+    }
+
+    /**
+     * @return when the earliest button or hat change not yet taken was first observed, as a {@link System#nanoTime()}, or 0 if none
+     */
+    public long takeButtonChangeObservedAt() {
+        long observedAt = this.buttonChangeObservedAt;
+        this.buttonChangeObservedAt = 0;
+        return observedAt;
+    }
+
+    private void observeChanges() {
+        long observedAt = this.pendingObservedAt != 0 ? this.pendingObservedAt : System.nanoTime();
+        this.pendingObservedAt = 0;
+
+        // a change nothing has taken for this long never will be, such as one made while this controller
+        // wasn't the current one, so the next change replaces it instead of being timed from it
+        StateChangeSet changes = this.deadzoneStateNow.changes();
+        if (changes.anyAxisChanged() && isUntimed(this.axisChangeObservedAt, observedAt)) {
+            this.axisChangeObservedAt = observedAt;
+        }
+        if (changes.anyButtonOrHatChanged() && isUntimed(this.buttonChangeObservedAt, observedAt)) {
+            this.buttonChangeObservedAt = observedAt;
+        }
+    }
+
+    private static boolean isUntimed(long pendingObservedAt, long observedAt) {
+        return pendingObservedAt == 0 || observedAt - pendingObservedAt > OBSERVATION_EXPIRY_NANOS;
+    }
+
+    /**
+     * Clears both the current and previous state.
+     */
+    public void clearState() {
+        this.stateNow.clearState();
+        this.stateThen.clearState();
+
+        float[] deadzones = this.getDeadzoneTable();
+        this.deadzoneStateNow.setView(this.stateNow, deadzones);
+        this.deadzoneStateThen.setView(this.stateThen, deadzones);
+        this.deadzoneStateNow.changes().clear();
+        this.deadzoneStateThen.changes().clear();
+        this.settled = true;
+        this.stateVersion++;
+    }
+
+    /**
+     * Makes the previous state the same as the current one, as if the current state was pushed again,
+     * without the driver reading the controller. Used while a controller is idle and not updated every tick,
+     * so the last change isn't seen again on every tick until the next update.
+     */
+    public void settleState() {
+        if (this.settled)
+            return;
+
+        this.settled = true;
+        this.stateThen.copyFrom(this.stateNow);
+        this.deadzoneStateThen.setView(this.stateThen, this.getDeadzoneTable());
+        this.deadzoneStateNow.changes().clear();
+        this.deadzoneStateThen.changes().clear();
+        this.stateVersion++;
+    }
+
+    /**
+     * Incremented every time the current or previous state changes,
+     * so anything derived from them can tell when it needs to be recomputed.
+     */
+    public int stateVersion() {
+        return this.stateVersion;
+    }
+
+    /**
+     * Copies the state into the internal buffers and pushes it.
+     * Drivers should prefer writing to {@link #stateBuffer()} directly.
+     */
+    public void pushState(ControllerState state) {
+        this.stateWrite.copyFrom(state);
+        this.pushState();
+    }
+
+    /**
+     * Sets a listener to be given every state the driver pushes, before the mapping is applied.
+     * It is called on whichever thread updates the driver.
+     */
+    public void setRawStateListener(@Nullable RawStateListener listener) {
+        this.rawStateListener = listener;
     }
 
     public int buttonCount() {
@@ -93,18 +266,55 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
         return this.config;
     }
 
-    private void updateDeadzoneView() {
-        this.deadzoneStateNow = new DeadzoneControllerStateView(this.stateNow, this);
-        this.deadzoneStateThen = new DeadzoneControllerStateView(this.stateThen, this);
+    private @Nullable CompiledMapping getCompiledMapping() {
+        ControllerMapping mapping = confObj().mapping;
+        if (mapping != this.compiledMappingSource) {
+            this.compiledMappingSource = mapping;
+            this.compiledMapping = mapping != null && !mapping.mappings().isEmpty() ? mapping.compile() : null;
+        }
+        return this.compiledMapping;
+    }
+
+    /**
+     * Marks the deadzone lookup table to be rebuilt on the next pushed state.
+     * Must be called after modifying {@link Config#deadzones}.
+     * Changes to the mapping or the config instance are detected automatically.
+     */
+    public void invalidateDeadzones() {
+        this.deadzoneTableDirty = true;
     }
 
-    Optional<ResourceLocation> getDeadzoneForAxis(ResourceLocation axis) {
-        for (DeadzoneGroup group : this.getDeadzoneGroups().values()) {
-            if (group.axes().contains(axis)) {
-                return Optional.of(group.name());
+    private float[] getDeadzoneTable() {
+        Config config = confObj();
+        if (this.deadzoneTableDirty || config != this.deadzoneTableConfig || config.mapping != this.deadzoneTableMapping) {
+            this.deadzoneTableDirty = false;
+            this.deadzoneTableConfig = config;
+            this.deadzoneTableMapping = config.mapping;
+
+            float[] table = new float[InputRegistry.AXES.size()];
+            // an axis takes its deadzone from the first group it is in, even if that group has none configured
+            BitSet grouped = new BitSet(table.length);
+            for (DeadzoneGroup group : this.getDeadzoneGroups().values()) {
+                Float deadzone = config.deadzones.get(group.name());
+
+                for (ResourceLocation axis : group.axes()) {
+                    int slot = InputRegistry.AXES.intern(axis);
+                    if (grouped.get(slot))
+                        continue;
+                    grouped.set(slot);
+
+                    if (deadzone == null)
+                        continue;
+                    if (slot >= table.length) {
+                        table = Arrays.copyOf(table, slot + 1);
+                    }
+                    table[slot] = deadzone;
+                }
             }
+            this.deadzoneTable = table;
         }
-        return Optional.empty();
+
+        return this.deadzoneTable;
     }
 
     public static class Config implements ConfigClass {
@@ -133,4 +343,11 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
         public ControllerMapping mapping = null;
     }
 
+    @FunctionalInterface
+    public interface RawStateListener {
+        /**
+         * @param state the state as written by the driver, only valid for the duration of the call
+         */
+        void onPushState(ControllerStateImpl state);
+    }
 }
@@ -0,0 +1,82 @@
+package dev.isxander.controlify.controller.input;
+
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns every input identifier into a dense, stable integer slot.
+ * Slots are allocated separately for buttons, axes and hats and are never reused,
+ * so they can be used to index primitive arrays for the lifetime of the game.
+ * <p>
+ * {@link GamepadInputs} and {@link JoystickInputs} register their inputs as they are created,
+ * anything else is registered the first time it is written to a state.
+ */
+public final class InputRegistry {
+    public static final Slots BUTTONS = new Slots();
+    public static final Slots AXES = new Slots();
+    public static final Slots HATS = new Slots();
+
+    private InputRegistry() {
+    }
+
+    public static final class Slots {
+        private final Map<ResourceLocation, Integer> slots = new ConcurrentHashMap<>();
+        private volatile ResourceLocation[] ids = new ResourceLocation[32];
+        private volatile int size;
+
+        private Slots() {
+        }
+
+        /**
+         * Gets the slot of the input, registering it if it has never been seen before.
+         */
+        public int intern(ResourceLocation id) {
+            Integer slot = slots.get(id);
+            if (slot != null)
+                return slot;
+
+            return register(id);
+        }
+
+        /**
+         * Gets the slot of the input without registering it.
+         * @return the slot, or -1 if this input has never been registered
+         */
+        public int slotOf(ResourceLocation id) {
+            Integer slot = slots.get(id);
+            return slot != null ? slot : -1;
+        }
+
+        public ResourceLocation id(int slot) {
+            return ids[slot];
+        }
+
+        /**
+         * @return the number of slots allocated so far. All slots are in the range [0, size).
+         */
+        public int size() {
+            return size;
+        }
+
+        private synchronized int register(ResourceLocation id) {
+            Integer existing = slots.get(id);
+            if (existing != null)
+                return existing;
+
+            int slot = size;
+            ResourceLocation[] ids = this.ids;
+            if (slot >= ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[slot] = id;
+            this.ids = ids;
+            this.size = slot + 1;
+
+            slots.put(id, slot);
+            return slot;
+        }
+    }
+}
@@ -16,6 +16,7 @@ public final class JoystickInputs {
 
         if (cache == null) {
             BUTTONS[index] = cache = Controlify.id("button/" + index);
+            InputRegistry.BUTTONS.intern(cache);
         }
 
         return cache;
@@ -31,6 +32,7 @@ public final class JoystickInputs {
 
         if (cache == null) {
             AXES[cacheIndex] = cache = Controlify.id("axis/" + index + "/" + (positive ? "positive" : "negative"));
+            InputRegistry.AXES.intern(cache);
         }
 
         return cache;
@@ -41,6 +43,7 @@ public final class JoystickInputs {
 
         if (cache == null) {
             HATS[index] = cache = Controlify.id("hat/" + index);
+            InputRegistry.HATS.intern(cache);
         }
 
         return cache;
@@ -5,7 +5,13 @@ import net.minecraft.resources.ResourceLocation;
 public interface ModifiableControllerState extends ControllerState {
     void setButton(ResourceLocation button, boolean pressed);
 
+    void setButton(int slot, boolean pressed);
+
     void setAxis(ResourceLocation axis, float value);
 
+    void setAxis(int slot, float value);
+
     void setHat(ResourceLocation hat, HatState state);
+
+    void setHat(int slot, HatState state);
 }
@@ -0,0 +1,148 @@
+package dev.isxander.controlify.controller.input;
+
+import java.util.Arrays;
+
+/**
+ * The inputs that changed from one state to the next, computed once when a state is pushed
+ * so consumers don't need to diff the states themselves.
+ */
+public final class StateChangeSet {
+    /**
+     * A change set where nothing has changed and no input is active.
+     */
+    public static final StateChangeSet NONE = new StateChangeSet();
+
+    /**
+     * How far an axis must move between states to be considered changed.
+     */
+    public static final float AXIS_EPSILON = 0.001f;
+    /**
+     * How far an axis must be from zero to be considered active.
+     */
+    public static final float ACTIVE_AXIS_THRESHOLD = 0.1f;
+
+    private long[] buttons = new long[1], axes = new long[1], hats = new long[1];
+    private boolean anyChanged, anyAxisChanged, anyButtonOrHatChanged, anyActive;
+
+    StateChangeSet() {
+    }
+
+    void compute(ControllerStateView then, ControllerStateView now) {
+        int buttonCount = InputRegistry.BUTTONS.size();
+        int axisCount = InputRegistry.AXES.size();
+        int hatCount = InputRegistry.HATS.size();
+        buttons = cleared(buttons, buttonCount);
+        axes = cleared(axes, axisCount);
+        hats = cleared(hats, hatCount);
+
+        boolean buttonOrHatChanged = false, axisChanged = false, active = false;
+
+        for (int slot = 0; slot < buttonCount; slot++) {
+            boolean down = now.isButtonDown(slot);
+            if (down != then.isButtonDown(slot)) {
+                buttons[slot >>> 6] |= 1L << slot;
+                buttonOrHatChanged = true;
+            }
+            active |= down;
+        }
+
+        for (int slot = 0; slot < axisCount; slot++) {
+            float value = now.getAxisState(slot);
+            if (Math.abs(value - then.getAxisState(slot)) > AXIS_EPSILON) {
+                axes[slot >>> 6] |= 1L << slot;
+                axisChanged = true;
+            }
+            active |= Math.abs(value) > ACTIVE_AXIS_THRESHOLD;
+        }
+
+        for (int slot = 0; slot < hatCount; slot++) {
+            HatState hat = now.getHatState(slot);
+            if (hat != then.getHatState(slot)) {
+                hats[slot >>> 6] |= 1L << slot;
+                buttonOrHatChanged = true;
+            }
+            active |= hat != HatState.CENTERED;
+        }
+
+        this.anyChanged = axisChanged || buttonOrHatChanged;
+        this.anyAxisChanged = axisChanged;
+        this.anyButtonOrHatChanged = buttonOrHatChanged;
+        this.anyActive = active;
+    }
+
+    void clear() {
+        Arrays.fill(buttons, 0L);
+        Arrays.fill(axes, 0L);
+        Arrays.fill(hats, 0L);
+        this.anyChanged = false;
+        this.anyAxisChanged = false;
+        this.anyButtonOrHatChanged = false;
+        this.anyActive = false;
+    }
+
+    /**
+     * @param slot the slot of the button in {@link InputRegistry#BUTTONS}
+     */
+    public boolean isButtonChanged(int slot) {
+        return getBit(buttons, slot);
+    }
+
+    /**
+     * @param slot the slot of the axis in {@link InputRegistry#AXES}
+     */
+    public boolean isAxisChanged(int slot) {
+        return getBit(axes, slot);
+    }
+
+    /**
+     * @param slot the slot of the hat in {@link InputRegistry#HATS}
+     */
+    public boolean isHatChanged(int slot) {
+        return getBit(hats, slot);
+    }
+
+    /**
+     * @return if any button, axis or hat changed from the previous state
+     */
+    public boolean anyChanged() {
+        return anyChanged;
+    }
+
+    /**
+     * @return if any axis changed from the previous state
+     */
+    public boolean anyAxisChanged() {
+        return anyAxisChanged;
+    }
+
+    /**
+     * @return if any button or hat changed from the previous state
+     */
+    public boolean anyButtonOrHatChanged() {
+        return anyButtonOrHatChanged;
+    }
+
+    /**
+     * @return if any button is down, any axis is outside of {@link #ACTIVE_AXIS_THRESHOLD}
+     *         or any hat is not centered in the current state
+     */
+    public boolean anyActive() {
+        return anyActive;
+    }
+
+    private static long[] cleared(long[] bits, int size) {
+        int words = Math.max((size + 63) >>> 6, 1);
+        if (bits.length < words)
+            return new long[words];
+
+        Arrays.fill(bits, 0L);
+        return bits;
+    }
+
+    private static boolean getBit(long[] bits, int slot) {
+        if (slot < 0) return false;
+
+        int word = slot >>> 6;
+        return word < bits.length && (bits[word] & (1L << slot)) != 0;
+    }
+}
@@ -0,0 +1,159 @@
+package dev.isxander.controlify.controller.input.mapping;
+
+import dev.isxander.controlify.controller.input.ControllerState;
+import dev.isxander.controlify.controller.input.HatState;
+import dev.isxander.controlify.controller.input.InputRegistry;
+import dev.isxander.controlify.controller.input.ModifiableControllerState;
+import net.minecraft.util.Mth;
+
+import java.util.List;
+
+/**
+ * A {@link ControllerMapping} flattened into parallel arrays of opcodes and
+ * pre-resolved input slots, so mapping a state is a single loop with no
+ * virtual dispatch or identifier lookups.
+ */
+public final class CompiledMapping implements StateMapper {
+    private static final int
+            BUTTON_TO_BUTTON = 0,
+            BUTTON_TO_BUTTON_INVERTED = 1,
+            BUTTON_TO_AXIS = 2,
+            BUTTON_TO_HAT = 3,
+            AXIS_TO_BUTTON = 4,
+            AXIS_TO_AXIS = 5,
+            AXIS_TO_HAT = 6,
+            HAT_TO_BUTTON = 7,
+            HAT_TO_AXIS = 8,
+            HAT_TO_HAT = 9,
+            NOTHING_TO_BUTTON = 10,
+            NOTHING_TO_AXIS = 11,
+            NOTHING_TO_HAT = 12;
+
+    private static final int FLOAT_STRIDE = 4;
+    private static final int HAT_STRIDE = 2;
+
+    private final int[] ops;
+    private final int[] from;
+    private final int[] to;
+    private final float[] floats;
+    private final HatState[] hats;
+
+    private CompiledMapping(int size) {
+        this.ops = new int[size];
+        this.from = new int[size];
+        this.to = new int[size];
+        this.floats = new float[size * FLOAT_STRIDE];
+        this.hats = new HatState[size * HAT_STRIDE];
+    }
+
+    public static CompiledMapping compile(List<MappingEntry> mappings) {
+        CompiledMapping compiled = new CompiledMapping(mappings.size());
+
+        for (int i = 0; i < mappings.size(); i++) {
+            compiled.compileEntry(i, mappings.get(i));
+        }
+
+        return compiled;
+    }
+
+    private void compileEntry(int i, MappingEntry entry) {
+        int f = i * FLOAT_STRIDE;
+        int h = i * HAT_STRIDE;
+
+        if (entry instanceof MappingEntry.FromButton.ToButton e) {
+            ops[i] = e.invert() ? BUTTON_TO_BUTTON_INVERTED : BUTTON_TO_BUTTON;
+            from[i] = InputRegistry.BUTTONS.intern(e.from());
+            to[i] = InputRegistry.BUTTONS.intern(e.to());
+        } else if (entry instanceof MappingEntry.FromButton.ToAxis e) {
+            ops[i] = BUTTON_TO_AXIS;
+            from[i] = InputRegistry.BUTTONS.intern(e.from());
+            to[i] = InputRegistry.AXES.intern(e.to());
+            floats[f] = e.offState();
+            floats[f + 1] = e.onState();
+        } else if (entry instanceof MappingEntry.FromButton.ToHat e) {
+            ops[i] = BUTTON_TO_HAT;
+            from[i] = InputRegistry.BUTTONS.intern(e.from());
+            to[i] = InputRegistry.HATS.intern(e.to());
+            hats[h] = e.offState();
+            hats[h + 1] = e.onState();
+        } else if (entry instanceof MappingEntry.FromAxis.ToButton e) {
+            ops[i] = AXIS_TO_BUTTON;
+            from[i] = InputRegistry.AXES.intern(e.from());
+            to[i] = InputRegistry.BUTTONS.intern(e.to());
+            floats[f] = e.threshold();
+        } else if (entry instanceof MappingEntry.FromAxis.ToAxis e) {
+            ops[i] = AXIS_TO_AXIS;
+            from[i] = InputRegistry.AXES.intern(e.from());
+            to[i] = InputRegistry.AXES.intern(e.to());
+            floats[f] = e.minIn();
+            floats[f + 1] = e.maxIn();
+            floats[f + 2] = e.minOut();
+            floats[f + 3] = e.maxOut();
+        } else if (entry instanceof MappingEntry.FromAxis.ToHat e) {
+            ops[i] = AXIS_TO_HAT;
+            from[i] = InputRegistry.AXES.intern(e.from());
+            to[i] = InputRegistry.HATS.intern(e.to());
+            floats[f] = e.threshold();
+            hats[h] = e.targetState();
+        } else if (entry instanceof MappingEntry.FromHat.ToButton e) {
+            ops[i] = HAT_TO_BUTTON;
+            from[i] = InputRegistry.HATS.intern(e.from());
+            to[i] = InputRegistry.BUTTONS.intern(e.to());
+            hats[h] = e.targetState();
+        } else if (entry instanceof MappingEntry.FromHat.ToAxis e) {
+            ops[i] = HAT_TO_AXIS;
+            from[i] = InputRegistry.HATS.intern(e.from());
+            to[i] = InputRegistry.AXES.intern(e.to());
+            hats[h] = e.targetState();
+            floats[f] = e.onState();
+            floats[f + 1] = e.offState();
+        } else if (entry instanceof MappingEntry.FromHat.ToHat e) {
+            ops[i] = HAT_TO_HAT;
+            from[i] = InputRegistry.HATS.intern(e.from());
+            to[i] = InputRegistry.HATS.intern(e.to());
+        } else if (entry instanceof MappingEntry.FromNothing.ToButton e) {
+            ops[i] = NOTHING_TO_BUTTON;
+            to[i] = InputRegistry.BUTTONS.intern(e.to());
+            floats[f] = e.state() ? 1 : 0;
+        } else if (entry instanceof MappingEntry.FromNothing.ToAxis e) {
+            ops[i] = NOTHING_TO_AXIS;
+            to[i] = InputRegistry.AXES.intern(e.to());
+            floats[f] = e.state();
+        } else if (entry instanceof MappingEntry.FromNothing.ToHat e) {
+            ops[i] = NOTHING_TO_HAT;
+            to[i] = InputRegistry.HATS.intern(e.to());
+        } else {
+            throw new IllegalArgumentException("Unknown mapping entry: " + entry);
+        }
+    }
+
+    @Override
+    public void mapState(ControllerState state, ModifiableControllerState output) {
+        output.clearState();
+
+        for (int i = 0; i < ops.length; i++) {
+            int f = i * FLOAT_STRIDE;
+            int h = i * HAT_STRIDE;
+
+            switch (ops[i]) {
+                case BUTTON_TO_BUTTON -> output.setButton(to[i], state.isButtonDown(from[i]));
+                case BUTTON_TO_BUTTON_INVERTED -> output.setButton(to[i], !state.isButtonDown(from[i]));
+                case BUTTON_TO_AXIS -> output.setAxis(to[i], state.isButtonDown(from[i]) ? floats[f + 1] : floats[f]);
+                case BUTTON_TO_HAT -> output.setHat(to[i], state.isButtonDown(from[i]) ? hats[h + 1] : hats[h]);
+                case AXIS_TO_BUTTON -> output.setButton(to[i], state.getAxisState(from[i]) >= floats[f]);
+                case AXIS_TO_AXIS -> output.setAxis(to[i], Mth.lerp(
+                        Mth.inverseLerp(state.getAxisState(from[i]), floats[f], floats[f + 1]),
+                        floats[f + 2], floats[f + 3]
+                ));
+                case AXIS_TO_HAT -> output.setHat(to[i], state.getAxisState(from[i]) >= floats[f] ? hats[h] : HatState.CENTERED);
+                case HAT_TO_BUTTON -> output.setButton(to[i], state.getHatState(from[i]) == hats[h]);
+                case HAT_TO_AXIS -> output.setAxis(to[i], state.getHatState(from[i]) == hats[h] ? floats[f] : floats[f + 1]);
+                case HAT_TO_HAT -> output.setHat(to[i], state.getHatState(from[i]));
+                case NOTHING_TO_BUTTON -> output.setButton(to[i], floats[f] != 0);
+                case NOTHING_TO_AXIS -> output.setAxis(to[i], floats[f]);
+                case NOTHING_TO_HAT -> output.setHat(to[i], HatState.CENTERED);
+                default -> throw new IllegalStateException("Unknown mapping op: " + ops[i]);
+            }
+        }
+    }
+}
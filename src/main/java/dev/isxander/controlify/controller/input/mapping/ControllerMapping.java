@@ -3,7 +3,6 @@ package dev.isxander.controlify.controller.input.mapping;
 import dev.isxander.controlify.controller.input.ControllerState;
 import dev.isxander.controlify.controller.input.DeadzoneGroup;
 import dev.isxander.controlify.controller.input.ModifiableControllerState;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
 import net.minecraft.resources.ResourceLocation;
 
 import java.util.*;
@@ -12,19 +11,20 @@ public record ControllerMapping(
         List<MappingEntry> mappings,
         LinkedHashMap<ResourceLocation, DeadzoneGroup> deadzones
 ) implements StateMapper {
+    /**
+     * Interprets every entry in turn. Hot paths should use {@link #compile()} instead.
+     */
     @Override
-    public ControllerState mapState(ControllerState state) {
-        if (mappings.isEmpty()) {
-            return state;
-        }
-
-        ModifiableControllerState newState = new ControllerStateImpl();
+    public void mapState(ControllerState state, ModifiableControllerState output) {
+        output.clearState();
 
         for (MappingEntry mapping : mappings) {
-            mapping.apply(state, newState);
+            mapping.apply(state, output);
         }
+    }
 
-        return newState;
+    public CompiledMapping compile() {
+        return CompiledMapping.compile(mappings);
     }
 
     public static final ControllerMapping NO_MAPPING = new Builder().build();
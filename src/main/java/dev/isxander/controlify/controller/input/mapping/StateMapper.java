@@ -1,7 +1,11 @@
 package dev.isxander.controlify.controller.input.mapping;
 
 import dev.isxander.controlify.controller.input.ControllerState;
+import dev.isxander.controlify.controller.input.ModifiableControllerState;
 
 public interface StateMapper {
-   ControllerState mapState(ControllerState state);
+   /**
+    * Maps the state into the provided output state, which is cleared first.
+    */
+   void mapState(ControllerState state, ModifiableControllerState output);
 }
@@ -1,6 +1,7 @@
 package dev.isxander.controlify.controller.misc;
 
 import dev.isxander.controlify.Controlify;
+import dev.isxander.controlify.controller.ComponentType;
 import dev.isxander.controlify.controller.ConfigClass;
 import dev.isxander.controlify.controller.ConfigHolder;
 import dev.isxander.controlify.controller.ECSComponent;
@@ -10,6 +11,7 @@ import net.minecraft.resources.ResourceLocation;
 
 public class BluetoothDeviceComponent implements ECSComponent, ConfigHolder<BluetoothDeviceComponent.Config> {
     public static final ResourceLocation ID = Controlify.id("bluetooth");
+    public static final ComponentType<BluetoothDeviceComponent> TYPE = ComponentType.of(ID);
 
     private final IConfig<Config> config = new ConfigImpl<>(Config::new, Config.class);
 
@@ -1,6 +1,7 @@
 package dev.isxander.controlify.controller.rumble;
 
 import dev.isxander.controlify.Controlify;
+import dev.isxander.controlify.controller.ComponentType;
 import dev.isxander.controlify.controller.ConfigClass;
 import dev.isxander.controlify.controller.ConfigHolder;
 import dev.isxander.controlify.controller.ECSComponent;
@@ -16,6 +17,7 @@ import java.util.Optional;
 
 public class RumbleComponent implements ECSComponent, ConfigHolder<RumbleComponent.Config> {
     public static final ResourceLocation ID = Controlify.id("rumble");
+    public static final ComponentType<RumbleComponent> TYPE = ComponentType.of(ID);
 
     private RumbleState state = null;
     private final IConfig<Config> config;
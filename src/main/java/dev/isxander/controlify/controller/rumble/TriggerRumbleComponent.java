@@ -1,6 +1,7 @@
 package dev.isxander.controlify.controller.rumble;
 
 import dev.isxander.controlify.Controlify;
+import dev.isxander.controlify.controller.ComponentType;
 import dev.isxander.controlify.controller.ECSComponent;
 import dev.isxander.controlify.rumble.TriggerRumbleState;
 import net.minecraft.resources.ResourceLocation;
@@ -10,6 +11,7 @@ import java.util.Optional;
 
 public class TriggerRumbleComponent implements ECSComponent {
     public static final ResourceLocation ID = Controlify.id("trigger_rumble");
+    public static final ComponentType<TriggerRumbleComponent> TYPE = ComponentType.of(ID);
 
     private TriggerRumbleState state = null;
 
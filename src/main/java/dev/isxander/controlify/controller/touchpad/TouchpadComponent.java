@@ -1,37 +1,59 @@
 package dev.isxander.controlify.controller.touchpad;
 
 import dev.isxander.controlify.Controlify;
+import dev.isxander.controlify.controller.ComponentType;
 import dev.isxander.controlify.controller.ECSComponent;
 import net.minecraft.resources.ResourceLocation;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 public class TouchpadComponent implements ECSComponent {
     public static final ResourceLocation ID = Controlify.id("touchpad");
+    public static final ComponentType<TouchpadComponent> TYPE = ComponentType.of(ID);
 
-    private List<TouchpadState.Finger> fingers;
-    private List<TouchpadState.Finger> prevFingers;
+    // the two buffers swap on every push, so pushing never allocates
+    private List<TouchpadState.Finger> fingers, prevFingers;
+    private List<TouchpadState.Finger> fingersView, prevFingersView;
     private final int maxFingers;
 
     public TouchpadComponent(int maxFingers) {
-        this.fingers = new ArrayList<>();
-        this.prevFingers = new ArrayList<>();
+        this.fingers = new ArrayList<>(maxFingers);
+        this.prevFingers = new ArrayList<>(maxFingers);
+        this.fingersView = Collections.unmodifiableList(this.fingers);
+        this.prevFingersView = Collections.unmodifiableList(this.prevFingers);
         this.maxFingers = maxFingers;
     }
 
+    /**
+     * @return the fingers currently on the touchpad, only valid until the next push
+     */
     public List<TouchpadState.Finger> fingersNow() {
-        return this.fingers;
+        return this.fingersView;
     }
 
+    /**
+     * @return the fingers on the touchpad before the last push, only valid until the next push
+     */
     public List<TouchpadState.Finger> fingersThen() {
-        return this.prevFingers;
+        return this.prevFingersView;
     }
 
     public void pushFingers(Collection<TouchpadState.Finger> fingers) {
+        List<TouchpadState.Finger> prev = this.prevFingers;
+        List<TouchpadState.Finger> prevView = this.prevFingersView;
         this.prevFingers = this.fingers;
-        this.fingers = fingers.stream().toList();
+        this.prevFingersView = this.fingersView;
+        this.fingers = prev;
+        this.fingersView = prevView;
+
+        // not addAll, which copies through a temporary array
+        prev.clear();
+        for (TouchpadState.Finger finger : fingers) {
+            prev.add(finger);
+        }
     }
 
     public int getMaxFingers() {
@@ -3,8 +3,16 @@ package dev.isxander.controlify.controllermanager;
 import com.google.common.collect.ImmutableList;
 import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.api.event.ControlifyEvents;
+import dev.isxander.controlify.config.GlobalSettings;
 import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.debug.jfr.ControllerConnectEvent;
+import dev.isxander.controlify.debug.jfr.ControllerDisconnectEvent;
+import dev.isxander.controlify.debug.jfr.DriverUpdateEvent;
+import dev.isxander.controlify.debug.timings.TickStage;
+import dev.isxander.controlify.debug.timings.TickTimings;
 import dev.isxander.controlify.driver.Driver;
+import dev.isxander.controlify.driver.PollingScheduler;
 import dev.isxander.controlify.hid.ControllerHIDService;
 import dev.isxander.controlify.hid.HIDDevice;
 import dev.isxander.controlify.hid.HIDIdentifier;
@@ -21,11 +29,23 @@ import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.server.packs.resources.ResourceProvider;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class AbstractControllerManager implements ControllerManager {
+    // caps the update pool on machines with many cores, DriverUpdateBenchmark measures the tick either side of it
+    private static final int MAX_UPDATE_THREADS = 8;
+    // angular speed in radians per second, above the noise of a controller at rest
+    private static final float GYRO_ACTIVITY_THRESHOLD = 0.05f;
+
     protected final Controlify controlify;
     protected final Minecraft minecraft;
 
@@ -34,6 +54,13 @@ public abstract class AbstractControllerManager implements ControllerManager {
     protected final Map<String, ControllerHIDService.ControllerHIDInfo> hidInfoByUid = new Object2ObjectOpenHashMap<>();
 
     protected final Map<String, Driver> driversByUid = new Object2ObjectOpenHashMap<>();
+    private final Map<String, DriverState> stateByUid = new Object2ObjectOpenHashMap<>();
+    private final List<DriverState> dueDrivers = new ArrayList<>();
+    private int ticks;
+    private boolean tickOutOfFocus;
+
+    @Nullable
+    private ExecutorService updateExecutor;
 
     public AbstractControllerManager() {
         this.controlify = Controlify.instance();
@@ -42,70 +69,202 @@ public abstract class AbstractControllerManager implements ControllerManager {
         this.loadGamepadMappings(minecraft.getResourceManager());
     }
 
-    public Optional<ControllerEntity> tryCreate(UniqueControllerID ucid, ControllerHIDService.ControllerHIDInfo hidInfo) {
-        try {
-            if (controllersByJid.containsKey(ucid)) {
-                CUtil.LOGGER.warn("Tried to create controller that already is initialised: {}", ucid);
-                return Optional.empty();
+    protected ReportedException createControllerCrash(Throwable e, UniqueControllerID ucid, ControllerHIDService.ControllerHIDInfo hidInfo) {
+        CrashReport crashReport = CrashReport.forThrowable(e, "Creating controller #" + ucid);
+        CrashReportCategory category = crashReport.addCategory("Controller Info");
+        category.setDetail("Unique controller ID", ucid);
+        category.setDetail("Controller identification", hidInfo.type());
+        category.setDetail("HID path", hidInfo.hidDevice().map(HIDDevice::path).orElse("N/A"));
+        category.setDetail("HID service status", Controlify.instance().controllerHIDService().isDisabled() ? "Disabled" : "Enabled");
+        category.setDetail("System name", Optional.ofNullable(getControllerSystemName(ucid)).orElse("N/A"));
+        return new ReportedException(crashReport);
+    }
+
+    @Override
+    public void tick(boolean outOfFocus) {
+        GlobalSettings settings = controlify.config().globalSettings();
+        // idle controllers are only updated every `idlePeriod` ticks
+        int idlePeriod = settings.idlePollingRate > 0
+                ? Math.max(1, PollingScheduler.UPDATES_PER_SECOND / settings.idlePollingRate)
+                : 0;
+        int idleTimeoutTicks = settings.idleTimeout * PollingScheduler.UPDATES_PER_SECOND;
+        ticks++;
+        tickOutOfFocus = outOfFocus;
+
+        dueDrivers.clear();
+        for (Map.Entry<String, Driver> entry : driversByUid.entrySet()) {
+            Driver driver = entry.getValue();
+            ControllerEntity controller = driver.getController();
+            DriverState state = stateByUid.computeIfAbsent(entry.getKey(), uid -> new DriverState(driver));
+
+            boolean idle = idlePeriod > 0
+                    && (outOfFocus || (idleTimeoutTicks > 0 && state.inactiveTicks >= idleTimeoutTicks));
+            if (idle != state.idle) {
+                state.idle = idle;
+                driver.setIdle(idle);
+                DebugLog.log("Controller {} is {}", controller.info().uid(), idle ? "now idle" : "no longer idle");
+            }
+
+            if (idle && ticks % idlePeriod != 0) {
+                controller.input().ifPresent(InputComponent::settleState);
+                continue;
             }
 
-            if (hidInfo.type().dontLoad()) {
-                DebugLog.log("Preventing load of controller #" + ucid + " because its type prevents loading.");
-                return Optional.empty();
+            dueDrivers.add(state);
+        }
+
+        long driversStart = TickTimings.start();
+        if (settings.parallelDriverUpdates && dueDrivers.size() > 1 && supportsParallelUpdates()) {
+            updateInParallel(dueDrivers);
+        } else {
+            for (DriverState state : dueDrivers) {
+                state.call();
             }
+        }
+        TickTimings.end(TickStage.DRIVERS, driversStart);
+
+        // events are always dispatched on this thread, in the same order drivers were updated
+        for (DriverState state : dueDrivers) {
+            ControllerEntity controller = state.driver.getController();
 
-            return createController(ucid, hidInfo);
-        } catch (Throwable e) {
-            CUtil.LOGGER.error("Failed to create controller #" + ucid + "!", e);
-            CrashReport crashReport = CrashReport.forThrowable(e, "Creating controller #" + ucid);
-            CrashReportCategory category = crashReport.addCategory("Controller Info");
-            category.setDetail("Unique controller ID", ucid);
-            category.setDetail("Controller identification", hidInfo.type());
-            category.setDetail("HID path", hidInfo.hidDevice().map(HIDDevice::path).orElse("N/A"));
-            category.setDetail("HID service status", Controlify.instance().controllerHIDService().isDisabled() ? "Disabled" : "Enabled");
-            category.setDetail("System name", Optional.ofNullable(getControllerSystemName(ucid)).orElse("N/A"));
-            throw new ReportedException(crashReport);
+            state.inactiveTicks = isActive(controller) ? 0 : state.inactiveTicks + (state.idle ? idlePeriod : 1);
+
+            long eventStart = TickTimings.start();
+            ControlifyEvents.CONTROLLER_STATE_UPDATE.invoker().onControllerStateUpdate(controller);
+            TickTimings.end(TickStage.EVENTS, eventStart);
         }
     }
 
-    protected abstract Optional<ControllerEntity> createController(UniqueControllerID ucid, ControllerHIDService.ControllerHIDInfo hidInfo);
+    /**
+     * Whether the controller was used since its last update, which keeps it from going idle.
+     * Gyro and touchpad count too, as either can be used on its own to look around or move the cursor.
+     */
+    private static boolean isActive(ControllerEntity controller) {
+        boolean inputActive = controller.input()
+                .map(input -> input.stateNow().changes().anyChanged() || input.stateNow().changes().anyActive())
+                .orElse(false);
+        if (inputActive) return true;
 
-    @Override
-    public void tick(boolean outOfFocus) {
-        for (Driver driver : driversByUid.values()) {
-            driver.update(outOfFocus);
-            ControlifyEvents.CONTROLLER_STATE_UPDATE.invoker().onControllerStateUpdate(driver.getController());
+        boolean gyroActive = controller.gyro()
+                .map(gyro -> gyro.getState().distanceSquared(gyro.confObj().calibration) > GYRO_ACTIVITY_THRESHOLD * GYRO_ACTIVITY_THRESHOLD)
+                .orElse(false);
+        if (gyroActive) return true;
+
+        return controller.touchpad()
+                .map(touchpad -> !touchpad.fingersNow().isEmpty())
+                .orElse(false);
+    }
+
+    /**
+     * Whether this manager's drivers can be updated concurrently with each other.
+     * Each driver must only touch its own device and components during {@link Driver#update}.
+     */
+    protected boolean supportsParallelUpdates() {
+        return false;
+    }
+
+    private void updateInParallel(List<DriverState> drivers) {
+        if (updateExecutor == null) {
+            int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() - 1, MAX_UPDATE_THREADS));
+            AtomicInteger threadIndex = new AtomicInteger();
+            updateExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "Controlify Driver Update #" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            CUtil.LOGGER.info("Updating controllers in parallel on {} threads.", threads);
+        }
+
+        try {
+            // blocks until every driver has updated, so nothing else can observe a half-updated set of controllers
+            for (Future<Void> future : updateExecutor.invokeAll(drivers)) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new RuntimeException("Failed to update controller", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return true if every connected controller is idle
+     */
+    protected boolean allControllersIdle() {
+        for (String uid : driversByUid.keySet()) {
+            DriverState state = stateByUid.get(uid);
+            if (state == null || !state.idle)
+                return false;
         }
+        return true;
     }
 
     protected void onControllerConnected(ControllerEntity controller, boolean hotplug) {
         CUtil.LOGGER.info("Controller connected: {}", ControllerUtils.createControllerString(controller));
 
+        ControllerConnectEvent event = new ControllerConnectEvent();
+        event.begin();
+
+        long configLoadStart = System.nanoTime();
         boolean newController = controlify.config().loadOrCreateControllerData(controller);
+        long configLoadTime = System.nanoTime() - configLoadStart;
 
         ControlifyEvents.CONTROLLER_CONNECTED.invoker().onControllerConnected(controller, hotplug, newController);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.uid = controller.info().uid();
+            event.name = controller.name();
+            event.hotplug = hotplug;
+            event.newController = newController;
+            event.configLoadTime = configLoadTime;
+            event.commit();
+        }
     }
 
     protected void onControllerRemoved(ControllerEntity controller) {
         CUtil.LOGGER.info("Controller disconnected: {}", ControllerUtils.createControllerString(controller));
 
+        ControllerDisconnectEvent event = new ControllerDisconnectEvent();
+        event.begin();
+
         removeController(controller.info().uid());
 
         ControlifyEvents.CONTROLLER_DISCONNECTED.invoker().onControllerDisconnected(controller);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.uid = controller.info().uid();
+            event.name = controller.name();
+            event.commit();
+        }
     }
 
     protected void addController(UniqueControllerID ucid, ControllerEntity controller, Driver driver) {
+        this.createBindings(controller);
+
         controllersByUid.put(controller.info().uid(), controller);
         controllersByJid.put(ucid, controller);
         driversByUid.put(controller.info().uid(), driver);
     }
 
+    /**
+     * Creates the bindings of a controller about to be added.
+     * Always called on the client thread, as bindings read and register client state.
+     */
+    protected void createBindings(ControllerEntity controller) {
+        controller.finalise();
+    }
+
     protected void removeController(String uid) {
         controllersByUid.remove(uid);
         Optional.ofNullable(hidInfoByUid.remove(uid))
                 .ifPresent(controlify.controllerHIDService()::unconsumeController);
         closeController(uid);
         driversByUid.remove(uid);
+        stateByUid.remove(uid);
     }
 
     @Override
@@ -123,6 +282,11 @@ public abstract class AbstractControllerManager implements ControllerManager {
         return controllersByUid.containsKey(uid);
     }
 
+    @Override
+    public Optional<Driver> getDriver(String uid) {
+        return Optional.ofNullable(driversByUid.get(uid));
+    }
+
     protected int getControllerCountWithMatchingHID(HIDIdentifier hid) {
         return (int) controllersByJid.values().stream()
                 .filter(c -> c.info().hid().equals(Optional.ofNullable(hid)))
@@ -132,9 +296,41 @@ public abstract class AbstractControllerManager implements ControllerManager {
     @Override
     public void close() {
         driversByUid.values().forEach(Driver::close);
+        shutdownUpdateExecutor();
+    }
+
+    protected void shutdownUpdateExecutor() {
+        if (updateExecutor != null) {
+            updateExecutor.shutdownNow();
+            updateExecutor = null;
+        }
     }
 
     protected abstract void loadGamepadMappings(ResourceProvider resourceProvider);
 
     protected abstract String getControllerSystemName(UniqueControllerID ucid);
+
+    private class DriverState implements Callable<Void> {
+        private final Driver driver;
+        private int inactiveTicks;
+        private boolean idle;
+
+        private DriverState(Driver driver) {
+            this.driver = driver;
+        }
+
+        @Override
+        public Void call() {
+            DriverUpdateEvent event = new DriverUpdateEvent();
+            event.begin();
+            driver.update(tickOutOfFocus);
+            event.end();
+            if (event.shouldCommit()) {
+                event.uid = driver.getController().info().uid();
+                event.idle = idle;
+                event.commit();
+            }
+            return null;
+        }
+    }
 }
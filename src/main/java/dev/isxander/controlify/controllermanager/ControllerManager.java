@@ -1,8 +1,10 @@
 package dev.isxander.controlify.controllermanager;
 
 import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.driver.Driver;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ControllerManager {
     void discoverControllers();
@@ -15,6 +17,8 @@ public interface ControllerManager {
 
     boolean isControllerConnected(String uid);
 
+    Optional<Driver> getDriver(String uid);
+
     boolean isControllerGamepad(UniqueControllerID ucid);
 
     void closeController(String uid);
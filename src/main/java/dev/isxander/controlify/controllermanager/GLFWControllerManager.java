@@ -10,6 +10,7 @@ import dev.isxander.controlify.hid.ControllerHIDService;
 import dev.isxander.controlify.hid.HIDDevice;
 import dev.isxander.controlify.hid.HIDIdentifier;
 import dev.isxander.controlify.utils.CUtil;
+import dev.isxander.controlify.utils.DebugLog;
 import net.minecraft.client.Minecraft;
 import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceProvider;
@@ -56,8 +57,26 @@ public class GLFWControllerManager extends AbstractControllerManager {
         }
     }
 
-    @Override
-    protected Optional<ControllerEntity> createController(UniqueControllerID ucid, ControllerHIDService.ControllerHIDInfo hidInfo) {
+    private Optional<ControllerEntity> tryCreate(UniqueControllerID ucid, ControllerHIDService.ControllerHIDInfo hidInfo) {
+        try {
+            if (controllersByJid.containsKey(ucid)) {
+                CUtil.LOGGER.warn("Tried to create controller that already is initialised: {}", ucid);
+                return Optional.empty();
+            }
+
+            if (hidInfo.type().dontLoad()) {
+                DebugLog.log("Preventing load of controller #" + ucid + " because its type prevents loading.");
+                return Optional.empty();
+            }
+
+            return createController(ucid, hidInfo);
+        } catch (Throwable e) {
+            CUtil.LOGGER.error("Failed to create controller #" + ucid + "!", e);
+            throw createControllerCrash(e, ucid, hidInfo);
+        }
+    }
+
+    private Optional<ControllerEntity> createController(UniqueControllerID ucid, ControllerHIDService.ControllerHIDInfo hidInfo) {
         int jid = ((GLFWUniqueControllerID) ucid).jid;
 
         Optional<HIDIdentifier> hid = hidInfo.hidDevice().map(HIDDevice::asIdentifier);
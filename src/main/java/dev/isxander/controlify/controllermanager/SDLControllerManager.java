@@ -7,9 +7,12 @@ import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.controller.ControllerType;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.debug.DebugProperties;
+import dev.isxander.controlify.debug.jfr.ControllerOpenEvent;
 import dev.isxander.controlify.driver.SDL3NativesManager;
+import dev.isxander.controlify.driver.sdl.SDL3Driver;
 import dev.isxander.controlify.driver.sdl.SDL3GamepadDriver;
 import dev.isxander.controlify.driver.sdl.SDL3JoystickDriver;
+import dev.isxander.controlify.driver.sdl.SDL3Natives;
 import dev.isxander.controlify.hid.ControllerHIDService;
 import dev.isxander.controlify.hid.HIDDevice;
 import dev.isxander.controlify.hid.HIDIdentifier;
@@ -24,6 +27,7 @@ import dev.isxander.sdl3java.jna.size_t;
 import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceProvider;
 import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.InputStream;
 import java.util.Objects;
@@ -38,91 +42,131 @@ import static dev.isxander.sdl3java.api.joystick.SdlJoystick.*;
 
 public class SDLControllerManager extends AbstractControllerManager {
 
-    private final SDL_Event event = new SDL_Event();
+    private final SDL3Natives natives;
 
     // must keep a reference to prevent GC from collecting it and the callback failing
-    @SuppressWarnings({"FieldCanBeLocal", "unused"})
     private final EventFilter eventFilter;
+    // read on the client thread, added once the input thread has initialised SDL
+    @Nullable
+    private final byte[] gamepadMappings;
+
+    private final SDLInputThread inputThread;
 
     public SDLControllerManager() {
         Validate.isTrue(SDL3NativesManager.isLoaded(), "SDL3 natives must be loaded before creating SDLControllerManager");
 
-        SDL_SetEventFilter(eventFilter = new EventFilter(), Pointer.NULL);
+        this.natives = SDL3Natives.create();
+        this.eventFilter = new EventFilter(!DebugProperties.POLL_SDL_GAMEPADS);
+        this.gamepadMappings = readGamepadMappings(minecraft.getResourceManager());
+
+        // SDL is initialised on the input thread, which owns it from then on
+        this.inputThread = new SDLInputThread(this, natives);
+        this.inputThread.start();
+    }
+
+    /**
+     * Initialises SDL, called on the SDL input thread before it touches any device.
+     */
+    void startSDL() {
+        SDL3NativesManager.startSDL3();
+
+        SDL_SetEventFilter(eventFilter, Pointer.NULL);
+        if (gamepadMappings != null) {
+            addGamepadMappings(gamepadMappings);
+        }
     }
 
     @Override
     public void tick(boolean outOfFocus) {
+        inputThread.setHighFrequencyRate(controlify.config().globalSettings().highFrequencyPollingRate);
+        inputThread.setIdle(allControllersIdle());
+
+        this.processMessages();
+
         super.tick(outOfFocus);
+    }
 
-        // SDL identifiers controllers in two different ways:
-        // device index, and device instance ID.
-        while (SDL_PollEvent(event)) {
-            switch (event.type) {
-                // On added, `which` refers to the device index
-                case SDL_EVENT_JOYSTICK_ADDED -> {
-                    SDL_JoystickID jid = event.jdevice.which;
-
-                    UniqueControllerID ucid = new SDLUniqueControllerID(jid);
-
-                    Optional<ControllerEntity> controllerOpt = tryCreate(
-                            ucid,
-                            fetchTypeFromSDL(jid)
-                                    .orElse(new ControllerHIDService.ControllerHIDInfo(ControllerType.UNKNOWN, Optional.empty()))
-                    );
-                    controllerOpt.ifPresent(controller -> {
-                        ControllerUtils.wrapControllerError(() -> onControllerConnected(controller, true), "Connecting controller", controller);
-                    });
+    @Override
+    public void discoverControllers() {
+        inputThread.awaitDiscovery();
+        this.processMessages();
+    }
+
+    private void processMessages() {
+        SDLInputThread.Message message;
+        while ((message = inputThread.poll()) != null) {
+            if (message instanceof SDLInputThread.Message.Connected connected) {
+                SDL3Driver driver = connected.driver();
+                try {
+                    driver.createController();
+                    this.addController(connected.ucid(), driver.getController(), driver);
+                } catch (Throwable e) {
+                    CUtil.LOGGER.error("Failed to create controller #" + connected.ucid() + "!", e);
+                    inputThread.close(connected.ucid(), driver);
+                    throw createControllerCrash(e, connected.ucid(), connected.hidInfo());
                 }
 
-                // On removed, `which` refers to the device instance ID
-                case SDL_EVENT_JOYSTICK_REMOVED -> {
-                    SDL_JoystickID jid = event.jdevice.which;
-                    getController(new SDLUniqueControllerID(jid))
-                            .ifPresentOrElse(
-                                    this::onControllerRemoved,
-                                    () -> CUtil.LOGGER.warn("Controller removed but not found: {}", jid.intValue())
-                            );
+                ControllerEntity controller = driver.getController();
+
+                if (connected.hotplug()) {
+                    ControllerUtils.wrapControllerError(() -> onControllerConnected(controller, true), "Connecting controller", controller);
+                } else {
+                    onControllerConnected(controller, false);
                 }
+            } else if (message instanceof SDLInputThread.Message.Disconnected disconnected) {
+                getController(disconnected.ucid())
+                        .ifPresentOrElse(
+                                this::onControllerRemoved,
+                                () -> CUtil.LOGGER.warn("Controller removed but not found: {}", disconnected.ucid())
+                        );
+            } else if (message instanceof SDLInputThread.Message.Failed failed) {
+                throw failed.exception();
             }
         }
-
-        SDL_UpdateGamepads();
-        SDL_UpdateJoysticks();
     }
 
-    @Override
-    public void discoverControllers() {
-        SDL_JoystickID[] joysticks = SDL_GetJoysticks();
-        for (SDL_JoystickID jid : joysticks) {
-            Optional<ControllerEntity> controllerOpt = tryCreate(
-                    new SDLUniqueControllerID(jid),
-                    fetchTypeFromSDL(jid)
-                            .orElse(new ControllerHIDService.ControllerHIDInfo(ControllerType.UNKNOWN, Optional.empty()))
-            );
-            controllerOpt.ifPresent(controller -> onControllerConnected(controller, false));
+    /**
+     * Opens the device, called on the SDL input thread.
+     * The driver's controller is created once it reaches the client thread.
+     */
+    SDL3Driver createDriver(SDL_JoystickID jid, UniqueControllerID ucid, ControllerHIDService.ControllerHIDInfo hidInfo, String uid, Optional<HIDIdentifier> hid) {
+        boolean isGamepad = isControllerGamepad(ucid) && !DebugProperties.FORCE_JOYSTICK;
+
+        ControllerOpenEvent event = new ControllerOpenEvent();
+        event.begin();
+        try {
+            if (isGamepad) {
+                return new SDL3GamepadDriver(natives.forDriver(), jid, hidInfo.type(), uid, ucid, hid);
+            } else {
+                return new SDL3JoystickDriver(jid, hidInfo.type(), uid, ucid, hid);
+            }
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.uid = uid;
+                event.gamepad = isGamepad;
+                event.commit();
+            }
         }
     }
 
     @Override
-    protected Optional<ControllerEntity> createController(UniqueControllerID ucid, ControllerHIDService.ControllerHIDInfo hidInfo) {
-        SDL_JoystickID jid = ((SDLUniqueControllerID) ucid).jid;
-
-        Optional<HIDIdentifier> hid = hidInfo.hidDevice().map(HIDDevice::asIdentifier);
-        String uid = hidInfo.createControllerUID(
-                this.getControllerCountWithMatchingHID(hid.orElse(null))
-        ).orElse("unknown-uid-" + ucid);
-        boolean isGamepad = isControllerGamepad(ucid) && !DebugProperties.FORCE_JOYSTICK;
-        if (isGamepad) {
-            SDL3GamepadDriver driver = new SDL3GamepadDriver(jid, hidInfo.type(), uid, ucid, hid);
-            this.addController(ucid, driver.getController(), driver);
+    public void closeController(String uid) {
+        SDL3Driver driver = (SDL3Driver) driversByUid.get(uid);
+        inputThread.close(driver.info().ucid(), driver);
+    }
 
-            return Optional.of(driver.getController());
-        } else {
-            SDL3JoystickDriver driver = new SDL3JoystickDriver(jid, hidInfo.type(), uid, ucid, hid);
-            this.addController(ucid, driver.getController(), driver);
+    @Override
+    public void close() {
+        // the input thread closes every driver it opened, then quits SDL
+        inputThread.stop();
+        shutdownUpdateExecutor();
+    }
 
-            return Optional.of(driver.getController());
-        }
+    @Override
+    protected boolean supportsParallelUpdates() {
+        // each driver only touches its own device, which SDL guards with its joystick lock
+        return true;
     }
 
     @Override
@@ -148,37 +192,46 @@ public class SDLControllerManager extends AbstractControllerManager {
 
     @Override
     protected void loadGamepadMappings(ResourceProvider resourceProvider) {
+        // SDL isn't initialised yet, see readGamepadMappings and startSDL
+    }
+
+    private static @Nullable byte[] readGamepadMappings(ResourceProvider resourceProvider) {
         CUtil.LOGGER.debug("Loading gamepad mappings...");
 
         Optional<Resource> resourceOpt = resourceProvider
                 .getResource(Controlify.id("controllers/gamecontrollerdb-sdl3.txt"));
         if (resourceOpt.isEmpty()) {
             CUtil.LOGGER.error("Failed to find game controller database.");
-            return;
+            return null;
         }
 
         try (InputStream is = resourceOpt.get().open()) {
-            byte[] bytes = ByteStreams.toByteArray(is);
-
-            try (Memory memory = new Memory(bytes.length)) {
-                memory.write(0, bytes, 0, bytes.length);
+            return ByteStreams.toByteArray(is);
+        } catch (Throwable e) {
+            CUtil.LOGGER.error("Failed to load gamepad mappings", e);
+            return null;
+        }
+    }
 
-                SDL_IOStream stream = SDL_IOFromConstMem(memory, new size_t(bytes.length));
-                int count = SDL_AddGamepadMappingsFromIO(stream, true);
-                if (count < 0) {
-                    CUtil.LOGGER.error("Failed to load gamepad mappings: {}", SDL_GetError());
-                } else if (count == 0) {
-                    CUtil.LOGGER.warn("Successfully applied gamepad mappings but none were found for this platform. Unsupported OS?");
-                } else {
-                    CUtil.LOGGER.info("Successfully loaded {} gamepad mapping entries!", count);
-                }
+    private static void addGamepadMappings(byte[] bytes) {
+        try (Memory memory = new Memory(bytes.length)) {
+            memory.write(0, bytes, 0, bytes.length);
+
+            SDL_IOStream stream = SDL_IOFromConstMem(memory, new size_t(bytes.length));
+            int count = SDL_AddGamepadMappingsFromIO(stream, true);
+            if (count < 0) {
+                CUtil.LOGGER.error("Failed to load gamepad mappings: {}", SDL_GetError());
+            } else if (count == 0) {
+                CUtil.LOGGER.warn("Successfully applied gamepad mappings but none were found for this platform. Unsupported OS?");
+            } else {
+                CUtil.LOGGER.info("Successfully loaded {} gamepad mapping entries!", count);
             }
         } catch (Throwable e) {
             CUtil.LOGGER.error("Failed to load gamepad mappings", e);
         }
     }
 
-    private static Optional<ControllerHIDService.ControllerHIDInfo> fetchTypeFromSDL(SDL_JoystickID jid) {
+    static Optional<ControllerHIDService.ControllerHIDInfo> fetchTypeFromSDL(SDL_JoystickID jid) {
         int vid = SDL_GetJoystickInstanceVendor(jid);
         int pid = SDL_GetJoystickInstanceProduct(jid);
         SDL_JoystickGUID guid = SDL_GetJoystickInstanceGUID(jid);
@@ -213,12 +266,23 @@ public class SDLControllerManager extends AbstractControllerManager {
     }
 
     private static class EventFilter implements SDL_EventFilter {
+        private final boolean keepGamepadInput;
+
+        private EventFilter(boolean keepGamepadInput) {
+            this.keepGamepadInput = keepGamepadInput;
+        }
+
         @Override
         public int filterEvent(Pointer userdata, SDL_Event event) {
             switch (event.type) {
                 case SDL_EVENT_JOYSTICK_ADDED:
                 case SDL_EVENT_JOYSTICK_REMOVED:
                     return 1;
+                case SDL_EVENT_GAMEPAD_BUTTON_DOWN:
+                case SDL_EVENT_GAMEPAD_BUTTON_UP:
+                case SDL_EVENT_GAMEPAD_AXIS_MOTION:
+                case SDL_EVENT_GAMEPAD_REMAPPED:
+                    return keepGamepadInput ? 1 : 0;
                 default:
                     return 0;
             }
@@ -0,0 +1,342 @@
+package dev.isxander.controlify.controllermanager;
+
+import dev.isxander.controlify.controller.ControllerType;
+import dev.isxander.controlify.debug.latency.LatencyProbe;
+import dev.isxander.controlify.driver.SDL3NativesManager;
+import dev.isxander.controlify.driver.sdl.SDL3Driver;
+import dev.isxander.controlify.driver.sdl.SDL3GamepadDriver;
+import dev.isxander.controlify.driver.sdl.SDL3Natives;
+import dev.isxander.controlify.hid.ControllerHIDService;
+import dev.isxander.controlify.hid.HIDDevice;
+import dev.isxander.controlify.hid.HIDIdentifier;
+import dev.isxander.controlify.utils.CUtil;
+import dev.isxander.controlify.utils.DebugLog;
+import dev.isxander.sdl3java.api.joystick.SDL_JoystickID;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.ReportedException;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+import static dev.isxander.sdl3java.api.events.SDL_EventType.*;
+import static dev.isxander.sdl3java.api.gamepad.SdlGamepad.*;
+import static dev.isxander.sdl3java.api.joystick.SdlJoystick.*;
+
+/**
+ * Owns SDL: it is initialised, pumped and quit on this thread,
+ * as SDL's joystick hotplug detection only works on the thread that initialised it.
+ * Hotplugging, opening devices and reading gamepad input all happen here, off the client thread,
+ * so a controller connecting can never cause a frame hitch.
+ * <p>
+ * Opened drivers and disconnections are handed to the client thread as {@link Message}s through a lock-free queue,
+ * and gamepad input is published to each driver's sample ring.
+ * A driver's controller is created by the client thread when it receives it, never on this thread.
+ * Drivers are closed on this thread too, once the client thread has let go of them.
+ * <p>
+ * The client thread still makes its own calls on open devices, such as rumble and sensor reads,
+ * which SDL guards with its joystick lock.
+ */
+class SDLInputThread {
+    private static final int DEFAULT_RATE_HZ = 125;
+    private static final int IDLE_RATE_HZ = 20;
+    private static final long DISCOVERY_TIMEOUT_SECONDS = 10;
+
+    private final SDLControllerManager manager;
+    private final SDL3Natives natives;
+    private final Thread thread;
+
+    private final Queue<Message> messages = new ConcurrentLinkedQueue<>();
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final CompletableFuture<Void> started = new CompletableFuture<>();
+    private final CompletableFuture<Void> discovered = new CompletableFuture<>();
+
+    private volatile boolean running = true;
+    private volatile int highFrequencyRate;
+    private volatile boolean idle;
+
+    // owned by the input thread
+    private final Int2ObjectMap<SDL3Driver> drivers = new Int2ObjectOpenHashMap<>();
+    private final Int2ObjectMap<SDL3GamepadDriver> eventDrivenGamepads = new Int2ObjectOpenHashMap<>();
+    private final List<SDL3GamepadDriver> publishingGamepads = new ArrayList<>();
+
+    SDLInputThread(SDLControllerManager manager, SDL3Natives natives) {
+        this.manager = manager;
+        this.natives = natives;
+        this.thread = new Thread(this::run, "Controlify SDL Input");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the thread, blocking until it has initialised SDL.
+     * @throws IllegalStateException if SDL could not be initialised
+     */
+    void start() {
+        thread.start();
+
+        try {
+            started.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted whilst initialising SDL3", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to initialise SDL3", e.getCause());
+        }
+    }
+
+    /**
+     * Blocks until every controller already connected has been opened and its {@link Message.Connected} queued.
+     */
+    void awaitDiscovery() {
+        try {
+            discovered.get(DISCOVERY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            CUtil.LOGGER.warn("Timed out waiting for SDL to open connected controllers, they will connect when ready.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            CUtil.LOGGER.error("Failed to discover SDL controllers", e);
+        }
+    }
+
+    /**
+     * Client thread only.
+     * @return the next message from the input thread, or null if there are none
+     */
+    @Nullable Message poll() {
+        return messages.poll();
+    }
+
+    /**
+     * Closes the driver on the input thread. The client thread must not use it after this.
+     */
+    void close(UniqueControllerID ucid, SDL3Driver driver) {
+        int jid = ((SDLControllerManager.SDLUniqueControllerID) ucid).jid().intValue();
+        tasks.add(() -> {
+            drivers.remove(jid);
+            eventDrivenGamepads.remove(jid);
+            if (driver instanceof SDL3GamepadDriver gamepad) {
+                publishingGamepads.remove(gamepad);
+            }
+            driver.close();
+        });
+    }
+
+    /**
+     * @param rateHz rate to sample gamepads at, or 0 to only publish input when it changes
+     */
+    void setHighFrequencyRate(int rateHz) {
+        if (this.highFrequencyRate != rateHz) {
+            CUtil.LOGGER.info(rateHz > 0 ? "Sampling SDL gamepads at {} Hz." : "Stopped high frequency gamepad sampling.", rateHz);
+            this.highFrequencyRate = rateHz;
+        }
+    }
+
+    /**
+     * When every controller is idle, events are pumped at a trickle and nothing is sampled at high frequency.
+     */
+    void setIdle(boolean idle) {
+        this.idle = idle;
+    }
+
+    /**
+     * Stops the thread, which closes every driver it opened, including any not yet handed to the client thread,
+     * and then quits SDL.
+     */
+    void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (thread.isAlive()) {
+            CUtil.LOGGER.warn("SDL input thread did not stop in time, its controllers may not have been closed.");
+        }
+        messages.clear();
+    }
+
+    private void run() {
+        try {
+            manager.startSDL();
+            started.complete(null);
+        } catch (Throwable e) {
+            started.completeExceptionally(e);
+            discovered.complete(null);
+            return;
+        }
+
+        try {
+            for (SDL_JoystickID jid : SDL_GetJoysticks()) {
+                open(jid, false);
+            }
+        } finally {
+            discovered.complete(null);
+        }
+
+        long next = System.nanoTime();
+        while (running) {
+            boolean idle = this.idle;
+            int highFrequencyRate = this.highFrequencyRate;
+            boolean uniform = highFrequencyRate > 0 && !idle;
+
+            try {
+                runTasks();
+
+                SDL_UpdateGamepads();
+                pollEvents();
+
+                for (int i = 0; i < publishingGamepads.size(); i++) {
+                    publishingGamepads.get(i).publish(uniform);
+                }
+            } catch (Throwable t) {
+                CUtil.LOGGER.error("Error on SDL input thread", t);
+            }
+
+            int rateHz = idle ? IDLE_RATE_HZ : uniform ? highFrequencyRate : DEFAULT_RATE_HZ;
+            next += TimeUnit.SECONDS.toNanos(1) / rateHz;
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(sleep);
+            } else {
+                // fell behind, don't try to catch up
+                next = System.nanoTime();
+            }
+        }
+
+        runTasks();
+        drivers.values().forEach(SDL3Driver::close);
+        drivers.clear();
+        eventDrivenGamepads.clear();
+        publishingGamepads.clear();
+
+        SDL3NativesManager.stopSDL3();
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void pollEvents() {
+        // SDL identifiers controllers in two different ways:
+        // device index, and device instance ID.
+        int type;
+        while ((type = natives.pollEvent()) != 0) {
+            switch (type) {
+                // On added, `which` refers to the device index
+                case SDL_EVENT_JOYSTICK_ADDED -> open(new SDL_JoystickID(natives.eventWhich()), true);
+
+                // On removed, `which` refers to the device instance ID
+                case SDL_EVENT_JOYSTICK_REMOVED -> {
+                    int which = natives.eventWhich();
+                    // stop publishing straight away, it is closed once the client thread has removed it
+                    if (drivers.get(which) instanceof SDL3GamepadDriver gamepad) {
+                        eventDrivenGamepads.remove(which);
+                        publishingGamepads.remove(gamepad);
+                    }
+                    messages.add(new Message.Disconnected(new SDLControllerManager.SDLUniqueControllerID(new SDL_JoystickID(which))));
+                }
+
+                case SDL_EVENT_GAMEPAD_BUTTON_DOWN, SDL_EVENT_GAMEPAD_BUTTON_UP -> {
+                    SDL3GamepadDriver driver = eventDrivenGamepads.get(natives.eventWhich());
+                    if (driver != null) {
+                        driver.onButtonEvent(natives.eventGamepadButton(), type == SDL_EVENT_GAMEPAD_BUTTON_DOWN);
+                        if (LatencyProbe.ENABLED) driver.onEventTime(natives.eventTime());
+                    }
+                }
+
+                case SDL_EVENT_GAMEPAD_AXIS_MOTION -> {
+                    SDL3GamepadDriver driver = eventDrivenGamepads.get(natives.eventWhich());
+                    if (driver != null) {
+                        driver.onAxisEvent(natives.eventGamepadAxis(), natives.eventGamepadAxisValue());
+                        if (LatencyProbe.ENABLED) driver.onEventTime(natives.eventTime());
+                    }
+                }
+
+                case SDL_EVENT_GAMEPAD_REMAPPED -> {
+                    SDL3GamepadDriver driver = eventDrivenGamepads.get(natives.eventWhich());
+                    if (driver != null) {
+                        driver.resync();
+                    }
+                }
+            }
+        }
+    }
+
+    private void open(SDL_JoystickID jid, boolean hotplug) {
+        if (drivers.containsKey(jid.intValue())) {
+            // devices connected at startup are discovered and then also reported as added
+            DebugLog.log("Tried to open controller that is already open: {}", jid.intValue());
+            return;
+        }
+
+        UniqueControllerID ucid = new SDLControllerManager.SDLUniqueControllerID(jid);
+        ControllerHIDService.ControllerHIDInfo hidInfo = SDLControllerManager.fetchTypeFromSDL(jid)
+                .orElse(new ControllerHIDService.ControllerHIDInfo(ControllerType.UNKNOWN, Optional.empty()));
+
+        try {
+            if (hidInfo.type().dontLoad()) {
+                DebugLog.log("Preventing load of controller #" + ucid + " because its type prevents loading.");
+                return;
+            }
+
+            Optional<HIDIdentifier> hid = hidInfo.hidDevice().map(HIDDevice::asIdentifier);
+            String uid = hidInfo.createControllerUID(countMatchingHID(hid)).orElse("unknown-uid-" + ucid);
+
+            SDL3Driver driver = manager.createDriver(jid, ucid, hidInfo, uid, hid);
+            drivers.put(jid.intValue(), driver);
+            if (driver instanceof SDL3GamepadDriver gamepad) {
+                publishingGamepads.add(gamepad);
+                if (gamepad.isEventDriven()) {
+                    eventDrivenGamepads.put(jid.intValue(), gamepad);
+                }
+            }
+
+            messages.add(new Message.Connected(ucid, hidInfo, driver, hotplug));
+        } catch (Throwable e) {
+            CUtil.LOGGER.error("Failed to create controller #" + ucid + "!", e);
+            messages.add(new Message.Failed(manager.createControllerCrash(e, ucid, hidInfo)));
+        }
+    }
+
+    private int countMatchingHID(Optional<HIDIdentifier> hid) {
+        int count = 0;
+        for (SDL3Driver driver : drivers.values()) {
+            if (driver.info().hid().equals(hid)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    sealed interface Message {
+        /**
+         * The device has been opened, the client thread should create its controller.
+         */
+        record Connected(UniqueControllerID ucid, ControllerHIDService.ControllerHIDInfo hidInfo, SDL3Driver driver, boolean hotplug) implements Message {
+        }
+
+        record Disconnected(UniqueControllerID ucid) implements Message {
+        }
+
+        /**
+         * Opening a controller failed, the client thread should crash with this report as it would have done itself.
+         */
+        record Failed(ReportedException exception) implements Message {
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package dev.isxander.controlify.controllermanager;
+
+import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.controller.ControllerType;
+import dev.isxander.controlify.driver.synthetic.SyntheticControllerSpec;
+import dev.isxander.controlify.driver.synthetic.SyntheticDriver;
+import dev.isxander.controlify.hid.ControllerHIDService;
+import dev.isxander.controlify.utils.CUtil;
+import net.minecraft.server.packs.resources.ResourceProvider;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+/**
+ * Manages virtual controllers that have no hardware behind them,
+ * so the controller pipeline can be exercised and load tested on machines without any controllers.
+ * Synthetic controllers are never saved to the config.
+ */
+public class SyntheticControllerManager extends AbstractControllerManager {
+    private final Deque<SyntheticUniqueControllerID> connected = new ArrayDeque<>();
+    private SyntheticControllerSpec spec;
+    private final int initialCount;
+    private int nextIndex;
+
+    public SyntheticControllerManager(SyntheticControllerSpec spec, int initialCount) {
+        this.spec = spec;
+        this.initialCount = initialCount;
+    }
+
+    @Override
+    public void discoverControllers() {
+        connect(initialCount, false);
+    }
+
+    /**
+     * Connects more controllers, as if they were hotplugged.
+     * @param spec what the new controllers are capable of and how they are fed input
+     */
+    public void connect(int count, SyntheticControllerSpec spec) {
+        this.spec = spec;
+        connect(count, true);
+    }
+
+    /**
+     * Disconnects the most recently connected controllers.
+     */
+    public void disconnect(int count) {
+        for (int i = 0; i < count && !connected.isEmpty(); i++) {
+            SyntheticUniqueControllerID ucid = connected.removeLast();
+            Optional.ofNullable(controllersByJid.remove(ucid)).ifPresent(this::onControllerRemoved);
+        }
+    }
+
+    public int connectedCount() {
+        return connected.size();
+    }
+
+    private void connect(int count, boolean hotplug) {
+        for (int i = 0; i < count; i++) {
+            SyntheticUniqueControllerID ucid = new SyntheticUniqueControllerID(nextIndex++);
+            ControllerEntity controller;
+            try {
+                controller = createController(ucid);
+            } catch (Throwable e) {
+                CUtil.LOGGER.error("Failed to create controller #" + ucid + "!", e);
+                throw createControllerCrash(e, ucid, new ControllerHIDService.ControllerHIDInfo(ControllerType.UNKNOWN, Optional.empty()));
+            }
+
+            connected.addLast(ucid);
+            onControllerConnected(controller, hotplug);
+        }
+    }
+
+    private ControllerEntity createController(SyntheticUniqueControllerID ucid) {
+        int index = ucid.index();
+
+        SyntheticDriver driver = new SyntheticDriver(spec, spec.input().apply(index), "synthetic-" + index, ucid);
+        this.addController(ucid, driver.getController(), driver);
+        return driver.getController();
+    }
+
+    @Override
+    protected boolean supportsParallelUpdates() {
+        // synthetic drivers only touch their own components
+        return true;
+    }
+
+    @Override
+    public boolean probeConnectedControllers() {
+        return initialCount > 0 || !connected.isEmpty();
+    }
+
+    @Override
+    public boolean isControllerGamepad(UniqueControllerID ucid) {
+        return true;
+    }
+
+    @Override
+    protected void loadGamepadMappings(ResourceProvider resourceProvider) {
+    }
+
+    @Override
+    protected String getControllerSystemName(UniqueControllerID ucid) {
+        return "Synthetic Controller";
+    }
+
+    public record SyntheticUniqueControllerID(int index) implements UniqueControllerID {
+    }
+}
@@ -2,9 +2,11 @@ package dev.isxander.controlify.debug;
 
 import dev.isxander.controlify.utils.CUtil;
 import net.fabricmc.loader.api.FabricLoader;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public class DebugProperties {
     private static final List<DebugProperty> properties = new ArrayList<>();
@@ -18,11 +20,27 @@ public class DebugProperties {
     public static final boolean FORCE_JOYSTICK = boolProp("controlify.debug.force_joystick", false, false);
     /** Print what drivers are being used */
     public static final boolean PRINT_DRIVER = boolProp("controlify.debug.print_driver", true, true);
+    /** Polls every SDL gamepad input each tick instead of applying input events */
+    public static final boolean POLL_SDL_GAMEPADS = boolProp("controlify.debug.poll_sdl_gamepads", false, false);
+    /** Makes SDL calls through libsdl4j instead of binding to SDL3 directly */
+    public static final boolean USE_LIBSDL4J_BINDINGS = boolProp("controlify.debug.use_libsdl4j_bindings", false, false);
+    /** Replaces real controllers with a virtual one fed random input, for testing without hardware */
+    public static final boolean SYNTHETIC_CONTROLLERS = boolProp("controlify.debug.synthetic_controllers", false, false);
+    /** Ramps up synthetic controllers and logs tick time and allocation at each step. Implies synthetic controllers */
+    public static final boolean STRESS_HARNESS = boolProp("controlify.debug.stress_harness", false, false);
+    /** Records the input of every controller to a file in the game directory, see InputRecorder */
+    public static final boolean RECORD_INPUT = boolProp("controlify.debug.record_input", false, false);
+    /** Path of an input recording to replay through synthetic controllers instead of using real ones */
+    public static final @Nullable String REPLAY_INPUT = stringProp("controlify.debug.replay_input");
+    /** Records Controlify's JFR events to a file in the game directory, see ControlifyFlightRecorder */
+    public static final boolean FLIGHT_RECORDING = boolProp("controlify.debug.flight_recording", false, false);
+    /** Measures the latency from controller input to the game acting on it, see LatencyProbe */
+    public static final boolean LATENCY_PROBE = boolProp("controlify.debug.latency_probe", false, false);
     /** Debug dumps after finishing init */
     public static final boolean INIT_DUMP = boolProp("controlify.debug.init_dump", false, true);
 
     public static void printProperties() {
-        if (properties.stream().noneMatch(prop -> prop.enabled() != prop.def()))
+        if (properties.stream().noneMatch(prop -> !Objects.equals(prop.value(), prop.def())))
             return;
 
         String header = "*----------------- Controlify Debug Properties -----------------*";
@@ -30,8 +48,8 @@ public class DebugProperties {
 
         int maxWidth = properties.stream().mapToInt(prop -> prop.name().length()).max().orElse(0);
         for (var prop : properties) {
-            String line = "| %s%s = %s".formatted(prop.name(), " ".repeat(maxWidth - prop.name().length()), prop.enabled());
-            line += " ".repeat(header.length() - line.length() - 1) + "|";
+            String line = "| %s%s = %s".formatted(prop.name(), " ".repeat(maxWidth - prop.name().length()), prop.value());
+            line += " ".repeat(Math.max(header.length() - line.length() - 1, 0)) + "|";
 
             CUtil.LOGGER.error(line);
         }
@@ -46,6 +64,12 @@ public class DebugProperties {
         return enabled;
     }
 
-    private record DebugProperty(String name, boolean enabled, boolean def) {
+    private static @Nullable String stringProp(String name) {
+        String value = System.getProperty(name);
+        properties.add(new DebugProperty(name, value, null));
+        return value;
+    }
+
+    private record DebugProperty(String name, @Nullable Object value, @Nullable Object def) {
     }
 }
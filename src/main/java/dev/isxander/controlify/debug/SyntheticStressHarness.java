@@ -0,0 +1,147 @@
+package dev.isxander.controlify.debug;
+
+import dev.isxander.controlify.Controlify;
+import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.controller.hdhaptic.HapticEffects;
+import dev.isxander.controlify.controller.rumble.RumbleComponent;
+import dev.isxander.controlify.controllermanager.SyntheticControllerManager;
+import dev.isxander.controlify.driver.synthetic.SyntheticControllerSpec;
+import dev.isxander.controlify.rumble.BasicRumbleEffect;
+import dev.isxander.controlify.rumble.RumbleManager;
+import dev.isxander.controlify.rumble.RumbleSource;
+import dev.isxander.controlify.utils.CUtil;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ramps up the number of synthetic controllers, measuring how long each Controlify tick takes
+ * and how much it allocates on the client thread at every step, then logs a report.
+ * <p>
+ * Every controller is fed random input and has rumble and HD haptics played on it regularly,
+ * so the whole pipeline is exercised, not just the drivers. The harness's own work is not measured.
+ */
+public class SyntheticStressHarness {
+    private static final int[] STEPS = {1, 2, 4, 8, 16, 32, 64, 128};
+    private static final int WARMUP_TICKS = 100;
+    private static final int MEASURE_TICKS = 400;
+    private static final int OUTPUT_PERIOD = 40;
+
+    private final SyntheticControllerManager manager;
+    private final SyntheticControllerSpec spec;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final boolean measureAllocation;
+
+    private final long[] tickNanos = new long[MEASURE_TICKS];
+    private final List<String> results = new ArrayList<>();
+    private List<ControllerEntity> controllers = List.of();
+    private int step = -1;
+    private int tick;
+    private long tickStart;
+    private long allocatedAtStart;
+    private long allocated;
+
+    public SyntheticStressHarness(SyntheticControllerManager manager, SyntheticControllerSpec spec) {
+        this.manager = manager;
+        this.spec = spec;
+        this.measureAllocation = threads instanceof com.sun.management.ThreadMXBean sunThreads
+                && sunThreads.isThreadAllocatedMemorySupported();
+        if (measureAllocation) {
+            ((com.sun.management.ThreadMXBean) threads).setThreadAllocatedMemoryEnabled(true);
+        }
+
+        CUtil.LOGGER.info("Synthetic stress harness will step through {} controllers.", Arrays.toString(STEPS));
+    }
+
+    public boolean isFinished() {
+        return step >= STEPS.length;
+    }
+
+    public void startTick() {
+        if (isFinished()) return;
+
+        if (step == -1 || tick == WARMUP_TICKS + MEASURE_TICKS) {
+            nextStep();
+            if (isFinished()) return;
+        }
+
+        if (tick % OUTPUT_PERIOD == 0) {
+            playOutput();
+        }
+        tickRumble();
+
+        allocatedAtStart = allocatedBytes();
+        tickStart = System.nanoTime();
+    }
+
+    public void endTick() {
+        if (isFinished()) return;
+
+        if (tick >= WARMUP_TICKS) {
+            tickNanos[tick - WARMUP_TICKS] = System.nanoTime() - tickStart;
+            allocated += allocatedBytes() - allocatedAtStart;
+        }
+        tick++;
+
+        if (tick == WARMUP_TICKS + MEASURE_TICKS) {
+            report();
+        }
+    }
+
+    private void nextStep() {
+        step++;
+        tick = 0;
+        allocated = 0;
+        if (isFinished()) {
+            CUtil.LOGGER.info("Synthetic stress harness finished:\n{}", String.join("\n", results));
+            return;
+        }
+
+        manager.connect(STEPS[step] - manager.connectedCount(), spec);
+        controllers = manager.getConnectedControllers();
+    }
+
+    private void playOutput() {
+        for (ControllerEntity controller : controllers) {
+            controller.rumble().map(RumbleComponent::rumbleManager)
+                    .ifPresent(rumble -> rumble.play(RumbleSource.MASTER, BasicRumbleEffect.constant(1f, 0.5f, OUTPUT_PERIOD / 2)));
+            controller.hdHaptics().ifPresent(haptics -> haptics.playHaptic(HapticEffects.NAVIGATE));
+        }
+    }
+
+    private void tickRumble() {
+        // Controlify only ticks the rumble of the current controller
+        ControllerEntity current = Controlify.instance().getCurrentController().orElse(null);
+        for (ControllerEntity controller : controllers) {
+            if (controller != current) {
+                controller.rumble().map(RumbleComponent::rumbleManager).ifPresent(RumbleManager::tick);
+            }
+        }
+    }
+
+    private void report() {
+        long[] sorted = tickNanos.clone();
+        Arrays.sort(sorted);
+        String result = "%4d controllers: p50 %7.3f ms, p99 %7.3f ms, max %7.3f ms, %s".formatted(
+                STEPS[step],
+                percentile(sorted, 0.5) / 1e6,
+                percentile(sorted, 0.99) / 1e6,
+                sorted[sorted.length - 1] / 1e6,
+                measureAllocation ? "%.1f KiB/tick".formatted(allocated / 1024.0 / MEASURE_TICKS) : "allocation unavailable"
+        );
+        results.add(result);
+        CUtil.LOGGER.info("Synthetic stress harness: {}", result);
+    }
+
+    private long allocatedBytes() {
+        if (!measureAllocation) return 0;
+        return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min((int) Math.ceil(percentile * sorted.length) - 1, sorted.length - 1)];
+    }
+}
@@ -0,0 +1,22 @@
+package dev.isxander.controlify.debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.isxander.controlify.ConfigSave")
+@Label("Config Save")
+@Category({"Controlify", "Config"})
+@Description("Writing the Controlify config to disk.")
+@Enabled(false)
+@StackTrace(false)
+public class ConfigSaveEvent extends Event {
+    @Label("Size")
+    @DataAmount
+    public long size;
+}
@@ -0,0 +1,72 @@
+package dev.isxander.controlify.debug.jfr;
+
+import dev.isxander.controlify.utils.CUtil;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import net.minecraft.Util;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Records Controlify's JFR events to a file, using the {@code controlify.jfc} bundled in the mod jar.
+ * <p>
+ * Every event is disabled by default, so costs nothing unless a recording enables it.
+ * To record them alongside the JDK's own events instead, extract {@code controlify.jfc} from the jar and
+ * start the game with {@code -XX:StartFlightRecording:settings=profile,settings=<path to controlify.jfc>}.
+ */
+public class ControlifyFlightRecorder implements AutoCloseable {
+    private static final String SETTINGS = "/controlify.jfc";
+
+    private final Recording recording;
+    private final Path path;
+
+    private ControlifyFlightRecorder(Recording recording, Path path) {
+        this.recording = recording;
+        this.path = path;
+    }
+
+    /**
+     * Starts recording to a new file in the directory, which is written when closed.
+     */
+    public static @Nullable ControlifyFlightRecorder start(Path directory) {
+        try (InputStream is = ControlifyFlightRecorder.class.getResourceAsStream(SETTINGS)) {
+            if (is == null) throw new IOException("Missing " + SETTINGS);
+
+            Configuration configuration = Configuration.create(new InputStreamReader(is, StandardCharsets.UTF_8));
+
+            Files.createDirectories(directory);
+            Path path = directory.resolve("controlify-" + Util.getFilenameFormattedDateTime() + ".jfr");
+
+            Recording recording = new Recording(configuration);
+            recording.setName("Controlify");
+            recording.setToDisk(true);
+            recording.setDestination(path);
+            recording.start();
+
+            CUtil.LOGGER.info("Recording Controlify JFR events to {}", path);
+            return new ControlifyFlightRecorder(recording, path);
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            CUtil.LOGGER.error("Failed to start Controlify flight recording", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            recording.stop();
+            CUtil.LOGGER.info("Saved Controlify flight recording to {}", path);
+        } catch (IllegalStateException e) {
+            CUtil.LOGGER.error("Failed to save Controlify flight recording", e);
+        } finally {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package dev.isxander.controlify.debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("dev.isxander.controlify.ControllerConnect")
+@Label("Controller Connect")
+@Category({"Controlify", "Controllers"})
+@Description("Setting up a newly connected controller, including loading its config.")
+@Enabled(false)
+@StackTrace(false)
+public class ControllerConnectEvent extends Event {
+    @Label("Controller UID")
+    public String uid;
+
+    @Label("Name")
+    public String name;
+
+    @Label("Hotplugged")
+    public boolean hotplug;
+
+    @Label("New Controller")
+    @Description("The controller had no saved config")
+    public boolean newController;
+
+    @Label("Config Load Time")
+    @Timespan
+    public long configLoadTime;
+}
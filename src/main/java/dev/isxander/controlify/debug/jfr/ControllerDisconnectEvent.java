@@ -0,0 +1,23 @@
+package dev.isxander.controlify.debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.isxander.controlify.ControllerDisconnect")
+@Label("Controller Disconnect")
+@Category({"Controlify", "Controllers"})
+@Description("Removing a disconnected controller.")
+@Enabled(false)
+@StackTrace(false)
+public class ControllerDisconnectEvent extends Event {
+    @Label("Controller UID")
+    public String uid;
+
+    @Label("Name")
+    public String name;
+}
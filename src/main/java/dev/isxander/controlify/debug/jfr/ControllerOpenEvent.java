@@ -0,0 +1,24 @@
+package dev.isxander.controlify.debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.isxander.controlify.ControllerOpen")
+@Label("Controller Open")
+@Category({"Controlify", "Controllers"})
+@Description("Opening a controller device, such as with SDL_OpenGamepad.")
+@Enabled(false)
+@StackTrace(false)
+public class ControllerOpenEvent extends Event {
+    @Label("Controller UID")
+    public String uid;
+
+    @Label("Gamepad")
+    @Description("Opened as a gamepad rather than a joystick")
+    public boolean gamepad;
+}
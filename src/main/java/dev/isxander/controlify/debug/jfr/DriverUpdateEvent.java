@@ -0,0 +1,25 @@
+package dev.isxander.controlify.debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("dev.isxander.controlify.DriverUpdate")
+@Label("Driver Update")
+@Category({"Controlify", "Controllers"})
+@Description("A controller driver update that took longer than the threshold.")
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+public class DriverUpdateEvent extends Event {
+    @Label("Controller UID")
+    public String uid;
+
+    @Label("Idle")
+    public boolean idle;
+}
@@ -0,0 +1,26 @@
+package dev.isxander.controlify.debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.isxander.controlify.HapticDecode")
+@Label("Haptic Decode")
+@Category({"Controlify", "Haptics"})
+@Description("Decoding an HD haptic sound into a buffer.")
+@Enabled(false)
+@StackTrace(false)
+public class HapticDecodeEvent extends Event {
+    @Label("Haptic")
+    public String haptic;
+
+    @Label("Size")
+    @Description("Size of the decoded audio")
+    @DataAmount
+    public long size;
+}
@@ -0,0 +1,24 @@
+package dev.isxander.controlify.debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.isxander.controlify.HidScan")
+@Label("HID Scan")
+@Category({"Controlify", "Controllers"})
+@Description("Scanning for attached HID devices.")
+@Enabled(false)
+@StackTrace(false)
+public class HidScanEvent extends Event {
+    @Label("Attached Devices")
+    public int attachedDevices;
+
+    @Label("Unconsumed Controllers")
+    @Description("Controllers found that have not yet been matched to a connected controller")
+    public int unconsumedControllers;
+}
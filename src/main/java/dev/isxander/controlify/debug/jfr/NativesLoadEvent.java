@@ -0,0 +1,23 @@
+package dev.isxander.controlify.debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.isxander.controlify.NativesLoad")
+@Label("SDL Natives Load")
+@Category({"Controlify", "Natives"})
+@Description("Loading and initialising the SDL3 native library.")
+@Enabled(false)
+@StackTrace(false)
+public class NativesLoadEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Success")
+    public boolean success;
+}
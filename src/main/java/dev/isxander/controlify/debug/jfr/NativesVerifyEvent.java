@@ -0,0 +1,23 @@
+package dev.isxander.controlify.debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.isxander.controlify.NativesVerify")
+@Label("SDL Natives Verify")
+@Category({"Controlify", "Natives"})
+@Description("Verifying the MD5 checksum of the SDL3 native library.")
+@Enabled(false)
+@StackTrace(false)
+public class NativesVerifyEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,130 @@
+package dev.isxander.controlify.debug.latency;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * A log-linear histogram of latencies in the style of HdrHistogram, with a fixed relative error.
+ * <p>
+ * Values are kept in microseconds, in buckets of {@value #SUB_BUCKETS} per power of two once
+ * they exceed that many, so any value is reported within 1% of what was recorded, from 1µs to over an hour.
+ * Recording never allocates. Not thread-safe.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final long MAX_MICROS = (1L << 32) - 1;
+
+    private final long[] counts = new long[bucketIndex(MAX_MICROS) + 1];
+    private long totalCount;
+    private long maxMicros;
+    private double sumMicros;
+
+    public void record(long nanos) {
+        long micros = Math.max(0, Math.min(nanos / 1000, MAX_MICROS));
+        counts[bucketIndex(micros)]++;
+        totalCount++;
+        maxMicros = Math.max(maxMicros, micros);
+        sumMicros += micros;
+    }
+
+    public long count() {
+        return totalCount;
+    }
+
+    /**
+     * @param percentile between 0 and 1
+     * @return the highest value equivalent to the one at the percentile in nanoseconds, or 0 if nothing has been recorded
+     */
+    public long percentile(double percentile) {
+        if (totalCount == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(percentile * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target)
+                return Math.min(highestEquivalentValue(i), maxMicros) * 1000;
+        }
+        return maxMicros * 1000;
+    }
+
+    public long max() {
+        return maxMicros * 1000;
+    }
+
+    public double mean() {
+        return totalCount == 0 ? 0 : sumMicros / totalCount * 1000;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        maxMicros = 0;
+        sumMicros = 0;
+    }
+
+    /**
+     * Writes the distribution in HdrHistogram's percentile distribution format, in milliseconds,
+     * so it can be plotted with the usual HdrHistogram tools.
+     */
+    public void writePercentileDistribution(PrintWriter out) {
+        out.println("       Value     Percentile TotalCount 1/(1-Percentile)");
+        out.println();
+
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) continue;
+
+            seen += counts[i];
+            double percentile = (double) seen / totalCount;
+            double value = Math.min(highestEquivalentValue(i), maxMicros) / 1000.0;
+            if (seen == totalCount) {
+                out.printf("%12.3f %2.12f %10d%n", value, percentile, seen);
+            } else {
+                out.printf("%12.3f %2.12f %10d %14.2f%n", value, percentile, seen, 1 / (1 - percentile));
+            }
+        }
+
+        out.printf("#[Mean    = %12.3f, StdDeviation   = %12.3f]%n", mean() / 1_000_000, stdDeviationMillis());
+        out.printf("#[Max     = %12.3f, Total count    = %12d]%n", maxMicros / 1000.0, totalCount);
+        out.printf("#[Buckets = %12d, SubBuckets     = %12d]%n", counts.length / HALF_SUB_BUCKETS, SUB_BUCKETS);
+    }
+
+    private double stdDeviationMillis() {
+        if (totalCount == 0) return 0;
+
+        double meanMicros = sumMicros / totalCount;
+        double sumSquares = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) continue;
+
+            double deviation = medianEquivalentValue(i) - meanMicros;
+            sumSquares += deviation * deviation * counts[i];
+        }
+        return Math.sqrt(sumSquares / totalCount) / 1000;
+    }
+
+    private static int bucketIndex(long micros) {
+        // values below SUB_BUCKETS are exact, each power of two above is split into HALF_SUB_BUCKETS
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros | (SUB_BUCKETS - 1)) - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (micros >>> magnitude);
+        return magnitude * HALF_SUB_BUCKETS + subBucket;
+    }
+
+    private static long lowestEquivalentValue(int index) {
+        int magnitude = Math.max(0, index / HALF_SUB_BUCKETS - 1);
+        long subBucket = index - (long) magnitude * HALF_SUB_BUCKETS;
+        return subBucket << magnitude;
+    }
+
+    private static long highestEquivalentValue(int index) {
+        int magnitude = Math.max(0, index / HALF_SUB_BUCKETS - 1);
+        return lowestEquivalentValue(index) + (1L << magnitude) - 1;
+    }
+
+    private static double medianEquivalentValue(int index) {
+        return (lowestEquivalentValue(index) + highestEquivalentValue(index)) / 2.0;
+    }
+}
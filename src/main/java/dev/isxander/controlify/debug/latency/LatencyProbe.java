@@ -0,0 +1,104 @@
+package dev.isxander.controlify.debug.latency;
+
+import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.debug.DebugProperties;
+import net.minecraft.Util;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Measures the time from a controller's input first being observed, by its driver or SDL's event timestamp,
+ * to the game acting on it: the first frame that turns the player after an axis changes,
+ * and the vanilla key click made after a button or hat changes.
+ * <p>
+ * Look latency is attributed to the earliest unconsumed axis change, whichever axis it was,
+ * and changes that don't turn the player in the next frame, or are made without a player, are discarded.
+ * A change nothing takes within a second is replaced by the next one.
+ * <p>
+ * Enabled with {@code -Dcontrolify.debug.latency_probe=true}. When disabled, nothing is timestamped.
+ * Client thread only, other than {@link InputComponent} marking observations.
+ */
+public final class LatencyProbe {
+    public static final boolean ENABLED = DebugProperties.LATENCY_PROBE;
+
+    private static final LatencyHistogram look = new LatencyHistogram();
+    private static final LatencyHistogram click = new LatencyHistogram();
+
+    private LatencyProbe() {
+    }
+
+    /**
+     * Called every frame the player's look is processed.
+     * @param turned if the player was turned this frame
+     */
+    public static void onLookApplied(InputComponent input, boolean turned) {
+        long observedAt = input.takeAxisChangeObservedAt();
+        if (turned && observedAt != 0) {
+            look.record(System.nanoTime() - observedAt);
+        }
+    }
+
+    /**
+     * Called every time bindings are checked for vanilla key clicks after a controller's state is updated.
+     * @param clicked if any key was clicked
+     */
+    public static void onClicksImitated(InputComponent input, boolean clicked) {
+        long observedAt = input.takeButtonChangeObservedAt();
+        if (clicked && observedAt != 0) {
+            click.record(System.nanoTime() - observedAt);
+        }
+    }
+
+    public static LatencyHistogram look() {
+        return look;
+    }
+
+    public static LatencyHistogram click() {
+        return click;
+    }
+
+    /**
+     * A line per measurement with its p50, p99 and max latency in milliseconds.
+     */
+    public static List<String> report() {
+        return List.of(
+                "%-24s %8s %8s %8s".formatted("Latency (ms)", "p50", "p99", "max"),
+                reportLine("Look (%d)".formatted(look.count()), look),
+                reportLine("Click (%d)".formatted(click.count()), click)
+        );
+    }
+
+    /**
+     * Writes each histogram to a new file in the directory, in HdrHistogram's percentile distribution format.
+     * @return the files written
+     */
+    public static List<Path> export(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String time = Util.getFilenameFormattedDateTime();
+
+        return List.of(
+                export(directory.resolve("latency-look-" + time + ".hgrm"), look),
+                export(directory.resolve("latency-click-" + time + ".hgrm"), click)
+        );
+    }
+
+    private static Path export(Path path, LatencyHistogram histogram) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path))) {
+            histogram.writePercentileDistribution(out);
+        }
+        return path;
+    }
+
+    private static String reportLine(String name, LatencyHistogram histogram) {
+        return "%-24s %8.2f %8.2f %8.2f".formatted(
+                name,
+                histogram.percentile(0.5) / 1_000_000.0,
+                histogram.percentile(0.99) / 1_000_000.0,
+                histogram.max() / 1_000_000.0
+        );
+    }
+}
@@ -0,0 +1,380 @@
+package dev.isxander.controlify.debug.recording;
+
+import dev.isxander.controlify.api.event.ControlifyEvents;
+import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.controller.gyro.GyroStateC;
+import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.controller.input.InputRegistry;
+import dev.isxander.controlify.controller.touchpad.TouchpadState;
+import dev.isxander.controlify.utils.CUtil;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.Util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static dev.isxander.controlify.debug.recording.InputRecordingFormat.*;
+
+/**
+ * Records the raw state of every connected controller, as pushed by its driver,
+ * along with its gyro and touchpad, so it can be replayed later with {@link InputReplay}.
+ * <p>
+ * States are captured when pushed, but only encoded and written on the client thread
+ * once the controller's update has finished.
+ */
+public class InputRecorder implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final DataOutputStream out;
+    private final Map<String, Track> tracks = new Object2ObjectOpenHashMap<>();
+    private final BitSet definedButtons = new BitSet(), definedAxes = new BitSet(), definedHats = new BitSet();
+    private int nextControllerIndex;
+    private long tick, lastFrameTick;
+    private boolean closed;
+
+    private InputRecorder(Path path) throws IOException {
+        this.path = path;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    /**
+     * Starts recording every controller, including those already connected, to a new file in the directory.
+     */
+    public static InputRecorder start(Path directory, Collection<ControllerEntity> connected) throws IOException {
+        Files.createDirectories(directory);
+        Path path = directory.resolve("input-" + Util.getFilenameFormattedDateTime() + EXTENSION);
+        InputRecorder recorder = new InputRecorder(path);
+
+        connected.forEach(recorder::attach);
+        ControlifyEvents.CONTROLLER_CONNECTED.register((controller, hotplugged, newController) -> recorder.attach(controller));
+        ControlifyEvents.CONTROLLER_DISCONNECTED.register(recorder::detach);
+        ControlifyEvents.CONTROLLER_STATE_UPDATE.register(recorder::onStateUpdate);
+
+        CUtil.LOGGER.info("Recording controller input to {}", path);
+        return recorder;
+    }
+
+    /**
+     * Client thread only. Called at the start of every tick, before controllers are updated.
+     */
+    public void tick() {
+        tick++;
+    }
+
+    private void attach(ControllerEntity controller) {
+        if (closed) return;
+
+        controller.input().ifPresent(input -> {
+            Track track = new Track(nextControllerIndex++, controller);
+            tracks.put(controller.info().uid(), track);
+            input.setRawStateListener(track);
+
+            try {
+                out.writeByte(TAG_CONTROLLER);
+                writeVarLong(track.index);
+                writeString(controller.info().uid());
+            } catch (IOException e) {
+                fail(e);
+            }
+        });
+    }
+
+    private void detach(ControllerEntity controller) {
+        Track track = tracks.remove(controller.info().uid());
+        if (track != null) {
+            controller.input().ifPresent(input -> input.setRawStateListener(null));
+        }
+    }
+
+    private void onStateUpdate(ControllerEntity controller) {
+        if (closed) return;
+
+        Track track = tracks.get(controller.info().uid());
+        if (track == null || !track.hasPending) return;
+        track.hasPending = false;
+
+        try {
+            track.encode();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(IOException e) {
+        CUtil.LOGGER.error("Failed to record controller input, stopping recording", e);
+        close();
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+
+        for (Track track : tracks.values()) {
+            track.controller.input().ifPresent(input -> input.setRawStateListener(null));
+        }
+        tracks.clear();
+
+        try {
+            out.close();
+            CUtil.LOGGER.info("Finished recording controller input to {}", path);
+        } catch (IOException e) {
+            CUtil.LOGGER.error("Failed to finish controller input recording", e);
+        }
+    }
+
+    private void define(BitSet defined, int kind, int slot, InputRegistry.Slots registry) throws IOException {
+        if (defined.get(slot)) return;
+        defined.set(slot);
+
+        out.writeByte(TAG_INPUT);
+        out.writeByte(kind);
+        writeVarLong(slot);
+        writeString(registry.id(slot).toString());
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private void writeString(String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeBitset(long[] words, int count) throws IOException {
+        writeVarLong(count);
+        for (int i = 0; i < count; i++) {
+            writeVarLong(words[i]);
+        }
+    }
+
+    private final class Track implements InputComponent.RawStateListener {
+        private final int index;
+        private final ControllerEntity controller;
+
+        // written by whichever thread updates the driver, read on the client thread once it has finished
+        private final ControllerStateImpl pending = new ControllerStateImpl();
+        private boolean hasPending;
+
+        // the previous frame, and scratch for the current one, swapped after each frame
+        private Snapshot prev = new Snapshot(), cur = new Snapshot();
+
+        private Track(int index, ControllerEntity controller) {
+            this.index = index;
+            this.controller = controller;
+        }
+
+        @Override
+        public void onPushState(ControllerStateImpl state) {
+            pending.copyFrom(state);
+            hasPending = true;
+        }
+
+        private void encode() throws IOException {
+            int buttons = InputRegistry.BUTTONS.size(), axes = InputRegistry.AXES.size(), hats = InputRegistry.HATS.size();
+            prev.ensureCapacity(buttons, axes, hats);
+            cur.ensureCapacity(buttons, axes, hats);
+            cur.clear();
+
+            for (int slot = 0; slot < buttons; slot++) {
+                if (!pending.hasButton(slot)) continue;
+                define(definedButtons, KIND_BUTTON, slot, InputRegistry.BUTTONS);
+                setBit(cur.presentButtons, slot);
+                if (pending.isButtonDown(slot)) setBit(cur.buttons, slot);
+            }
+            for (int slot = 0; slot < axes; slot++) {
+                if (!pending.hasAxis(slot)) continue;
+                define(definedAxes, KIND_AXIS, slot, InputRegistry.AXES);
+                setBit(cur.presentAxes, slot);
+                cur.axes[slot] = quantizeAxis(pending.getAxisState(slot));
+            }
+            for (int slot = 0; slot < hats; slot++) {
+                if (!pending.hasHat(slot)) continue;
+                define(definedHats, KIND_HAT, slot, InputRegistry.HATS);
+                setBit(cur.presentHats, slot);
+                cur.hats[slot] = (byte) pending.getHatState(slot).ordinal();
+            }
+
+            controller.gyro().ifPresent(gyro -> {
+                GyroStateC state = gyro.getState();
+                cur.gyro[0] = state.x();
+                cur.gyro[1] = state.y();
+                cur.gyro[2] = state.z();
+            });
+            controller.touchpad().ifPresent(touchpad -> {
+                List<TouchpadState.Finger> fingers = touchpad.fingersNow();
+                cur.fingerCount = Math.min(fingers.size(), MAX_FINGERS);
+                cur.ensureFingerCapacity(cur.fingerCount);
+                for (int i = 0; i < cur.fingerCount; i++) {
+                    TouchpadState.Finger finger = fingers.get(i);
+                    cur.fingers[i * 3] = quantizeUnit(finger.position().x());
+                    cur.fingers[i * 3 + 1] = quantizeUnit(finger.position().y());
+                    cur.fingers[i * 3 + 2] = quantizeUnit(finger.pressure());
+                }
+            });
+
+            int flags = 0;
+            if (!Arrays.equals(cur.presentButtons, prev.presentButtons)
+                    || !Arrays.equals(cur.presentAxes, prev.presentAxes)
+                    || !Arrays.equals(cur.presentHats, prev.presentHats))
+                flags |= FLAG_PRESENCE;
+            if (!Arrays.equals(cur.buttons, prev.buttons))
+                flags |= FLAG_BUTTONS;
+            if (!Arrays.equals(cur.axes, prev.axes))
+                flags |= FLAG_AXES;
+            if (!Arrays.equals(cur.hats, prev.hats))
+                flags |= FLAG_HATS;
+            if (!Arrays.equals(cur.gyro, prev.gyro))
+                flags |= FLAG_GYRO;
+            if (cur.fingerCount != prev.fingerCount
+                    || !Arrays.equals(cur.fingers, 0, cur.fingerCount * 3, prev.fingers, 0, prev.fingerCount * 3))
+                flags |= FLAG_FINGERS;
+
+            if (flags != 0) {
+                writeFrame(flags, buttons, axes, hats);
+            }
+
+            Snapshot swap = prev;
+            prev = cur;
+            cur = swap;
+        }
+
+        private void writeFrame(int flags, int buttons, int axes, int hats) throws IOException {
+            out.writeByte(TAG_FRAME);
+            writeVarLong(index);
+            writeVarLong(tick - lastFrameTick);
+            lastFrameTick = tick;
+            out.writeByte(flags);
+
+            if ((flags & FLAG_PRESENCE) != 0) {
+                writeBitset(cur.presentButtons, words(buttons));
+                writeBitset(cur.presentAxes, words(axes));
+                writeBitset(cur.presentHats, words(hats));
+            }
+
+            if ((flags & FLAG_BUTTONS) != 0) {
+                int words = words(buttons);
+                writeVarLong(words);
+                for (int i = 0; i < words; i++) {
+                    writeVarLong(cur.buttons[i] ^ prev.buttons[i]);
+                }
+            }
+
+            if ((flags & FLAG_AXES) != 0) {
+                long[] changed = cur.changed;
+                Arrays.fill(changed, 0L);
+                for (int slot = 0; slot < axes; slot++) {
+                    if (cur.axes[slot] != prev.axes[slot]) setBit(changed, slot);
+                }
+                writeBitset(changed, words(axes));
+                for (int slot = 0; slot < axes; slot++) {
+                    if (cur.axes[slot] != prev.axes[slot]) out.writeShort(cur.axes[slot]);
+                }
+            }
+
+            if ((flags & FLAG_HATS) != 0) {
+                long[] changed = cur.changed;
+                Arrays.fill(changed, 0L);
+                for (int slot = 0; slot < hats; slot++) {
+                    if (cur.hats[slot] != prev.hats[slot]) setBit(changed, slot);
+                }
+                writeBitset(changed, words(hats));
+
+                int packed = 0;
+                boolean high = false;
+                for (int slot = 0; slot < hats; slot++) {
+                    if (cur.hats[slot] == prev.hats[slot]) continue;
+                    if (high) {
+                        out.writeByte(packed | cur.hats[slot] << 4);
+                    } else {
+                        packed = cur.hats[slot];
+                    }
+                    high = !high;
+                }
+                if (high) out.writeByte(packed);
+            }
+
+            if ((flags & FLAG_GYRO) != 0) {
+                out.writeFloat(cur.gyro[0]);
+                out.writeFloat(cur.gyro[1]);
+                out.writeFloat(cur.gyro[2]);
+            }
+
+            if ((flags & FLAG_FINGERS) != 0) {
+                out.writeByte(cur.fingerCount);
+                for (int i = 0; i < cur.fingerCount * 3; i++) {
+                    out.writeChar(cur.fingers[i]);
+                }
+            }
+        }
+    }
+
+    private static final class Snapshot {
+        private long[] presentButtons = new long[0], buttons = new long[0];
+        private long[] presentAxes = new long[0], presentHats = new long[0];
+        private short[] axes = new short[0];
+        private byte[] hats = new byte[0];
+        private long[] changed = new long[0];
+        private final float[] gyro = new float[3];
+        private char[] fingers = new char[0];
+        private int fingerCount;
+
+        private void ensureCapacity(int buttons, int axes, int hats) {
+            if (words(buttons) > this.buttons.length) {
+                this.presentButtons = Arrays.copyOf(this.presentButtons, words(buttons));
+                this.buttons = Arrays.copyOf(this.buttons, words(buttons));
+            }
+            if (axes > this.axes.length) {
+                this.presentAxes = Arrays.copyOf(this.presentAxes, words(axes));
+                this.axes = Arrays.copyOf(this.axes, axes);
+            }
+            if (hats > this.hats.length) {
+                this.presentHats = Arrays.copyOf(this.presentHats, words(hats));
+                this.hats = Arrays.copyOf(this.hats, hats);
+            }
+            int changedWords = Math.max(words(axes), words(hats));
+            if (changedWords > this.changed.length) {
+                this.changed = new long[changedWords];
+            }
+        }
+
+        private void ensureFingerCapacity(int fingers) {
+            if (fingers * 3 > this.fingers.length) {
+                this.fingers = Arrays.copyOf(this.fingers, fingers * 3);
+            }
+        }
+
+        private void clear() {
+            Arrays.fill(presentButtons, 0L);
+            Arrays.fill(buttons, 0L);
+            Arrays.fill(presentAxes, 0L);
+            Arrays.fill(presentHats, 0L);
+            Arrays.fill(axes, (short) 0);
+            Arrays.fill(hats, (byte) 0);
+            fingerCount = 0;
+        }
+    }
+
+    private static void setBit(long[] words, int slot) {
+        words[slot >>> 6] |= 1L << slot;
+    }
+}
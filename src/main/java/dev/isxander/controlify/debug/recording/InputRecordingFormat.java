@@ -0,0 +1,69 @@
+package dev.isxander.controlify.debug.recording;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The binary format shared by {@link InputRecorder} and {@link InputReplay}.
+ * <pre>
+ * file       := MAGIC version:u8 record*
+ * record     := INPUT kind:u8 index:varint id:string
+ *             | CONTROLLER index:varint uid:string
+ *             | FRAME controller:varint tickDelta:varint flags:u8 section*
+ * string     := length:varint utf8
+ * </pre>
+ * Inputs are referred to by index, defined by an INPUT record before they are first used.
+ * The tick delta of a frame is the number of ticks since the previous frame of any controller.
+ * <p>
+ * Frames only contain what changed since the previous frame of the same controller, and are skipped entirely
+ * if nothing did. Each flag adds a section, in this order:
+ * <ul>
+ *     <li>{@link #FLAG_PRESENCE}: which buttons, axes and hats the state contains, each as a bitset</li>
+ *     <li>{@link #FLAG_BUTTONS}: the button bitset, XORed with the previous one</li>
+ *     <li>{@link #FLAG_AXES}: a bitset of the axes that changed, then each of their values as a quantized i16</li>
+ *     <li>{@link #FLAG_HATS}: a bitset of the hats that changed, then their states packed as nibbles</li>
+ *     <li>{@link #FLAG_GYRO}: pitch, yaw and roll as f32</li>
+ *     <li>{@link #FLAG_FINGERS}: count:u8, then x, y and pressure of each finger as quantized u16</li>
+ * </ul>
+ * A bitset is its length in words as a varint, followed by each 64-bit word as a varlong.
+ * Fixed width values are big-endian.
+ */
+final class InputRecordingFormat {
+    static final byte[] MAGIC = "CTLFYREC".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final String EXTENSION = ".ctlrec";
+
+    static final int TAG_INPUT = 1, TAG_CONTROLLER = 2, TAG_FRAME = 3;
+    static final int KIND_BUTTON = 0, KIND_AXIS = 1, KIND_HAT = 2;
+
+    static final int FLAG_PRESENCE = 1,
+            FLAG_BUTTONS = 1 << 1,
+            FLAG_AXES = 1 << 2,
+            FLAG_HATS = 1 << 3,
+            FLAG_GYRO = 1 << 4,
+            FLAG_FINGERS = 1 << 5;
+
+    static final int MAX_FINGERS = 255;
+
+    private InputRecordingFormat() {
+    }
+
+    static short quantizeAxis(float value) {
+        return (short) Math.round(Math.max(-1f, Math.min(1f, value)) * Short.MAX_VALUE);
+    }
+
+    static float dequantizeAxis(short value) {
+        return value / (float) Short.MAX_VALUE;
+    }
+
+    static char quantizeUnit(float value) {
+        return (char) Math.round(Math.max(0f, Math.min(1f, value)) * Character.MAX_VALUE);
+    }
+
+    static float dequantizeUnit(char value) {
+        return value / (float) Character.MAX_VALUE;
+    }
+
+    static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+}
@@ -0,0 +1,328 @@
+package dev.isxander.controlify.debug.recording;
+
+import dev.isxander.controlify.controller.input.HatState;
+import dev.isxander.controlify.controller.input.InputRegistry;
+import dev.isxander.controlify.controller.touchpad.TouchpadState;
+import dev.isxander.controlify.controllermanager.SyntheticControllerManager;
+import dev.isxander.controlify.driver.synthetic.SyntheticControllerSpec;
+import dev.isxander.controlify.driver.synthetic.SyntheticInput;
+import dev.isxander.controlify.utils.CUtil;
+import net.minecraft.resources.ResourceLocation;
+import org.joml.Vector2f;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static dev.isxander.controlify.debug.recording.InputRecordingFormat.*;
+
+/**
+ * Replays a recording made by {@link InputRecorder} through synthetic controllers, one per recorded controller,
+ * connected as they appear in the recording. Each frame is applied on the same tick, relative to the start,
+ * as it was recorded on.
+ * <p>
+ * The file is read through a sliding memory-mapped window, so recordings of any length replay
+ * without being loaded onto the heap.
+ */
+public class InputReplay implements AutoCloseable {
+    private static final long WINDOW_SIZE = 64L << 20;
+    // no record comes close to this, so a window always holds at least one whole record
+    private static final int MAX_RECORD_SIZE = 1 << 16;
+    private static final HatState[] HAT_STATES = HatState.values();
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long size;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    private final SyntheticControllerManager manager;
+    private final List<Track> tracks = new ArrayList<>();
+    private int[] buttonSlots = new int[0], axisSlots = new int[0], hatSlots = new int[0];
+
+    private long tick, lastFrameTick;
+    private int pendingController = -1;
+    private long pendingTick;
+    private boolean finished;
+
+    private InputReplay(Path path, SyntheticControllerManager manager) throws IOException {
+        this.path = path;
+        this.manager = manager;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        map(0);
+
+        byte[] magic = new byte[MAGIC.length];
+        window.get(magic);
+        if (!Arrays.equals(magic, MAGIC))
+            throw new IOException("Not a Controlify input recording: " + path);
+        int version = window.get() & 0xFF;
+        if (version != VERSION)
+            throw new IOException("Unsupported input recording version " + version + ", expected " + VERSION);
+    }
+
+    /**
+     * Opens the recording, connecting its controllers to the manager as they appear.
+     */
+    public static InputReplay open(Path path, SyntheticControllerManager manager) throws IOException {
+        InputReplay replay = new InputReplay(path, manager);
+        CUtil.LOGGER.info("Replaying controller input from {}", path);
+        return replay;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Client thread only. Called at the start of every tick, before controllers are updated.
+     */
+    public void tick() {
+        if (finished) return;
+        tick++;
+
+        try {
+            while (true) {
+                if (pendingController < 0 && !readUntilFrame()) {
+                    finish();
+                    return;
+                }
+                if (pendingTick > tick) return;
+
+                tracks.get(pendingController).readFrame();
+                pendingController = -1;
+            }
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException e) {
+            CUtil.LOGGER.warn("Input recording is corrupt or truncated, ending replay", e);
+            finish();
+        }
+    }
+
+    private boolean readUntilFrame() throws IOException {
+        while (position() < size) {
+            ensureReadable();
+            int tag = window.get() & 0xFF;
+            switch (tag) {
+                case TAG_INPUT -> readInput();
+                case TAG_CONTROLLER -> readController();
+                case TAG_FRAME -> {
+                    pendingController = (int) readVarLong();
+                    pendingTick = lastFrameTick += readVarLong();
+                    return true;
+                }
+                default -> throw new IOException("Unknown record " + tag + " at " + (position() - 1));
+            }
+        }
+        return false;
+    }
+
+    private void readInput() throws IOException {
+        int kind = window.get() & 0xFF;
+        int index = (int) readVarLong();
+        ResourceLocation id = new ResourceLocation(readString());
+
+        switch (kind) {
+            case KIND_BUTTON -> buttonSlots = putSlot(buttonSlots, index, InputRegistry.BUTTONS.intern(id));
+            case KIND_AXIS -> axisSlots = putSlot(axisSlots, index, InputRegistry.AXES.intern(id));
+            case KIND_HAT -> hatSlots = putSlot(hatSlots, index, InputRegistry.HATS.intern(id));
+            default -> throw new IOException("Unknown input kind " + kind);
+        }
+    }
+
+    private void readController() throws IOException {
+        int index = (int) readVarLong();
+        String uid = readString();
+        if (index != tracks.size())
+            throw new IOException("Controller " + uid + " recorded out of order");
+
+        tracks.add(new Track());
+        CUtil.LOGGER.info("Replaying controller {} as synthetic controller {}", uid, index);
+        manager.connect(1, SyntheticControllerSpec.FULL.withInput(1, tracks::get));
+    }
+
+    private void finish() {
+        finished = true;
+        pendingController = -1;
+        CUtil.LOGGER.info("Finished replaying controller input from {} after {} ticks", path, tick);
+    }
+
+    @Override
+    public void close() {
+        try {
+            window = null;
+            channel.close();
+        } catch (IOException e) {
+            CUtil.LOGGER.error("Failed to close input recording", e);
+        }
+    }
+
+    private long position() {
+        return windowStart + window.position();
+    }
+
+    private void ensureReadable() throws IOException {
+        long end = windowStart + window.limit();
+        if (end - position() < MAX_RECORD_SIZE && end < size) {
+            map(position());
+        }
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, size - start));
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = window.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varint too long");
+    }
+
+    private String readString() throws IOException {
+        byte[] bytes = new byte[(int) readVarLong()];
+        window.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long[] readBitset(long[] into) throws IOException {
+        int words = (int) readVarLong();
+        if (into.length < words) into = new long[words];
+        Arrays.fill(into, 0L);
+        for (int i = 0; i < words; i++) {
+            into[i] = readVarLong();
+        }
+        return into;
+    }
+
+    private static int[] putSlot(int[] slots, int index, int slot) {
+        if (index >= slots.length) {
+            int oldLength = slots.length;
+            slots = Arrays.copyOf(slots, Math.max(index + 1, oldLength * 2));
+            Arrays.fill(slots, oldLength, slots.length, -1);
+        }
+        slots[index] = slot;
+        return slots;
+    }
+
+    private static boolean getBit(long[] words, int index) {
+        int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * The replayed state of one controller, indexed by the recording's input indices.
+     */
+    private final class Track implements SyntheticInput {
+        private long[] presentButtons = new long[0], buttons = new long[0];
+        private long[] presentAxes = new long[0], presentHats = new long[0];
+        private long[] changed = new long[0];
+        private short[] axes = new short[0];
+        private byte[] hats = new byte[0];
+        private final float[] gyro = new float[3];
+        private final List<TouchpadState.Finger> fingers = new ArrayList<>();
+        private boolean dirty;
+
+        private void readFrame() throws IOException {
+            int flags = window.get() & 0xFF;
+
+            if ((flags & FLAG_PRESENCE) != 0) {
+                presentButtons = readBitset(presentButtons);
+                presentAxes = readBitset(presentAxes);
+                presentHats = readBitset(presentHats);
+            }
+
+            if ((flags & FLAG_BUTTONS) != 0) {
+                int words = (int) readVarLong();
+                if (buttons.length < words) buttons = Arrays.copyOf(buttons, words);
+                for (int i = 0; i < words; i++) {
+                    buttons[i] ^= readVarLong();
+                }
+            }
+
+            if ((flags & FLAG_AXES) != 0) {
+                changed = readBitset(changed);
+                int count = changed.length << 6;
+                for (int index = 0; index < count; index++) {
+                    if (!getBit(changed, index)) continue;
+                    if (index >= axes.length) axes = Arrays.copyOf(axes, Math.max(index + 1, axes.length * 2));
+                    axes[index] = window.getShort();
+                }
+            }
+
+            if ((flags & FLAG_HATS) != 0) {
+                changed = readBitset(changed);
+                int count = changed.length << 6;
+                int packed = 0;
+                boolean high = false;
+                for (int index = 0; index < count; index++) {
+                    if (!getBit(changed, index)) continue;
+                    if (index >= hats.length) hats = Arrays.copyOf(hats, Math.max(index + 1, hats.length * 2));
+                    if (high) {
+                        hats[index] = (byte) (packed >>> 4 & 0xF);
+                    } else {
+                        packed = window.get() & 0xFF;
+                        hats[index] = (byte) (packed & 0xF);
+                    }
+                    high = !high;
+                }
+            }
+
+            if ((flags & FLAG_GYRO) != 0) {
+                gyro[0] = window.getFloat();
+                gyro[1] = window.getFloat();
+                gyro[2] = window.getFloat();
+            }
+
+            if ((flags & FLAG_FINGERS) != 0) {
+                int count = window.get() & 0xFF;
+                fingers.clear();
+                for (int i = 0; i < count; i++) {
+                    float x = dequantizeUnit(window.getChar());
+                    float y = dequantizeUnit(window.getChar());
+                    float pressure = dequantizeUnit(window.getChar());
+                    fingers.add(new TouchpadState.Finger(new Vector2f(x, y), pressure));
+                }
+            }
+
+            dirty = true;
+        }
+
+        @Override
+        public void next(Frame frame) {
+            if (!dirty) return;
+            dirty = false;
+
+            frame.state.clearState();
+            for (int index = 0; index < presentButtons.length << 6; index++) {
+                if (getBit(presentButtons, index) && index < buttonSlots.length && buttonSlots[index] >= 0) {
+                    frame.state.setButton(buttonSlots[index], getBit(buttons, index));
+                }
+            }
+            for (int index = 0; index < presentAxes.length << 6; index++) {
+                if (getBit(presentAxes, index) && index < axisSlots.length && axisSlots[index] >= 0) {
+                    frame.state.setAxis(axisSlots[index], index < axes.length ? dequantizeAxis(axes[index]) : 0f);
+                }
+            }
+            for (int index = 0; index < presentHats.length << 6; index++) {
+                if (getBit(presentHats, index) && index < hatSlots.length && hatSlots[index] >= 0) {
+                    frame.state.setHat(hatSlots[index], HAT_STATES[index < hats.length ? hats[index] : 0]);
+                }
+            }
+
+            frame.gyro.set(gyro[0], gyro[1], gyro[2]);
+            frame.fingers.clear();
+            frame.fingers.addAll(fingers);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package dev.isxander.controlify.debug.timings;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the last {@code capacity} samples exactly, so percentiles reflect only recent ticks.
+ * Recording never allocates. Not thread-safe.
+ */
+public class RollingHistogram {
+    private final long[] samples;
+    private final long[] sorted;
+    private int next;
+    private int count;
+    private boolean sortedDirty;
+
+    public RollingHistogram(int capacity) {
+        this.samples = new long[capacity];
+        this.sorted = new long[capacity];
+    }
+
+    public void record(long value) {
+        samples[next] = value;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) count++;
+        sortedDirty = true;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @param percentile between 0 and 1
+     * @return the smallest recorded value that at least this fraction of samples are less than or equal to,
+     *         or 0 if nothing has been recorded
+     */
+    public long percentile(double percentile) {
+        if (count == 0) return 0;
+
+        if (sortedDirty) {
+            System.arraycopy(samples, 0, sorted, 0, count);
+            Arrays.sort(sorted, 0, count);
+            sortedDirty = false;
+        }
+
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))];
+    }
+
+    public long max() {
+        return percentile(1);
+    }
+
+    public void clear() {
+        next = 0;
+        count = 0;
+        sortedDirty = true;
+    }
+}
@@ -0,0 +1,59 @@
+package dev.isxander.controlify.debug.timings;
+
+/**
+ * A part of Controlify's tick that is timed by {@link TickTimings}.
+ * Stages can contain others, shown by their depth.
+ */
+public enum TickStage {
+    TICK("Controlify tick", 0),
+    DRIVERS("Driver updates", 1),
+    DRIVER_INPUT("Input", 2),
+    MAPPING("Mapping", 3),
+    DEADZONE("Deadzones", 3),
+    DRIVER_GYRO("Gyro", 2),
+    DRIVER_TOUCHPAD("Touchpad", 2),
+    DRIVER_RUMBLE("Rumble", 2),
+    DRIVER_BATTERY("Battery", 2),
+    DRIVER_OTHER("Other", 2),
+    SCREEN_PROCESSOR("Screen processor", 1),
+    INGAME_INPUT("In-game input", 1),
+    EVENTS("Event dispatch", 1),
+    // evaluated lazily by whatever first reads a binding, so is part of the other stages
+    BINDINGS("Binding evaluation", 1);
+
+    private static final TickStage[] VALUES = values();
+
+    private final String displayName;
+    private final int depth;
+
+    TickStage(String displayName, int depth) {
+        this.displayName = displayName;
+        this.depth = depth;
+    }
+
+    public String displayName() {
+        return displayName;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * @return the stage a driver's polling task is timed as, by the name it was registered with
+     */
+    public static TickStage forDriverTask(String name) {
+        return switch (name) {
+            case "input" -> DRIVER_INPUT;
+            case "gyro" -> DRIVER_GYRO;
+            case "touchpad" -> DRIVER_TOUCHPAD;
+            case "rumble" -> DRIVER_RUMBLE;
+            case "battery" -> DRIVER_BATTERY;
+            default -> DRIVER_OTHER;
+        };
+    }
+
+    static TickStage[] all() {
+        return VALUES;
+    }
+}
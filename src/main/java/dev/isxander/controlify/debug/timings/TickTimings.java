@@ -0,0 +1,73 @@
+package dev.isxander.controlify.debug.timings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Times each {@link TickStage} of Controlify's tick, keeping the time spent in each over the last
+ * {@link #WINDOW_TICKS} ticks so hitches can be told apart from a steady cost.
+ * <p>
+ * Time is accumulated per stage throughout a tick, from any thread, and recorded when the tick ends.
+ * Stages run on several threads at once, such as drivers updated in parallel, record the sum of their time on each.
+ * Timing a stage never allocates.
+ */
+public final class TickTimings {
+    public static final int WINDOW_TICKS = 256;
+
+    private static final TickStage[] STAGES = TickStage.all();
+    private static final AtomicLongArray pending = new AtomicLongArray(STAGES.length);
+    private static final RollingHistogram[] histograms = new RollingHistogram[STAGES.length];
+    static {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new RollingHistogram(WINDOW_TICKS);
+        }
+    }
+
+    private TickTimings() {
+    }
+
+    /**
+     * @return the start time to later pass to {@link #end(TickStage, long)}
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public static void end(TickStage stage, long start) {
+        pending.addAndGet(stage.ordinal(), System.nanoTime() - start);
+    }
+
+    /**
+     * Records the time accumulated by every stage as one tick. Client thread only.
+     */
+    public static void endTick() {
+        for (int i = 0; i < STAGES.length; i++) {
+            histograms[i].record(pending.getAndSet(i, 0));
+        }
+    }
+
+    public static RollingHistogram histogram(TickStage stage) {
+        return histograms[stage.ordinal()];
+    }
+
+    /**
+     * A line per stage with its p50, p99 and max time in microseconds over the recorded ticks,
+     * laid out for a monospaced font. Client thread only.
+     */
+    public static List<String> report() {
+        List<String> lines = new ArrayList<>(STAGES.length + 1);
+        lines.add("%-24s %8s %8s %8s".formatted(
+                "Stage (%d ticks, µs)".formatted(histograms[0].count()), "p50", "p99", "max"));
+        for (TickStage stage : STAGES) {
+            RollingHistogram histogram = histogram(stage);
+            lines.add("%-24s %8.1f %8.1f %8.1f".formatted(
+                    "  ".repeat(stage.depth()) + stage.displayName(),
+                    histogram.percentile(0.5) / 1000.0,
+                    histogram.percentile(0.99) / 1000.0,
+                    histogram.max() / 1000.0
+            ));
+        }
+        return lines;
+    }
+}
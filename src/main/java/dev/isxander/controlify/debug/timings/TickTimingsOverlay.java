@@ -0,0 +1,91 @@
+package dev.isxander.controlify.debug.timings;
+
+import dev.isxander.controlify.debug.latency.LatencyHistogram;
+import dev.isxander.controlify.debug.latency.LatencyProbe;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+
+/**
+ * Draws {@link TickTimings} in the bottom right corner of the screen, in the style of the F3 debug screen,
+ * along with the {@link LatencyProbe} when it is enabled.
+ */
+public final class TickTimingsOverlay {
+    private static final int BACKGROUND_COLOR = 0x90505050;
+    private static final int TEXT_COLOR = 0xE0E0E0;
+    private static final int HEADER_COLOR = 0xFFFF55;
+    private static final int COLUMN_WIDTH = 40;
+    private static final int MARGIN = 2;
+    private static final String TIMINGS_HEADER = "Controlify tick timings (µs)";
+    private static final String LATENCY_HEADER = "Input latency (ms)";
+
+    private TickTimingsOverlay() {
+    }
+
+    public static void render(GuiGraphics graphics, Font font, int screenWidth, int screenHeight) {
+        TickStage[] stages = TickStage.all();
+        boolean showLatency = LatencyProbe.ENABLED;
+
+        int nameWidth = font.width(TIMINGS_HEADER);
+        for (TickStage stage : stages) {
+            nameWidth = Math.max(nameWidth, font.width(stage.displayName()) + stage.depth() * 6);
+        }
+
+        int lineHeight = font.lineHeight;
+        int rows = stages.length + 1 + (showLatency ? 3 : 0);
+        int width = nameWidth + COLUMN_WIDTH * 3;
+        int x = screenWidth - width - MARGIN;
+        int y = screenHeight - rows * lineHeight - MARGIN;
+
+        graphics.fill(x - 1, y - 1, x + width + 1, screenHeight - MARGIN + 1, BACKGROUND_COLOR);
+
+        drawRow(graphics, font, x, y, nameWidth, TIMINGS_HEADER, "p50", "p99", "max", HEADER_COLOR);
+        for (TickStage stage : stages) {
+            y += lineHeight;
+            RollingHistogram histogram = TickTimings.histogram(stage);
+            drawRow(graphics, font, x + stage.depth() * 6, y, nameWidth - stage.depth() * 6,
+                    stage.displayName(),
+                    micros(histogram.percentile(0.5)),
+                    micros(histogram.percentile(0.99)),
+                    micros(histogram.max()),
+                    TEXT_COLOR
+            );
+        }
+
+        if (showLatency) {
+            y += lineHeight;
+            drawRow(graphics, font, x, y, nameWidth, LATENCY_HEADER, "p50", "p99", "max", HEADER_COLOR);
+            y += lineHeight;
+            drawLatencyRow(graphics, font, x, y, nameWidth, "Look", LatencyProbe.look());
+            y += lineHeight;
+            drawLatencyRow(graphics, font, x, y, nameWidth, "Click", LatencyProbe.click());
+        }
+    }
+
+    private static void drawLatencyRow(GuiGraphics graphics, Font font, int x, int y, int nameWidth, String name, LatencyHistogram histogram) {
+        drawRow(graphics, font, x + 6, y, nameWidth - 6,
+                name + " (" + histogram.count() + ")",
+                millis(histogram.percentile(0.5)),
+                millis(histogram.percentile(0.99)),
+                millis(histogram.max()),
+                TEXT_COLOR
+        );
+    }
+
+    private static void drawRow(GuiGraphics graphics, Font font, int x, int y, int nameWidth, String name, String p50, String p99, String max, int color) {
+        graphics.drawString(font, name, x, y, color, false);
+
+        int columnEnd = x + nameWidth;
+        for (String column : new String[]{p50, p99, max}) {
+            columnEnd += COLUMN_WIDTH;
+            graphics.drawString(font, column, columnEnd - font.width(column), y, color, false);
+        }
+    }
+
+    private static String micros(long nanos) {
+        return "%.1f".formatted(nanos / 1000.0);
+    }
+
+    private static String millis(long nanos) {
+        return "%.2f".formatted(nanos / 1_000_000.0);
+    }
+}
@@ -2,10 +2,27 @@ package dev.isxander.controlify.driver;
 
 import dev.isxander.controlify.controller.ControllerEntity;
 
+import java.util.Optional;
+
 public interface Driver {
     void update(boolean outOfFocus);
 
     ControllerEntity getController();
 
     void close();
+
+    /**
+     * Called when the controller goes idle or wakes up. While idle, the driver is only updated at a trickle,
+     * and should stop any output such as rumble and only keep polling what is needed to notice it being used again.
+     */
+    default void setIdle(boolean idle) {
+    }
+
+    /**
+     * @return the scheduler deciding which capabilities are polled each update,
+     *         or empty if this driver polls everything every update
+     */
+    default Optional<PollingScheduler> pollingScheduler() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,159 @@
+package dev.isxander.controlify.driver;
+
+import dev.isxander.controlify.debug.timings.TickStage;
+import dev.isxander.controlify.debug.timings.TickTimings;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs each of a driver's capabilities at its own rate, measured in driver updates (once per client tick).
+ * A capability can also be limited to when something is consuming it,
+ * and it is then suspended entirely while nothing is.
+ * <p>
+ * While the driver is idle, only capabilities registered with {@link Task#whileIdle()} are run.
+ */
+public class PollingScheduler {
+    public static final int UPDATES_PER_SECOND = 20;
+
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<Task> tasksView = Collections.unmodifiableList(tasks);
+    private boolean idle;
+
+    /**
+     * Registers a capability to be run every {@code periodUpdates} updates, starting with the next one.
+     */
+    public Task register(String name, int periodUpdates, Runnable action) {
+        if (periodUpdates < 1)
+            throw new IllegalArgumentException("Period must be at least 1 update");
+
+        Task task = new Task(name, periodUpdates, action);
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * Runs every capability that is due this update.
+     */
+    public void tick() {
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).tick(idle);
+        }
+    }
+
+    /**
+     * Suspends every capability not registered with {@link Task#whileIdle()}, or resumes them.
+     * Capabilities being suspended have their suspend action run straight away rather than on the next update,
+     * so output such as rumble stops immediately.
+     */
+    public void setIdle(boolean idle) {
+        if (this.idle == idle) return;
+        this.idle = idle;
+
+        if (idle) {
+            for (Task task : tasks) {
+                if (!task.whileIdle) task.suspend();
+            }
+        }
+    }
+
+    public boolean isIdle() {
+        return idle;
+    }
+
+    public List<Task> tasks() {
+        return tasksView;
+    }
+
+    public static class Task {
+        private final String name;
+        private final int period;
+        private final Runnable action;
+        private final TickStage stage;
+
+        private @Nullable BooleanSupplier consumed;
+        private @Nullable Runnable onSuspend;
+        private boolean whileIdle;
+
+        private int untilDue;
+        private boolean suspended;
+
+        private Task(String name, int period, Runnable action) {
+            this.name = name;
+            this.period = period;
+            this.action = action;
+            this.stage = TickStage.forDriverTask(name);
+        }
+
+        /**
+         * Only runs this capability while {@code consumed} returns true.
+         * Once it is consumed again it runs straight away rather than waiting out its period.
+         */
+        public Task onlyWhen(BooleanSupplier consumed) {
+            this.consumed = consumed;
+            return this;
+        }
+
+        /**
+         * Keeps running this capability while the driver is idle.
+         */
+        public Task whileIdle() {
+            this.whileIdle = true;
+            return this;
+        }
+
+        /**
+         * Sets what to run when this capability is suspended, either because the driver went idle
+         * or because it is no longer consumed, so stale state can be cleared or output stopped.
+         */
+        public Task onSuspend(Runnable onSuspend) {
+            this.onSuspend = onSuspend;
+            return this;
+        }
+
+        private void tick(boolean idle) {
+            if ((idle && !whileIdle) || (consumed != null && !consumed.getAsBoolean())) {
+                suspend();
+                return;
+            }
+            suspended = false;
+
+            if (--untilDue <= 0) {
+                untilDue = period;
+                long start = TickTimings.start();
+                action.run();
+                TickTimings.end(stage, start);
+            }
+        }
+
+        private void suspend() {
+            if (!suspended) {
+                suspended = true;
+                untilDue = 0;
+                if (onSuspend != null) onSuspend.run();
+            }
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public int periodUpdates() {
+            return period;
+        }
+
+        public boolean isSuspended() {
+            return suspended;
+        }
+
+        /**
+         * @return how many times a second this capability is currently being run, assuming the driver is updated every tick
+         */
+        public float effectiveRate() {
+            return suspended ? 0 : (float) UPDATES_PER_SECOND / period;
+        }
+    }
+}
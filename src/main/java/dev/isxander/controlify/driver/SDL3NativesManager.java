@@ -4,6 +4,8 @@ import com.google.common.hash.HashCode;
 import com.google.common.hash.Hashing;
 import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.config.ControlifyConfig;
+import dev.isxander.controlify.debug.jfr.NativesLoadEvent;
+import dev.isxander.controlify.debug.jfr.NativesVerifyEvent;
 import dev.isxander.controlify.gui.screen.DownloadingSDLScreen;
 import dev.isxander.controlify.utils.CUtil;
 import dev.isxander.controlify.utils.TrackingBodySubscriber;
@@ -23,6 +25,7 @@ import java.net.http.HttpResponse;
 import java.nio.file.*;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -44,6 +47,7 @@ public class SDL3NativesManager {
     private static final String NATIVE_LIBRARY_URL = "https://maven.isxander.dev/releases/dev/isxander/libsdl4j-natives/%s/".formatted(SDL3_VERSION);
 
     private static boolean loaded = false;
+    private static Path loadedLibraryPath = null;
     private static boolean attemptedLoad = false;
 
     private static CompletableFuture<Boolean> initFuture;
@@ -70,7 +74,7 @@ public class SDL3NativesManager {
         Path checksumPath = nativesFolder.resolve(Target.CURRENT.getArtifactMD5Name());
 
         if (Files.exists(localLibraryPath)) {
-            // downloadAndStart asynchronously downloads checksum along with lib
+            // downloadAndLoad asynchronously downloads checksum along with lib
             // only download manually here if the lib is already downloaded
             if (Files.notExists(checksumPath)) {
                 CUtil.LOGGER.info("Downloading checksum for existing SDL natives");
@@ -78,29 +82,48 @@ public class SDL3NativesManager {
             }
 
             if (verifyMd5(localLibraryPath, checksumPath, true)
-                    && loadAndStart(localLibraryPath))
+                    && load(localLibraryPath))
                 return initFuture = CompletableFuture.completedFuture(true);
 
             CUtil.LOGGER.warn("Failed to load SDL3 from local file, attempting to re-download");
         }
-        return initFuture = downloadAndStart(localLibraryPath);
+        return initFuture = downloadAndLoad(localLibraryPath);
     }
 
-    private static boolean loadAndStart(Path localLibraryPath) {
+    private static boolean load(Path localLibraryPath) {
+        NativesLoadEvent event = new NativesLoadEvent();
+        event.begin();
+
+        boolean success = doLoad(localLibraryPath);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = localLibraryPath.toString();
+            event.success = success;
+            event.commit();
+        }
+        return success;
+    }
+
+    private static boolean doLoad(Path localLibraryPath) {
         try {
             SdlNativeLibraryLoader.loadLibSDL3FromFilePathNow(localLibraryPath.toAbsolutePath().toString());
 
-            startSDL3();
-
             loaded = true;
+            loadedLibraryPath = localLibraryPath;
             return true;
         } catch (Throwable e) {
-            CUtil.LOGGER.error("Failed to start SDL3", e);
+            CUtil.LOGGER.error("Failed to load SDL3", e);
             return false;
         }
     }
 
-    private static void startSDL3() {
+    /**
+     * Initialises SDL once its library is loaded.
+     * SDL's joystick hotplug detection only works on the thread that initialised it,
+     * so this must be called on the thread that pumps SDL's events, which then owns SDL until {@link #stopSDL3()}.
+     */
+    public static void startSDL3() {
         // better rumble
         SDL_SetHint(SDL_HINT_JOYSTICK_HIDAPI_PS3, "1");
         SDL_SetHint(SDL_HINT_JOYSTICK_HIDAPI_PS4_RUMBLE, "1");
@@ -115,14 +138,21 @@ public class SDL3NativesManager {
         CUtil.LOGGER.info("Initialised SDL4j {}", SDL3_VERSION);
     }
 
-    private static CompletableFuture<Boolean> downloadAndStart(Path localLibraryPath) {
+    /**
+     * Shuts SDL down, on the thread that started it.
+     */
+    public static void stopSDL3() {
+        SDL_Quit();
+    }
+
+    private static CompletableFuture<Boolean> downloadAndLoad(Path localLibraryPath) {
         return downloadLibrary(localLibraryPath.getParent())
                 .thenCompose(success -> {
                     if (!success) {
                         return CompletableFuture.completedFuture(false);
                     }
 
-                    return CompletableFuture.completedFuture(loadAndStart(localLibraryPath));
+                    return CompletableFuture.completedFuture(load(localLibraryPath));
                 })
                 .thenCompose(success -> Minecraft.getInstance().submit(() -> success));
     }
@@ -147,8 +177,8 @@ public class SDL3NativesManager {
             return CompletableFuture.completedFuture(false);
         }
 
-        String url = NATIVE_LIBRARY_URL + artifactName;
-        String md5Url = NATIVE_LIBRARY_URL + md5Name;
+        String url = Target.CURRENT.getArtifactUrl();
+        String md5Url = Target.CURRENT.getArtifactMD5Url();
 
         var httpClient = HttpClient.newHttpClient();
         var libRequest = HttpRequest.newBuilder(URI.create(url)).build();
@@ -178,6 +208,21 @@ public class SDL3NativesManager {
     }
 
     private static boolean verifyMd5(Path filePath, Path md5Path, boolean deleteOnFail) {
+        NativesVerifyEvent event = new NativesVerifyEvent();
+        event.begin();
+
+        boolean success = doVerifyMd5(filePath, md5Path, deleteOnFail);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = filePath.toString();
+            event.success = success;
+            event.commit();
+        }
+        return success;
+    }
+
+    private static boolean doVerifyMd5(Path filePath, Path md5Path, boolean deleteOnFail) {
         try {
             String fileMd5 = DigestUtils.md5Hex(Files.readAllBytes(filePath));
             String checksum = Files.readString(md5Path);
@@ -231,7 +276,7 @@ public class SDL3NativesManager {
 
             HttpClient client = HttpClient.newHttpClient();
             HttpRequest request = HttpRequest.newBuilder(
-                    URI.create(NATIVE_LIBRARY_URL + Target.CURRENT.getArtifactMD5Name())
+                    URI.create(Target.CURRENT.getArtifactMD5Url())
             ).build();
 
             client.send(
@@ -247,6 +292,10 @@ public class SDL3NativesManager {
         return loaded;
     }
 
+    public static Optional<Path> getLoadedLibraryPath() {
+        return Optional.ofNullable(loadedLibraryPath);
+    }
+
     public static boolean hasAttemptedLoad() {
         return attemptedLoad;
     }
@@ -295,6 +344,14 @@ public class SDL3NativesManager {
             return this.getArtifactName() + ".md5";
         }
 
+        public String getArtifactUrl() {
+            return NATIVE_LIBRARY_URL + this.getArtifactName();
+        }
+
+        public String getArtifactMD5Url() {
+            return NATIVE_LIBRARY_URL + this.getArtifactMD5Name();
+        }
+
         public boolean isMacArm() {
             return os == Util.OS.OSX && isARM;
         }
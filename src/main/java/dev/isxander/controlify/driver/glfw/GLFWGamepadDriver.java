@@ -5,7 +5,7 @@ import dev.isxander.controlify.controller.input.GamepadInputs;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.ControllerInfo;
 import dev.isxander.controlify.controller.input.InputComponent;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.ModifiableControllerState;
 import dev.isxander.controlify.controllermanager.UniqueControllerID;
 import dev.isxander.controlify.driver.Driver;
 import dev.isxander.controlify.hid.HIDIdentifier;
@@ -20,6 +20,7 @@ import static org.lwjgl.glfw.GLFW.*;
 public class GLFWGamepadDriver implements Driver {
     private final int jid;
     private final String guid;
+    private final GLFWGamepadState glfwState = GLFWGamepadState.create();
 
     private final ControllerEntity controller;
 
@@ -32,9 +33,7 @@ public class GLFWGamepadDriver implements Driver {
         ControllerInfo info = new ControllerInfo(uid, ucid, this.guid, glfwGetGamepadName(jid), type, hid);
         this.controller = new ControllerEntity(info);
 
-        this.controller.setComponent(new InputComponent(15, 10, 0, true, GamepadInputs.DEADZONE_GROUPS, type.mappingId()), InputComponent.ID);
-
-        this.controller.finalise();
+        this.controller.setComponent(new InputComponent(15, 10, 0, true, GamepadInputs.DEADZONE_GROUPS, type.mappingId()), InputComponent.TYPE);
     }
 
     @Override
@@ -54,7 +53,8 @@ public class GLFWGamepadDriver implements Driver {
 
     private void updateInput() {
         GLFWGamepadState glfwState = this.getGamepadState();
-        ControllerStateImpl state = new ControllerStateImpl();
+        InputComponent input = this.controller.input().orElseThrow();
+        ModifiableControllerState state = input.stateBuffer();
 
         state.setAxis(GamepadInputs.LEFT_STICK_AXIS_DOWN, positiveAxis(glfwState.axes(org.lwjgl.glfw.GLFW.GLFW_GAMEPAD_AXIS_LEFT_Y)));
         state.setAxis(GamepadInputs.LEFT_STICK_AXIS_RIGHT, positiveAxis(glfwState.axes(GLFW.GLFW_GAMEPAD_AXIS_LEFT_X)));
@@ -89,13 +89,12 @@ public class GLFWGamepadDriver implements Driver {
         state.setButton(GamepadInputs.DPAD_LEFT_BUTTON, glfwState.buttons(GLFW.GLFW_GAMEPAD_BUTTON_DPAD_LEFT) == GLFW.GLFW_PRESS);
         state.setButton(GamepadInputs.DPAD_RIGHT_BUTTON, glfwState.buttons(GLFW.GLFW_GAMEPAD_BUTTON_DPAD_RIGHT) == GLFW.GLFW_PRESS);
 
-        this.controller.<InputComponent>getComponent(InputComponent.ID).orElseThrow().pushState(state);
+        input.pushState();
     }
 
     private GLFWGamepadState getGamepadState() {
-        GLFWGamepadState state = GLFWGamepadState.create();
-        glfwGetGamepadState(jid, state);
-        return state;
+        glfwGetGamepadState(jid, glfwState);
+        return glfwState;
     }
 
     private float positiveAxis(float value) {
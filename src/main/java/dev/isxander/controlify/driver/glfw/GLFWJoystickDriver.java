@@ -6,7 +6,7 @@ import dev.isxander.controlify.controller.input.JoystickInputs;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.ControllerInfo;
 import dev.isxander.controlify.controller.input.InputComponent;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.ModifiableControllerState;
 import dev.isxander.controlify.controllermanager.UniqueControllerID;
 import dev.isxander.controlify.driver.Driver;
 import dev.isxander.controlify.hid.HIDIdentifier;
@@ -41,9 +41,7 @@ public class GLFWJoystickDriver implements Driver {
         this.numAxes = testState.axes().limit();
         this.numHats = testState.hats().limit();
 
-        this.controller.setComponent(new InputComponent(numButtons, numAxes * 2, numHats, false, Set.of(), type.mappingId()), InputComponent.ID);
-
-        this.controller.finalise();
+        this.controller.setComponent(new InputComponent(numButtons, numAxes * 2, numHats, false, Set.of(), type.mappingId()), InputComponent.TYPE);
     }
 
     @Override
@@ -64,7 +62,8 @@ public class GLFWJoystickDriver implements Driver {
     private void updateInput() {
         GLFWJoystickState glfwState = this.getJoystickState();
 
-        ControllerStateImpl state = new ControllerStateImpl();
+        InputComponent input = this.controller.input().orElseThrow();
+        ModifiableControllerState state = input.stateBuffer();
 
         for (int i = 0; i < numAxes; i++) {
             float axis = glfwState.axes().get(i);
@@ -93,7 +92,7 @@ public class GLFWJoystickDriver implements Driver {
             state.setHat(JoystickInputs.hat(i), hatState);
         }
 
-        this.controller.input().orElseThrow().pushState(state);
+        input.pushState();
     }
 
     private GLFWJoystickState getJoystickState() {
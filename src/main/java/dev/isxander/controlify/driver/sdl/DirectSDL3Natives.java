@@ -0,0 +1,139 @@
+package dev.isxander.controlify.driver.sdl;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLibrary;
+import com.sun.jna.Pointer;
+import dev.isxander.sdl3java.api.gamepad.SDL_Gamepad;
+
+import java.nio.file.Path;
+
+import static dev.isxander.sdl3java.api.events.SdlEventsConst.*;
+
+/**
+ * Makes SDL calls through JNA direct mapping, bound once to the already loaded SDL3 library.
+ * Arguments are raw pointers and primitives and all out-parameters point into scratch memory
+ * allocated up front, so no call allocates or goes through reflection.
+ */
+final class DirectSDL3Natives implements SDL3Natives {
+    // offsets into SDL_Event for the events we read, as laid out by the bundled SDL3 version
+    private static final int EVENT_SIZE = 128;
+    private static final int EVENT_TYPE = 0;
+    private static final int EVENT_TIMESTAMP = 8;
+    private static final int EVENT_WHICH = 16;
+    private static final int EVENT_BUTTON = 20, EVENT_AXIS = 20;
+    private static final int EVENT_AXIS_VALUE = 24;
+
+    private static final int FINGER_STATE = 0, FINGER_X = 4, FINGER_Y = 8, FINGER_PRESSURE = 12;
+
+    private static boolean bound = false;
+
+    private final Memory event = new Memory(EVENT_SIZE);
+    private final Memory sensorData = new Memory(16 * Float.BYTES);
+    private final Memory finger = new Memory(16);
+    private final Pointer fingerState = finger.share(FINGER_STATE), fingerX = finger.share(FINGER_X),
+            fingerY = finger.share(FINGER_Y), fingerPressure = finger.share(FINGER_PRESSURE);
+
+    private DirectSDL3Natives() {
+    }
+
+    static synchronized DirectSDL3Natives bind(Path library) {
+        if (!bound) {
+            Native.register(DirectSDL3Natives.class, NativeLibrary.getInstance(library.toAbsolutePath().toString()));
+            bound = true;
+        }
+        return new DirectSDL3Natives();
+    }
+
+    private static native byte SDL_GetGamepadButton(Pointer gamepad, int button);
+    private static native short SDL_GetGamepadAxis(Pointer gamepad, int axis);
+    private static native int SDL_GetGamepadSensorData(Pointer gamepad, int type, Pointer data, int numValues);
+    private static native int SDL_GetGamepadTouchpadFinger(Pointer gamepad, int touchpad, int finger, Pointer state, Pointer x, Pointer y, Pointer pressure);
+    private static native int SDL_RumbleGamepad(Pointer gamepad, short lowFrequency, short highFrequency, int durationMs);
+    private static native int SDL_RumbleGamepadTriggers(Pointer gamepad, short left, short right, int durationMs);
+    private static native int SDL_PollEvent(Pointer event);
+    private static native long SDL_GetTicksNS();
+
+    @Override
+    public String name() {
+        return "direct";
+    }
+
+    @Override
+    public SDL3Natives forDriver() {
+        return new DirectSDL3Natives();
+    }
+
+    @Override
+    public boolean getGamepadButton(SDL_Gamepad gamepad, int button) {
+        return SDL_GetGamepadButton(gamepad.getPointer(), button) == SDL_PRESSED;
+    }
+
+    @Override
+    public short getGamepadAxis(SDL_Gamepad gamepad, int axis) {
+        return SDL_GetGamepadAxis(gamepad.getPointer(), axis);
+    }
+
+    @Override
+    public boolean getGamepadSensorData(SDL_Gamepad gamepad, int sensorType, float[] data, int numValues) {
+        if (SDL_GetGamepadSensorData(gamepad.getPointer(), sensorType, sensorData, numValues) != 0)
+            return false;
+
+        sensorData.read(0, data, 0, numValues);
+        return true;
+    }
+
+    @Override
+    public boolean getGamepadTouchpadFinger(SDL_Gamepad gamepad, int touchpad, int finger, float[] out) {
+        if (SDL_GetGamepadTouchpadFinger(gamepad.getPointer(), touchpad, finger, fingerState, fingerX, fingerY, fingerPressure) != 0)
+            return false;
+
+        out[0] = this.finger.getByte(FINGER_STATE);
+        out[1] = this.finger.getFloat(FINGER_X);
+        out[2] = this.finger.getFloat(FINGER_Y);
+        out[3] = this.finger.getFloat(FINGER_PRESSURE);
+        return true;
+    }
+
+    @Override
+    public boolean rumbleGamepad(SDL_Gamepad gamepad, short lowFrequency, short highFrequency, int durationMs) {
+        return SDL_RumbleGamepad(gamepad.getPointer(), lowFrequency, highFrequency, durationMs) == 0;
+    }
+
+    @Override
+    public boolean rumbleGamepadTriggers(SDL_Gamepad gamepad, short left, short right, int durationMs) {
+        return SDL_RumbleGamepadTriggers(gamepad.getPointer(), left, right, durationMs) == 0;
+    }
+
+    @Override
+    public int pollEvent() {
+        return SDL_PollEvent(event) != 0 ? event.getInt(EVENT_TYPE) : 0;
+    }
+
+    @Override
+    public long eventTime() {
+        // event timestamps are on SDL's clock, so convert by how long ago the event was
+        long age = SDL_GetTicksNS() - event.getLong(EVENT_TIMESTAMP);
+        return System.nanoTime() - Math.max(age, 0);
+    }
+
+    @Override
+    public int eventWhich() {
+        return event.getInt(EVENT_WHICH);
+    }
+
+    @Override
+    public int eventGamepadButton() {
+        return event.getByte(EVENT_BUTTON) & 0xFF;
+    }
+
+    @Override
+    public int eventGamepadAxis() {
+        return event.getByte(EVENT_AXIS) & 0xFF;
+    }
+
+    @Override
+    public short eventGamepadAxisValue() {
+        return event.getShort(EVENT_AXIS_VALUE);
+    }
+}
@@ -0,0 +1,117 @@
+package dev.isxander.controlify.driver.sdl;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free single-producer single-consumer ring of gamepad samples.
+ * The SDL input thread offers samples as input changes, or at a fixed high rate,
+ * and the client thread drains them once per tick into an {@link Aggregate}.
+ * <p>
+ * Button presses are additionally accumulated outside the ring,
+ * so a press is never lost even if the ring overflows.
+ */
+class GamepadSampleRing {
+    static final int AXES = 6;
+
+    private final int mask;
+    private final int[] buttons;
+    private final float[] axes;
+
+    // `tail` is only written by the producer, `head` only by the consumer
+    private final AtomicLong head = new AtomicLong(), tail = new AtomicLong();
+    private final AtomicInteger pressedSinceDrain = new AtomicInteger();
+    private final AtomicLong firstObservedSinceDrain = new AtomicLong();
+    private volatile boolean uniform;
+
+    GamepadSampleRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.mask = size - 1;
+        this.buttons = new int[size];
+        this.axes = new float[size * AXES];
+    }
+
+    /**
+     * Producer only.
+     * @param observedAt when the change in this sample was first observed, as a {@link System#nanoTime()},
+     *                   or 0 if it isn't a change or isn't being timed
+     * @return false if the ring was full and the sample was dropped
+     */
+    boolean offer(int buttons, float[] axes, long observedAt) {
+        pressedSinceDrain.accumulateAndGet(buttons, (a, b) -> a | b);
+        if (observedAt != 0) {
+            firstObservedSinceDrain.compareAndSet(0, observedAt);
+        }
+
+        long t = tail.get();
+        if (t - head.get() > mask)
+            return false;
+
+        int i = (int) (t & mask);
+        this.buttons[i] = buttons;
+        System.arraycopy(axes, 0, this.axes, i * AXES, AXES);
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Producer only. Sets whether samples are being offered at a fixed rate rather than only on change,
+     * in which case the samples can be averaged over time.
+     */
+    void setUniform(boolean uniform) {
+        this.uniform = uniform;
+    }
+
+    /**
+     * Consumer only. Drains every available sample into the aggregate.
+     * @return false if no samples were available, in which case the aggregate is untouched
+     */
+    boolean drain(Aggregate out) {
+        long h = head.get();
+        long t = tail.get();
+        if (h == t)
+            return false;
+
+        Arrays.fill(out.axisSum, 0f);
+        for (long n = h; n < t; n++) {
+            int i = (int) (n & mask);
+            for (int axis = 0; axis < AXES; axis++) {
+                out.axisSum[axis] += axes[i * AXES + axis];
+            }
+        }
+
+        int last = (int) ((t - 1) & mask);
+        out.latestButtons = buttons[last];
+        System.arraycopy(axes, last * AXES, out.latestAxes, 0, AXES);
+        out.count = (int) (t - h);
+        out.uniform = this.uniform;
+
+        head.lazySet(t);
+        out.pressedButtons = pressedSinceDrain.getAndSet(0);
+        out.observedAt = firstObservedSinceDrain.getAndSet(0);
+        return true;
+    }
+
+    static class Aggregate {
+        /** Buttons down in the latest sample */
+        int latestButtons;
+        /** Buttons down in any sample since the last drain */
+        int pressedButtons;
+        final float[] latestAxes = new float[AXES];
+        final float[] axisSum = new float[AXES];
+        int count;
+        /** If the samples were taken at a fixed rate, so {@link #axisMean} is a time average */
+        boolean uniform;
+        /** When the first change since the last drain was observed, or 0 if not timed */
+        long observedAt;
+
+        boolean isButtonDown(int button) {
+            return ((latestButtons | pressedButtons) & (1 << button)) != 0;
+        }
+
+        float axisMean(int axis) {
+            return axisSum[axis] / count;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package dev.isxander.controlify.driver.sdl;
+
+import com.sun.jna.Memory;
+import com.sun.jna.ptr.ByteByReference;
+import com.sun.jna.ptr.FloatByReference;
+import dev.isxander.sdl3java.api.events.events.SDL_Event;
+import dev.isxander.sdl3java.api.gamepad.SDL_Gamepad;
+
+import static dev.isxander.sdl3java.api.events.SDL_EventType.*;
+import static dev.isxander.sdl3java.api.events.SdlEvents.*;
+import static dev.isxander.sdl3java.api.events.SdlEventsConst.*;
+import static dev.isxander.sdl3java.api.gamepad.SdlGamepad.*;
+
+/**
+ * Makes SDL calls through libsdl4j. Always available, used when the direct binding can't be.
+ */
+class LibSDL4JNatives implements SDL3Natives {
+    private final SDL_Event event = new SDL_Event();
+    private final Memory sensorData = new Memory(16 * Float.BYTES);
+    private final ByteByReference fingerState = new ByteByReference();
+    private final FloatByReference fingerX = new FloatByReference(), fingerY = new FloatByReference(), fingerPressure = new FloatByReference();
+
+    @Override
+    public String name() {
+        return "libsdl4j";
+    }
+
+    @Override
+    public SDL3Natives forDriver() {
+        return new LibSDL4JNatives();
+    }
+
+    @Override
+    public boolean getGamepadButton(SDL_Gamepad gamepad, int button) {
+        return SDL_GetGamepadButton(gamepad, button) == SDL_PRESSED;
+    }
+
+    @Override
+    public short getGamepadAxis(SDL_Gamepad gamepad, int axis) {
+        return SDL_GetGamepadAxis(gamepad, axis);
+    }
+
+    @Override
+    public boolean getGamepadSensorData(SDL_Gamepad gamepad, int sensorType, float[] data, int numValues) {
+        if (SDL_GetGamepadSensorData(gamepad, sensorType, sensorData, numValues) != 0)
+            return false;
+
+        sensorData.read(0, data, 0, numValues);
+        return true;
+    }
+
+    @Override
+    public boolean getGamepadTouchpadFinger(SDL_Gamepad gamepad, int touchpad, int finger, float[] out) {
+        if (SDL_GetGamepadTouchpadFinger(gamepad, touchpad, finger, fingerState, fingerX, fingerY, fingerPressure) != 0)
+            return false;
+
+        out[0] = fingerState.getValue();
+        out[1] = fingerX.getValue();
+        out[2] = fingerY.getValue();
+        out[3] = fingerPressure.getValue();
+        return true;
+    }
+
+    @Override
+    public boolean rumbleGamepad(SDL_Gamepad gamepad, short lowFrequency, short highFrequency, int durationMs) {
+        return SDL_RumbleGamepad(gamepad, lowFrequency, highFrequency, durationMs) == 0;
+    }
+
+    @Override
+    public boolean rumbleGamepadTriggers(SDL_Gamepad gamepad, short left, short right, int durationMs) {
+        return SDL_RumbleGamepadTriggers(gamepad, left, right, durationMs) == 0;
+    }
+
+    @Override
+    public int pollEvent() {
+        return SDL_PollEvent(event) ? event.type : 0;
+    }
+
+    @Override
+    public long eventTime() {
+        // libsdl4j's timer functions aren't bound here, so the event's timestamp can't be related to System.nanoTime
+        return 0;
+    }
+
+    @Override
+    public int eventWhich() {
+        return switch (event.type) {
+            case SDL_EVENT_GAMEPAD_BUTTON_DOWN, SDL_EVENT_GAMEPAD_BUTTON_UP -> event.gbutton.which.intValue();
+            case SDL_EVENT_GAMEPAD_AXIS_MOTION -> event.gaxis.which.intValue();
+            case SDL_EVENT_GAMEPAD_REMAPPED -> event.gdevice.which.intValue();
+            default -> event.jdevice.which.intValue();
+        };
+    }
+
+    @Override
+    public int eventGamepadButton() {
+        return event.gbutton.button & 0xFF;
+    }
+
+    @Override
+    public int eventGamepadAxis() {
+        return event.gaxis.axis & 0xFF;
+    }
+
+    @Override
+    public short eventGamepadAxisValue() {
+        return event.gaxis.value;
+    }
+}
@@ -0,0 +1,39 @@
+package dev.isxander.controlify.driver.sdl;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Pointer;
+
+/**
+ * Native memory owned by a single driver and reused between calls instead of
+ * allocating a fresh {@link Memory} each time. Buffers only ever grow, and are freed when the driver closes.
+ * <p>
+ * Only safe for calls that have finished with the memory by the time they return,
+ * such as {@code SDL_PutAudioStreamData}, which copies the data into the stream.
+ */
+class NativeScratch implements AutoCloseable {
+    private static final int MIN_AUDIO_SIZE = 4096;
+
+    private Memory audio;
+
+    /**
+     * Copies the data into the audio buffer, growing it if necessary.
+     * The returned pointer is only valid until the next call.
+     */
+    Pointer audio(byte[] data) {
+        if (audio == null || audio.size() < data.length) {
+            if (audio != null) audio.close();
+            audio = new Memory(Math.max(Integer.highestOneBit(Math.max(data.length - 1, 1)) << 1, MIN_AUDIO_SIZE));
+        }
+
+        audio.write(0, data, 0, data.length);
+        return audio;
+    }
+
+    @Override
+    public void close() {
+        if (audio != null) {
+            audio.close();
+            audio = null;
+        }
+    }
+}
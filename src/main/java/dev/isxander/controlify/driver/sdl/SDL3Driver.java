@@ -0,0 +1,20 @@
+package dev.isxander.controlify.driver.sdl;
+
+import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.controller.ControllerInfo;
+import dev.isxander.controlify.driver.Driver;
+
+/**
+ * A driver whose device is opened on the SDL input thread.
+ * Its {@link ControllerEntity} is only created afterwards, on the client thread,
+ * where the manager then adds it and creates its bindings.
+ */
+public interface SDL3Driver extends Driver {
+    ControllerInfo info();
+
+    /**
+     * Client thread only. Creates the controller for the opened device,
+     * must be called once before the driver is updated or {@link #getController()} is used.
+     */
+    void createController();
+}
@@ -1,8 +1,6 @@
 package dev.isxander.controlify.driver.sdl;
 
-import com.sun.jna.Memory;
-import com.sun.jna.ptr.ByteByReference;
-import com.sun.jna.ptr.FloatByReference;
+import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.controller.battery.BatteryLevel;
 import dev.isxander.controlify.controller.ControllerType;
 import dev.isxander.controlify.controller.battery.BatteryLevelComponent;
@@ -15,12 +13,14 @@ import dev.isxander.controlify.controller.gyro.GyroComponent;
 import dev.isxander.controlify.controller.input.GamepadInputs;
 import dev.isxander.controlify.controller.gyro.GyroState;
 import dev.isxander.controlify.controller.*;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
 import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.controller.input.ModifiableControllerState;
 import dev.isxander.controlify.controller.rumble.RumbleComponent;
 import dev.isxander.controlify.controller.rumble.TriggerRumbleComponent;
 import dev.isxander.controlify.controllermanager.UniqueControllerID;
-import dev.isxander.controlify.driver.Driver;
+import dev.isxander.controlify.debug.DebugProperties;
+import dev.isxander.controlify.debug.latency.LatencyProbe;
+import dev.isxander.controlify.driver.PollingScheduler;
 import dev.isxander.controlify.hid.HIDIdentifier;
 import dev.isxander.controlify.rumble.RumbleState;
 import dev.isxander.controlify.rumble.TriggerRumbleState;
@@ -30,12 +30,14 @@ import dev.isxander.sdl3java.api.gamepad.SDL_Gamepad;
 import dev.isxander.sdl3java.api.joystick.SDL_JoystickID;
 import dev.isxander.sdl3java.api.properties.SDL_PropertiesID;
 import dev.isxander.sdl3java.api.sensor.SDL_SensorType;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 import org.jetbrains.annotations.Nullable;
 import org.joml.Vector2f;
 
 import javax.sound.sampled.AudioFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.IntStream;
@@ -43,7 +45,6 @@ import java.util.stream.IntStream;
 import static dev.isxander.sdl3java.api.audio.SdlAudio.*;
 import static dev.isxander.sdl3java.api.audio.SdlAudioConsts.*;
 import static dev.isxander.sdl3java.api.error.SdlError.*;
-import static dev.isxander.sdl3java.api.events.SdlEventsConst.*;
 import static dev.isxander.sdl3java.api.gamepad.SDL_GamepadAxis.*;
 import static dev.isxander.sdl3java.api.gamepad.SDL_GamepadButton.*;
 import static dev.isxander.sdl3java.api.gamepad.SdlGamepad.*;
@@ -52,11 +53,54 @@ import static dev.isxander.sdl3java.api.joystick.SDL_JoystickPowerLevel.*;
 import static dev.isxander.sdl3java.api.properties.SdlProperties.*;
 import static dev.isxander.sdl3java.api.sensor.SDL_SensorType.*;
 
-public class SDL3GamepadDriver implements Driver {
+public class SDL3GamepadDriver implements SDL3Driver {
     private static final int AUDIO_STREAM_TIMEOUT_TICKS = 5 * 60 * 60 * 20; // 5 minutes
+    // enough for a second of samples at the highest sampling rate
+    private static final int SAMPLE_RING_CAPACITY = 1024;
+    private static final int BATTERY_POLL_PERIOD = 10 * PollingScheduler.UPDATES_PER_SECOND; // 10 seconds
+
+    // indices into the raw axis arrays, in the order of `SDL_AXES`
+    private static final int AXIS_LEFTX = 0, AXIS_LEFTY = 1, AXIS_RIGHTX = 2, AXIS_RIGHTY = 3, AXIS_LEFT_TRIGGER = 4, AXIS_RIGHT_TRIGGER = 5;
+    private static final int[] SDL_AXES = {
+            SDL_GAMEPAD_AXIS_LEFTX, SDL_GAMEPAD_AXIS_LEFTY,
+            SDL_GAMEPAD_AXIS_RIGHTX, SDL_GAMEPAD_AXIS_RIGHTY,
+            SDL_GAMEPAD_AXIS_LEFT_TRIGGER, SDL_GAMEPAD_AXIS_RIGHT_TRIGGER,
+    };
+
+    // SDL buttons and the inputs they are mapped to, bit `i` of a button mask is `SDL_BUTTONS[i]`
+    private static final int[] SDL_BUTTONS = {
+            SDL_GAMEPAD_BUTTON_SOUTH, SDL_GAMEPAD_BUTTON_EAST, SDL_GAMEPAD_BUTTON_WEST, SDL_GAMEPAD_BUTTON_NORTH,
+            SDL_GAMEPAD_BUTTON_LEFT_SHOULDER, SDL_GAMEPAD_BUTTON_RIGHT_SHOULDER,
+            SDL_GAMEPAD_BUTTON_BACK, SDL_GAMEPAD_BUTTON_START, SDL_GAMEPAD_BUTTON_GUIDE,
+            SDL_GAMEPAD_BUTTON_DPAD_UP, SDL_GAMEPAD_BUTTON_DPAD_DOWN, SDL_GAMEPAD_BUTTON_DPAD_LEFT, SDL_GAMEPAD_BUTTON_DPAD_RIGHT,
+            SDL_GAMEPAD_BUTTON_LEFT_STICK, SDL_GAMEPAD_BUTTON_RIGHT_STICK,
+            SDL_GAMEPAD_BUTTON_MISC1,
+            SDL_GAMEPAD_BUTTON_LEFT_PADDLE1, SDL_GAMEPAD_BUTTON_LEFT_PADDLE2,
+            SDL_GAMEPAD_BUTTON_RIGHT_PADDLE1, SDL_GAMEPAD_BUTTON_RIGHT_PADDLE2,
+            SDL_GAMEPAD_BUTTON_TOUCHPAD,
+    };
+    // reverse lookups from SDL button/axis to index in the tables above, -1 if unused
+    private static final int[] SDL_BUTTON_INDEX = reverseLookup(SDL_BUTTONS);
+    private static final int[] SDL_AXIS_INDEX = reverseLookup(SDL_AXES);
+
+    private static final ResourceLocation[] BUTTONS = {
+            GamepadInputs.SOUTH_BUTTON, GamepadInputs.EAST_BUTTON, GamepadInputs.WEST_BUTTON, GamepadInputs.NORTH_BUTTON,
+            GamepadInputs.LEFT_SHOULDER_BUTTON, GamepadInputs.RIGHT_SHOULDER_BUTTON,
+            GamepadInputs.BACK_BUTTON, GamepadInputs.START_BUTTON, GamepadInputs.GUIDE_BUTTON,
+            GamepadInputs.DPAD_UP_BUTTON, GamepadInputs.DPAD_DOWN_BUTTON, GamepadInputs.DPAD_LEFT_BUTTON, GamepadInputs.DPAD_RIGHT_BUTTON,
+            GamepadInputs.LEFT_STICK_BUTTON, GamepadInputs.RIGHT_STICK_BUTTON,
+            GamepadInputs.MISC_1_BUTTON,
+            GamepadInputs.LEFT_PADDLE_1_BUTTON, GamepadInputs.LEFT_PADDLE_2_BUTTON,
+            GamepadInputs.RIGHT_PADDLE_1_BUTTON, GamepadInputs.RIGHT_PADDLE_2_BUTTON,
+            GamepadInputs.TOUCHPAD_BUTTON,
+    };
 
     private SDL_Gamepad ptrGamepad;
-    private final ControllerEntity controller;
+    private final SDL3Natives natives;
+    private final ControllerInfo info;
+    // created on the client thread once the device is opened
+    private ControllerEntity controller;
+    private final PollingScheduler scheduler = new PollingScheduler();
 
     private final boolean isGryoSupported;
     private final boolean isRumbleSupported, isTriggerRumbleSupported;
@@ -73,7 +117,29 @@ public class SDL3GamepadDriver implements Driver {
     private final SDL_AudioSpec dualsenseAudioSpec;
     private final List<AudioStreamHandle> dualsenseAudioHandles;
 
-    public SDL3GamepadDriver(SDL_JoystickID jid, ControllerType type, String uid, UniqueControllerID ucid, Optional<HIDIdentifier> hid) {
+    // input state owned by the SDL input thread, kept up to date by SDL events and only polled in full to resync
+    private final boolean eventDriven;
+    private final float[] eventAxes = new float[GamepadSampleRing.AXES];
+    private int eventButtons, eventPressedButtons;
+    private long eventObservedAt;
+    private final float[] publishedAxes = new float[GamepadSampleRing.AXES];
+    private int publishedButtons = -1;
+    private volatile boolean needsResync = true;
+
+    private boolean wasOutOfFocus;
+    private final NativeScratch scratch = new NativeScratch();
+    private final float[] gyroData = new float[3];
+    private final GyroState gyroState = new GyroState();
+    private final float[] fingerData = new float[4];
+    private final List<TouchpadState.Finger> fingers = new ArrayList<>();
+    private final TouchpadState.Finger[] lastFingers;
+    // hands input from the SDL input thread to the client thread
+    private final GamepadSampleRing sampleRing = new GamepadSampleRing(SAMPLE_RING_CAPACITY);
+    private final GamepadSampleRing.Aggregate sampleAggregate = new GamepadSampleRing.Aggregate();
+
+    public SDL3GamepadDriver(SDL3Natives natives, SDL_JoystickID jid, ControllerType type, String uid, UniqueControllerID ucid, Optional<HIDIdentifier> hid) {
+        this.natives = natives;
+        this.eventDriven = !DebugProperties.POLL_SDL_GAMEPADS;
         this.ptrGamepad = SDL_OpenGamepad(jid);
         if (this.ptrGamepad == null) {
             throw new IllegalStateException("Could not open gamepad: " + SDL_GetError());
@@ -88,9 +154,9 @@ public class SDL3GamepadDriver implements Driver {
         this.isTriggerRumbleSupported = SDL_GetBooleanProperty(properties, SDL_PROP_GAMEPAD_CAP_TRIGGER_RUMBLE_BOOLEAN, false);
         this.numTouchpads = SDL_GetNumGamepadTouchpads(ptrGamepad);
         this.maxTouchpadFingers = IntStream.range(0, numTouchpads).map(i -> SDL_GetNumGamepadTouchpadFingers(ptrGamepad, i)).sum();
+        this.lastFingers = new TouchpadState.Finger[this.maxTouchpadFingers];
 
-        ControllerInfo info = new ControllerInfo(uid, ucid, this.guid, this.name, type, hid);
-        this.controller = new ControllerEntity(info);
+        this.info = new ControllerInfo(uid, ucid, this.guid, this.name, type, hid);
 
         // open audio device for dualsense hd haptics
         this.dualsenseAudioHandles = new ArrayList<>();
@@ -112,38 +178,75 @@ public class SDL3GamepadDriver implements Driver {
             if (dualsenseAudioDev != null) {
                 this.dualsenseAudioSpec = devSpec;
                 this.dualsenseAudioDev = SDL_OpenAudioDevice(dualsenseAudioDev, (SDL_AudioSpec.ByReference) this.dualsenseAudioSpec);
-
-                HDHapticComponent hdHapticComponent = new HDHapticComponent();
-                hdHapticComponent.getPlayHapticEvent().register(this::playHaptic);
-                this.controller.setComponent(hdHapticComponent, HDHapticComponent.ID);
             } else {
                 this.dualsenseAudioDev = null;
                 this.dualsenseAudioSpec = null;
-
-                controller.setComponent(new BluetoothDeviceComponent(), BluetoothDeviceComponent.ID);
             }
         } else {
             this.dualsenseAudioDev = null;
             this.dualsenseAudioSpec = null;
         }
 
-        this.controller.setComponent(new InputComponent(21, 10, 0, true, GamepadInputs.DEADZONE_GROUPS, type.mappingId()), InputComponent.ID);
-        this.controller.setComponent(new BatteryLevelComponent(), BatteryLevelComponent.ID);
         if (this.isGryoSupported) {
             SDL_SetGamepadSensorEnabled(ptrGamepad, SDL_SensorType.SDL_SENSOR_GYRO, true);
-            this.controller.setComponent(new GyroComponent(), GyroComponent.ID);
+        }
+
+        scheduler.register("input", 1, this::updateInput).whileIdle();
+        if (this.isRumbleSupported || this.isTriggerRumbleSupported) {
+            scheduler.register("rumble", 1, this::updateRumble)
+                    .onSuspend(this::stopRumble);
+        }
+        if (this.isGryoSupported) {
+            // gyro and touchpad keep being read while idle, so using either on its own wakes the controller
+            scheduler.register("gyro", 1, this::updateGyro).whileIdle();
+        }
+        if (this.numTouchpads > 0) {
+            // only the virtual mouse reads touchpad fingers
+            scheduler.register("touchpad", 1, this::updateTouchpad)
+                    .onlyWhen(() -> Controlify.instance().virtualMouseHandler().isVirtualMouseEnabled())
+                    .onSuspend(this::clearTouchpad)
+                    .whileIdle();
+        }
+        scheduler.register("battery", BATTERY_POLL_PERIOD, this::updateBatteryLevel).whileIdle();
+        if (this.dualsenseAudioDev != null) {
+            scheduler.register("hd_haptics", 1, this::updateHDHaptic)
+                    .onlyWhen(() -> !dualsenseAudioHandles.isEmpty())
+                    .onSuspend(this::stopHDHaptic);
+        }
+    }
+
+    @Override
+    public ControllerInfo info() {
+        return this.info;
+    }
+
+    @Override
+    public void createController() {
+        ControllerType type = this.info.type();
+        this.controller = new ControllerEntity(this.info);
+
+        if (this.dualsenseAudioDev != null) {
+            HDHapticComponent hdHapticComponent = new HDHapticComponent();
+            hdHapticComponent.getPlayHapticEvent().register(this::playHaptic);
+            this.controller.setComponent(hdHapticComponent, HDHapticComponent.TYPE);
+        } else if ("dualsense".equals(type.namespace())) {
+            controller.setComponent(new BluetoothDeviceComponent(), BluetoothDeviceComponent.TYPE);
+        }
+
+        this.controller.setComponent(new InputComponent(21, 10, 0, true, GamepadInputs.DEADZONE_GROUPS, type.mappingId()), InputComponent.TYPE);
+        this.controller.setComponent(new BatteryLevelComponent(), BatteryLevelComponent.TYPE);
+        if (this.isGryoSupported) {
+            this.controller.setComponent(new GyroComponent(), GyroComponent.TYPE);
         }
         if (this.isRumbleSupported) {
-            this.controller.setComponent(new RumbleComponent(), RumbleComponent.ID);
+            this.controller.setComponent(new RumbleComponent(), RumbleComponent.TYPE);
         }
         if (this.isTriggerRumbleSupported) {
-            this.controller.setComponent(new TriggerRumbleComponent(), TriggerRumbleComponent.ID);
+            this.controller.setComponent(new TriggerRumbleComponent(), TriggerRumbleComponent.TYPE);
         }
         if (this.numTouchpads > 0) {
-            this.controller.setComponent(new TouchpadComponent(this.maxTouchpadFingers), TouchpadComponent.ID);
+            this.controller.setComponent(new TouchpadComponent(this.maxTouchpadFingers), TouchpadComponent.TYPE);
         }
-
-        this.controller.finalise();
     }
 
     @Override
@@ -153,12 +256,23 @@ public class SDL3GamepadDriver implements Driver {
 
     @Override
     public void update(boolean outOfFocus) {
-        this.updateInput();
-        this.updateRumble();
-        this.updateGyro();
-        this.updateTouchpad();
-        this.updateBatteryLevel();
-        this.updateHDHaptic();
+        // events may not be delivered while out of focus
+        if (outOfFocus != this.wasOutOfFocus) {
+            this.wasOutOfFocus = outOfFocus;
+            this.needsResync = true;
+        }
+
+        this.scheduler.tick();
+    }
+
+    @Override
+    public void setIdle(boolean idle) {
+        this.scheduler.setIdle(idle);
+    }
+
+    @Override
+    public Optional<PollingScheduler> pollingScheduler() {
+        return Optional.of(this.scheduler);
     }
 
     @Override
@@ -172,55 +286,157 @@ public class SDL3GamepadDriver implements Driver {
         for (AudioStreamHandle handle : dualsenseAudioHandles) {
             handle.close();
         }
+        scratch.close();
     }
 
     private void updateInput() {
-        ControllerStateImpl state = new ControllerStateImpl();
-        // Axis values are in the range [-32768, 32767] (short)
-        // https://wiki.libsdl.org/SDL3/SDL_GameControllerGetAxis
-        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_RIGHT, positiveAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrGamepad, SDL_GAMEPAD_AXIS_LEFTX))));
-        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_LEFT, negativeAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrGamepad, SDL_GAMEPAD_AXIS_LEFTX))));
-        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_UP, negativeAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrGamepad, SDL_GAMEPAD_AXIS_LEFTY))));
-        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_DOWN, positiveAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrGamepad, SDL_GAMEPAD_AXIS_LEFTY))));
+        InputComponent input = this.controller.input().orElseThrow();
+        ModifiableControllerState state = input.stateBuffer();
 
-        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_RIGHT, positiveAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrGamepad, SDL_GAMEPAD_AXIS_RIGHTX))));
-        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_LEFT, negativeAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrGamepad, SDL_GAMEPAD_AXIS_RIGHTX))));
-        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_UP, negativeAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrGamepad, SDL_GAMEPAD_AXIS_RIGHTY))));
-        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_DOWN, positiveAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrGamepad, SDL_GAMEPAD_AXIS_RIGHTY))));
+        GamepadSampleRing.Aggregate samples = this.sampleAggregate;
+        if (this.sampleRing.drain(samples)) {
+            if (samples.observedAt != 0) {
+                input.markObserved(samples.observedAt);
+            }
+            if (samples.uniform) {
+                // right stick drives look, so use the average over the tick rather than the latest sample
+                samples.latestAxes[AXIS_RIGHTX] = samples.axisMean(AXIS_RIGHTX);
+                samples.latestAxes[AXIS_RIGHTY] = samples.axisMean(AXIS_RIGHTY);
+            }
+        } else {
+            // nothing has changed, the presses from the last drain have already been seen
+            samples.pressedButtons = 0;
+        }
 
-        // Triggers are in the range [0, 32767] (thanks SDL!)
-        state.setAxis(GamepadInputs.LEFT_TRIGGER_AXIS, mapShortToFloat(SDL_GetGamepadAxis(ptrGamepad, SDL_GAMEPAD_AXIS_LEFT_TRIGGER)));
-        state.setAxis(GamepadInputs.RIGHT_TRIGGER_AXIS, mapShortToFloat(SDL_GetGamepadAxis(ptrGamepad, SDL_GAMEPAD_AXIS_RIGHT_TRIGGER)));
+        writeAxes(state, samples.latestAxes);
+        for (int i = 0; i < BUTTONS.length; i++) {
+            state.setButton(BUTTONS[i], samples.isButtonDown(i));
+        }
+
+        input.pushState();
+    }
+
+    public boolean isEventDriven() {
+        return this.eventDriven;
+    }
+
+    /**
+     * SDL input thread only.
+     */
+    public void onButtonEvent(int sdlButton, boolean down) {
+        int index = sdlButton >= 0 && sdlButton < SDL_BUTTON_INDEX.length ? SDL_BUTTON_INDEX[sdlButton] : -1;
+        if (index == -1)
+            return;
+
+        if (down) {
+            this.eventButtons |= 1 << index;
+            this.eventPressedButtons |= 1 << index;
+        } else {
+            this.eventButtons &= ~(1 << index);
+        }
+    }
+
+    /**
+     * SDL input thread only.
+     */
+    public void onAxisEvent(int sdlAxis, short value) {
+        int index = sdlAxis >= 0 && sdlAxis < SDL_AXIS_INDEX.length ? SDL_AXIS_INDEX[sdlAxis] : -1;
+        if (index == -1)
+            return;
+
+        this.eventAxes[index] = mapShortToFloat(value);
+    }
+
+    /**
+     * SDL input thread only. Gives the time of the last button or axis event, for the {@link LatencyProbe}.
+     */
+    public void onEventTime(long time) {
+        if (time != 0 && (this.eventObservedAt == 0 || time < this.eventObservedAt)) {
+            this.eventObservedAt = time;
+        }
+    }
 
-        state.setButton(GamepadInputs.SOUTH_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_SOUTH) == SDL_PRESSED);
-        state.setButton(GamepadInputs.EAST_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_EAST) == SDL_PRESSED);
-        state.setButton(GamepadInputs.WEST_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_WEST) == SDL_PRESSED);
-        state.setButton(GamepadInputs.NORTH_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_NORTH) == SDL_PRESSED);
+    /**
+     * Forces the next update to poll every input, for when events may have been missed.
+     */
+    public void resync() {
+        this.needsResync = true;
+    }
+
+    /**
+     * SDL input thread only. Hands the latest input over to the client thread.
+     *
+     * @param uniform if the input should be published even if it hasn't changed,
+     *                so the client thread can average samples taken at a fixed rate
+     */
+    public void publish(boolean uniform) {
+        if (ptrGamepad == null)
+            return;
 
-        state.setButton(GamepadInputs.LEFT_SHOULDER_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_LEFT_SHOULDER) == SDL_PRESSED);
-        state.setButton(GamepadInputs.RIGHT_SHOULDER_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_RIGHT_SHOULDER) == SDL_PRESSED);
+        if (this.needsResync || !this.eventDriven) {
+            this.needsResync = false;
+            readAxes(this.eventAxes);
+            this.eventButtons = readButtons();
+        }
 
-        state.setButton(GamepadInputs.BACK_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_BACK) == SDL_PRESSED);
-        state.setButton(GamepadInputs.START_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_START) == SDL_PRESSED);
-        state.setButton(GamepadInputs.GUIDE_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_GUIDE) == SDL_PRESSED);
+        // include buttons that were pressed and released since the last publish
+        int buttons = this.eventButtons | this.eventPressedButtons;
+        boolean changed = buttons != this.publishedButtons || !Arrays.equals(this.eventAxes, this.publishedAxes);
+        if (!changed && !uniform)
+            return;
 
-        state.setButton(GamepadInputs.DPAD_UP_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_DPAD_UP) == SDL_PRESSED);
-        state.setButton(GamepadInputs.DPAD_DOWN_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_DPAD_DOWN) == SDL_PRESSED);
-        state.setButton(GamepadInputs.DPAD_LEFT_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_DPAD_LEFT) == SDL_PRESSED);
-        state.setButton(GamepadInputs.DPAD_RIGHT_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_DPAD_RIGHT) == SDL_PRESSED);
+        long observedAt = 0;
+        if (LatencyProbe.ENABLED && changed) {
+            observedAt = this.eventObservedAt != 0 ? this.eventObservedAt : System.nanoTime();
+            // kept until the sample is accepted, so a retried sample is timed from the original change
+            this.eventObservedAt = observedAt;
+        }
 
-        state.setButton(GamepadInputs.LEFT_STICK_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_LEFT_STICK) == SDL_PRESSED);
-        state.setButton(GamepadInputs.RIGHT_STICK_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_RIGHT_STICK) == SDL_PRESSED);
+        this.sampleRing.setUniform(uniform);
+        if (!this.sampleRing.offer(buttons, this.eventAxes, observedAt)) {
+            // the client thread has fallen behind and the ring is full,
+            // leave this state unpublished so it is offered again next time rather than lost
+            return;
+        }
+        this.eventObservedAt = 0;
+        this.eventPressedButtons = 0;
+        this.publishedButtons = buttons;
+        System.arraycopy(this.eventAxes, 0, this.publishedAxes, 0, this.publishedAxes.length);
+    }
 
-        // Additional inputs
-        state.setButton(GamepadInputs.MISC_1_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_MISC1) == SDL_PRESSED);
-        state.setButton(GamepadInputs.LEFT_PADDLE_1_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_LEFT_PADDLE1) == SDL_PRESSED);
-        state.setButton(GamepadInputs.LEFT_PADDLE_2_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_LEFT_PADDLE2) == SDL_PRESSED);
-        state.setButton(GamepadInputs.RIGHT_PADDLE_1_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_RIGHT_PADDLE1) == SDL_PRESSED);
-        state.setButton(GamepadInputs.RIGHT_PADDLE_2_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_RIGHT_PADDLE2) == SDL_PRESSED);
-        state.setButton(GamepadInputs.TOUCHPAD_BUTTON, SDL_GetGamepadButton(ptrGamepad, SDL_GAMEPAD_BUTTON_TOUCHPAD) == SDL_PRESSED);
+    private float[] readAxes(float[] axes) {
+        // Axis values are in the range [-32768, 32767] (short)
+        // https://wiki.libsdl.org/SDL3/SDL_GameControllerGetAxis
+        for (int i = 0; i < SDL_AXES.length; i++) {
+            axes[i] = mapShortToFloat(natives.getGamepadAxis(ptrGamepad, SDL_AXES[i]));
+        }
+        return axes;
+    }
 
-        this.controller.input().orElseThrow().pushState(state);
+    private int readButtons() {
+        int buttons = 0;
+        for (int i = 0; i < SDL_BUTTONS.length; i++) {
+            if (natives.getGamepadButton(ptrGamepad, SDL_BUTTONS[i])) {
+                buttons |= 1 << i;
+            }
+        }
+        return buttons;
+    }
+
+    private static void writeAxes(ModifiableControllerState state, float[] axes) {
+        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_RIGHT, positiveAxis(axes[AXIS_LEFTX]));
+        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_LEFT, negativeAxis(axes[AXIS_LEFTX]));
+        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_UP, negativeAxis(axes[AXIS_LEFTY]));
+        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_DOWN, positiveAxis(axes[AXIS_LEFTY]));
+
+        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_RIGHT, positiveAxis(axes[AXIS_RIGHTX]));
+        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_LEFT, negativeAxis(axes[AXIS_RIGHTX]));
+        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_UP, negativeAxis(axes[AXIS_RIGHTY]));
+        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_DOWN, positiveAxis(axes[AXIS_RIGHTY]));
+
+        // Triggers are in the range [0, 32767] (thanks SDL!)
+        state.setAxis(GamepadInputs.LEFT_TRIGGER_AXIS, axes[AXIS_LEFT_TRIGGER]);
+        state.setAxis(GamepadInputs.RIGHT_TRIGGER_AXIS, axes[AXIS_RIGHT_TRIGGER]);
     }
 
     private void updateRumble() {
@@ -231,7 +447,7 @@ public class SDL3GamepadDriver implements Driver {
                     .consumeRumble();
 
             stateOpt.ifPresent(state -> {
-                if (SDL_RumbleGamepad(ptrGamepad, (short)(state.strong() * 0xFFFF), (short)(state.weak() * 0xFFFF), 0) != 0) {
+                if (!natives.rumbleGamepad(ptrGamepad, (short)(state.strong() * 0xFFFF), (short)(state.weak() * 0xFFFF), 0)) {
                     CUtil.LOGGER.error("Could not rumble gamepad: " + SDL_GetError());
                 }
             });
@@ -244,52 +460,69 @@ public class SDL3GamepadDriver implements Driver {
                     .consumeTriggerRumble();
 
             stateOpt.ifPresent(state -> {
-                if (SDL_RumbleGamepadTriggers(ptrGamepad, (short)(state.left() * 0xFFFF), (short)(state.right() * 0xFFFF), 0) != 0) {
+                if (!natives.rumbleGamepadTriggers(ptrGamepad, (short)(state.left() * 0xFFFF), (short)(state.right() * 0xFFFF), 0)) {
                     CUtil.LOGGER.error("Could not rumble triggers gamepad: " + SDL_GetError());
                 }
             });
         }
     }
 
+    private void stopRumble() {
+        // drop anything queued whilst suspended so it doesn't play on resume
+        this.controller.rumble().ifPresent(rumble -> {
+            rumble.rumbleManager().clearEffects();
+            rumble.consumeRumble();
+            natives.rumbleGamepad(ptrGamepad, (short) 0, (short) 0, 0);
+        });
+        this.controller.triggerRumble().ifPresent(rumble -> {
+            rumble.consumeTriggerRumble();
+            natives.rumbleGamepadTriggers(ptrGamepad, (short) 0, (short) 0, 0);
+        });
+    }
+
     private void updateGyro() {
         if (!isGryoSupported) return;
 
-        float[] gyro = new float[3];
-
-        try (Memory memory = new Memory(gyro.length * Float.BYTES)) {
-            if (SDL_GetGamepadSensorData(ptrGamepad, SDL_SENSOR_GYRO, memory, 3) == 0) {
-                memory.read(0, gyro, 0, gyro.length);
-
-                this.controller.gyro().orElseThrow().setState(
-                        new GyroState(gyro[0], gyro[1], gyro[2])
-                );
-            } else {
-                CUtil.LOGGER.error("Could not get gyro data: " + SDL_GetError());
-            }
+        float[] gyro = this.gyroData;
+        if (natives.getGamepadSensorData(ptrGamepad, SDL_SENSOR_GYRO, gyro, 3)) {
+            this.gyroState.set(gyro[0], gyro[1], gyro[2]);
+            this.controller.gyro().orElseThrow().setState(this.gyroState);
+        } else {
+            CUtil.LOGGER.error("Could not get gyro data: " + SDL_GetError());
         }
     }
 
     private void updateTouchpad() {
         if (numTouchpads == 0) return;
 
-        List<TouchpadState.Finger> fingers = new ArrayList<>();
+        List<TouchpadState.Finger> fingers = this.fingers;
+        fingers.clear();
 
+        float[] data = this.fingerData;
         for (int finger = 0; finger < maxTouchpadFingers; finger++) {
-            var fingerState = new ByteByReference();
-            var x = new FloatByReference();
-            var y = new FloatByReference();
-            var pressure = new FloatByReference();
-
-            if (SDL_GetGamepadTouchpadFinger(ptrGamepad, 0, finger, fingerState, x, y, pressure) != 0) {
+            if (!natives.getGamepadTouchpadFinger(ptrGamepad, 0, finger, data)) {
                 CUtil.LOGGER.error("Failed to fetch touchpad finger: {}", SDL_GetError());
-            } else if (fingerState.getValue() == 0x1) {
-                fingers.add(new TouchpadState.Finger(new Vector2f(x.getValue(), y.getValue()), pressure.getValue()));
+            } else if (data[0] == 0x1) {
+                // a resting finger reports the same values every tick, so reuse last tick's instance
+                TouchpadState.Finger last = lastFingers[finger];
+                if (last == null || last.pressure() != data[3]
+                        || last.position().x() != data[1] || last.position().y() != data[2]) {
+                    last = lastFingers[finger] = new TouchpadState.Finger(new Vector2f(data[1], data[2]), data[3]);
+                }
+                fingers.add(last);
+            } else {
+                lastFingers[finger] = null;
             }
         }
 
         this.controller.touchpad().orElseThrow().pushFingers(fingers);
     }
 
+    private void clearTouchpad() {
+        Arrays.fill(lastFingers, null);
+        this.controller.touchpad().orElseThrow().pushFingers(List.of());
+    }
+
     private void updateBatteryLevel() {
         BatteryLevel level = switch (SDL_GetGamepadPowerLevel(ptrGamepad)) {
             case SDL_JOYSTICK_POWER_UNKNOWN -> BatteryLevel.UNKNOWN;
@@ -317,8 +550,15 @@ public class SDL3GamepadDriver implements Driver {
         }
     }
 
+    private void stopHDHaptic() {
+        for (AudioStreamHandle handle : dualsenseAudioHandles) {
+            handle.close();
+        }
+        dualsenseAudioHandles.clear();
+    }
+
     private void playHaptic(HapticBufferLibrary.HapticBuffer sound) {
-        if (ptrGamepad == null || dualsenseAudioDev == null || dualsenseAudioSpec == null) {
+        if (ptrGamepad == null || dualsenseAudioDev == null || dualsenseAudioSpec == null || scheduler.isIdle()) {
             return;
         }
 
@@ -360,13 +600,13 @@ public class SDL3GamepadDriver implements Driver {
         int length = sound.audio().length / spec.freq / spec.channels / byteSs * 20;
 
         if (handle != null) {
-            handle.queueAudio(sound.audio(), length);
+            handle.queueAudio(scratch, sound.audio(), length);
         } else {
             if (dualsenseAudioHandles.size() >= 16) {
                 dualsenseAudioHandles.remove(0).close();
             }
 
-            AudioStreamHandle newHandle = AudioStreamHandle.createWithAudio(dualsenseAudioDev, spec, dualsenseAudioSpec, sound.audio(), length);
+            AudioStreamHandle newHandle = AudioStreamHandle.createWithAudio(dualsenseAudioDev, spec, dualsenseAudioSpec, scratch, sound.audio(), length);
             dualsenseAudioHandles.add(newHandle);
         }
     }
@@ -385,6 +625,15 @@ public class SDL3GamepadDriver implements Driver {
         }
     }
 
+    private static int[] reverseLookup(int[] values) {
+        int[] lookup = new int[Arrays.stream(values).max().orElse(0) + 1];
+        Arrays.fill(lookup, -1);
+        for (int i = 0; i < values.length; i++) {
+            lookup[values[i]] = i;
+        }
+        return lookup;
+    }
+
     private static float positiveAxis(float value) {
         return value < 0 ? 0 : value;
     }
@@ -410,14 +659,11 @@ public class SDL3GamepadDriver implements Driver {
             this.streamLastPlayed = 0;
         }
 
-        public void queueAudio(byte[] audio, int tickLength) {
-            try (Memory memory = new Memory(audio.length)) {
-                memory.write(0, audio, 0, audio.length);
-                SDL_PutAudioStreamData(stream, memory, audio.length);
+        public void queueAudio(NativeScratch scratch, byte[] audio, int tickLength) {
+            SDL_PutAudioStreamData(stream, scratch.audio(audio), audio.length);
 
-                streamLastPlayed = Math.min(0, streamLastPlayed);
-                streamLastPlayed -= tickLength;
-            }
+            streamLastPlayed = Math.min(0, streamLastPlayed);
+            streamLastPlayed -= tickLength;
         }
 
         public SDL_AudioSpec getSpec() {
@@ -440,12 +686,12 @@ public class SDL3GamepadDriver implements Driver {
             SDL_DestroyAudioStream(stream);
         }
 
-        public static AudioStreamHandle createWithAudio(SDL_AudioDeviceID device, SDL_AudioSpec audioSpec, SDL_AudioSpec devSpec, byte[] audio, int tickLength) {
+        public static AudioStreamHandle createWithAudio(SDL_AudioDeviceID device, SDL_AudioSpec audioSpec, SDL_AudioSpec devSpec, NativeScratch scratch, byte[] audio, int tickLength) {
             SDL_AudioStream stream = SDL_CreateAudioStream(audioSpec, devSpec);
             SDL_BindAudioStream(device, stream);
 
             var handle = new AudioStreamHandle(stream, audioSpec);
-            handle.queueAudio(audio, tickLength);
+            handle.queueAudio(scratch, audio, tickLength);
             return handle;
         }
 
@@ -5,14 +5,14 @@ import dev.isxander.controlify.controller.ControllerType;
 import dev.isxander.controlify.controller.input.HatState;
 import dev.isxander.controlify.controller.battery.BatteryLevelComponent;
 import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.controller.input.ModifiableControllerState;
 import dev.isxander.controlify.controller.input.JoystickInputs;
 import dev.isxander.controlify.controller.*;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
 import dev.isxander.controlify.controller.rumble.RumbleComponent;
 import dev.isxander.controlify.controller.rumble.TriggerRumbleComponent;
 import dev.isxander.controlify.controllermanager.SDLControllerManager;
 import dev.isxander.controlify.controllermanager.UniqueControllerID;
-import dev.isxander.controlify.driver.Driver;
+import dev.isxander.controlify.driver.PollingScheduler;
 import dev.isxander.controlify.hid.HIDIdentifier;
 import dev.isxander.controlify.rumble.RumbleState;
 import dev.isxander.controlify.rumble.TriggerRumbleState;
@@ -33,9 +33,14 @@ import static dev.isxander.sdl3java.api.joystick.SdlJoystickPropsConst.SDL_PROP_
 import static dev.isxander.sdl3java.api.joystick.SdlJoystickPropsConst.SDL_PROP_JOYSTICK_CAP_TRIGGER_RUMBLE_BOOLEAN;
 import static dev.isxander.sdl3java.api.properties.SdlProperties.SDL_GetBooleanProperty;
 
-public class SDL3JoystickDriver implements Driver {
+public class SDL3JoystickDriver implements SDL3Driver {
+    private static final int BATTERY_POLL_PERIOD = 10 * PollingScheduler.UPDATES_PER_SECOND; // 10 seconds
+
     private final SDL_Joystick ptrJoystick;
-    private final ControllerEntity controller;
+    private final ControllerInfo info;
+    // created on the client thread once the device is opened
+    private ControllerEntity controller;
+    private final PollingScheduler scheduler = new PollingScheduler();
 
     private final boolean isRumbleSupported, isTriggerRumbleSupported;
     private final String guid;
@@ -55,23 +60,37 @@ public class SDL3JoystickDriver implements Driver {
         this.isRumbleSupported = SDL_GetBooleanProperty(props, SDL_PROP_JOYSTICK_CAP_RUMBLE_BOOLEAN, false);
         this.isTriggerRumbleSupported = SDL_GetBooleanProperty(props, SDL_PROP_JOYSTICK_CAP_TRIGGER_RUMBLE_BOOLEAN, false);
 
-        ControllerInfo info = new ControllerInfo(uid, ucid, this.guid, this.name, type, hid);
-        this.controller = new ControllerEntity(info);
+        this.info = new ControllerInfo(uid, ucid, this.guid, this.name, type, hid);
 
         this.numAxes = SDL_GetNumJoystickAxes(ptrJoystick);
         this.numButtons = SDL_GetNumJoystickButtons(ptrJoystick);
         this.numHats = SDL_GetNumJoystickHats(ptrJoystick);
 
-        this.controller.setComponent(new InputComponent(numButtons, numAxes * 2, numHats, false, Set.of(), type.mappingId()), InputComponent.ID);
-        this.controller.setComponent(new BatteryLevelComponent(), BatteryLevelComponent.ID);
+        scheduler.register("input", 1, this::updateInput).whileIdle();
+        if (this.isRumbleSupported || this.isTriggerRumbleSupported) {
+            scheduler.register("rumble", 1, this::updateRumble)
+                    .onSuspend(this::stopRumble);
+        }
+        scheduler.register("battery", BATTERY_POLL_PERIOD, this::updateBatteryLevel).whileIdle();
+    }
+
+    @Override
+    public ControllerInfo info() {
+        return this.info;
+    }
+
+    @Override
+    public void createController() {
+        this.controller = new ControllerEntity(this.info);
+
+        this.controller.setComponent(new InputComponent(numButtons, numAxes * 2, numHats, false, Set.of(), info.type().mappingId()), InputComponent.TYPE);
+        this.controller.setComponent(new BatteryLevelComponent(), BatteryLevelComponent.TYPE);
         if (this.isRumbleSupported) {
-            this.controller.setComponent(new RumbleComponent(), RumbleComponent.ID);
+            this.controller.setComponent(new RumbleComponent(), RumbleComponent.TYPE);
         }
         if (this.isTriggerRumbleSupported) {
-            this.controller.setComponent(new TriggerRumbleComponent(), TriggerRumbleComponent.ID);
+            this.controller.setComponent(new TriggerRumbleComponent(), TriggerRumbleComponent.TYPE);
         }
-
-        this.controller.finalise();
     }
 
     @Override
@@ -81,9 +100,17 @@ public class SDL3JoystickDriver implements Driver {
 
     @Override
     public void update(boolean outOfFocus) {
-        this.updateInput();
-        this.updateRumble();
-        this.updateBatteryLevel();
+        this.scheduler.tick();
+    }
+
+    @Override
+    public void setIdle(boolean idle) {
+        this.scheduler.setIdle(idle);
+    }
+
+    @Override
+    public Optional<PollingScheduler> pollingScheduler() {
+        return Optional.of(this.scheduler);
     }
 
     @Override
@@ -92,7 +119,8 @@ public class SDL3JoystickDriver implements Driver {
     }
 
     private void updateInput() {
-        ControllerStateImpl state = new ControllerStateImpl();
+        InputComponent input = this.controller.input().orElseThrow();
+        ModifiableControllerState state = input.stateBuffer();
 
         for (int i = 0; i < numAxes; i++) {
             float axis = mapShortToFloat(SDL_GetJoystickAxis(ptrJoystick, i));
@@ -126,7 +154,7 @@ public class SDL3JoystickDriver implements Driver {
             state.setHat(JoystickInputs.hat(i), hatState);
         }
 
-        this.controller.input().orElseThrow().pushState(state);
+        input.pushState();
     }
 
     private void updateRumble() {
@@ -157,6 +185,19 @@ public class SDL3JoystickDriver implements Driver {
         }
     }
 
+    private void stopRumble() {
+        // drop anything queued whilst suspended so it doesn't play on resume
+        this.controller.rumble().ifPresent(rumble -> {
+            rumble.rumbleManager().clearEffects();
+            rumble.consumeRumble();
+            SDL_RumbleJoystick(ptrJoystick, (short) 0, (short) 0, 0);
+        });
+        this.controller.triggerRumble().ifPresent(rumble -> {
+            rumble.consumeTriggerRumble();
+            SDL_RumbleJoystickTriggers(ptrJoystick, (short) 0, (short) 0, 0);
+        });
+    }
+
     private void updateBatteryLevel() {
         BatteryLevel level = switch (SDL_GetJoystickPowerLevel(ptrJoystick)) {
             case SDL_JOYSTICK_POWER_UNKNOWN -> BatteryLevel.UNKNOWN;
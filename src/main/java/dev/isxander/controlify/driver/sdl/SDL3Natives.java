@@ -0,0 +1,96 @@
+package dev.isxander.controlify.driver.sdl;
+
+import dev.isxander.controlify.debug.DebugProperties;
+import dev.isxander.controlify.driver.SDL3NativesManager;
+import dev.isxander.controlify.utils.CUtil;
+import dev.isxander.sdl3java.api.gamepad.SDL_Gamepad;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * The SDL3 calls made every tick by the SDL drivers, behind an interface
+ * so the binding used to make them can be swapped.
+ * <p>
+ * Each method that writes into scratch memory is confined to one thread:
+ * polling and reading events to the SDL input thread, and sensor and touchpad reads to whichever thread updates the driver.
+ * Other methods may be called from any thread.
+ */
+public interface SDL3Natives {
+    /**
+     * Picks the direct binding if it can be bound to the loaded SDL3 library,
+     * otherwise falls back to libsdl4j.
+     */
+    static SDL3Natives create() {
+        Optional<Path> library = SDL3NativesManager.getLoadedLibraryPath();
+        if (!DebugProperties.USE_LIBSDL4J_BINDINGS && library.isPresent()) {
+            try {
+                SDL3Natives natives = DirectSDL3Natives.bind(library.get());
+                CUtil.LOGGER.info("Using direct SDL3 bindings");
+                return natives;
+            } catch (Throwable e) {
+                CUtil.LOGGER.warn("Failed to bind SDL3 directly, falling back to libsdl4j", e);
+            }
+        }
+
+        return new LibSDL4JNatives();
+    }
+
+    String name();
+
+    /**
+     * @return a binding of the same kind with its own scratch memory, for a driver that may be updated
+     * concurrently with others
+     */
+    SDL3Natives forDriver();
+
+    boolean getGamepadButton(SDL_Gamepad gamepad, int button);
+
+    short getGamepadAxis(SDL_Gamepad gamepad, int axis);
+
+    /**
+     * @return false if the data could not be read, see {@code SDL_GetError}
+     */
+    boolean getGamepadSensorData(SDL_Gamepad gamepad, int sensorType, float[] data, int numValues);
+
+    /**
+     * @param out receives the finger's {@code state, x, y, pressure}
+     * @return false if the finger could not be read, see {@code SDL_GetError}
+     */
+    boolean getGamepadTouchpadFinger(SDL_Gamepad gamepad, int touchpad, int finger, float[] out);
+
+    boolean rumbleGamepad(SDL_Gamepad gamepad, short lowFrequency, short highFrequency, int durationMs);
+
+    boolean rumbleGamepadTriggers(SDL_Gamepad gamepad, short left, short right, int durationMs);
+
+    /**
+     * Polls the next event. The event's fields can be read with the {@code event*} methods until the next poll.
+     * @return the type of the event, or 0 if there are no more events
+     */
+    int pollEvent();
+
+    /**
+     * @return when the current event happened, as a {@link System#nanoTime()} value, or 0 if this backend can't tell
+     */
+    long eventTime();
+
+    /**
+     * @return the instance ID of the device the current joystick or gamepad event refers to
+     */
+    int eventWhich();
+
+    /**
+     * @return the button of the current gamepad button event
+     */
+    int eventGamepadButton();
+
+    /**
+     * @return the axis of the current gamepad axis event
+     */
+    int eventGamepadAxis();
+
+    /**
+     * @return the value of the current gamepad axis event
+     */
+    short eventGamepadAxisValue();
+}
@@ -0,0 +1,30 @@
+package dev.isxander.controlify.driver.synthetic;
+
+import java.util.function.IntFunction;
+
+/**
+ * Describes the virtual controllers created by a synthetic controller manager.
+ *
+ * @param inputPeriod how many driver updates each input sample is held for
+ * @param input creates the input of the controller at the given index
+ */
+public record SyntheticControllerSpec(
+        boolean gyro,
+        boolean touchpad,
+        boolean rumble,
+        boolean hdHaptics,
+        int inputPeriod,
+        IntFunction<SyntheticInput> input
+) {
+    /** A controller with every capability, giving random input every update. */
+    public static final SyntheticControllerSpec FULL = new SyntheticControllerSpec(true, true, true, true, 1, SyntheticInput::random);
+
+    public SyntheticControllerSpec {
+        if (inputPeriod < 1)
+            throw new IllegalArgumentException("Input period must be at least 1 update");
+    }
+
+    public SyntheticControllerSpec withInput(int inputPeriod, IntFunction<SyntheticInput> input) {
+        return new SyntheticControllerSpec(gyro, touchpad, rumble, hdHaptics, inputPeriod, input);
+    }
+}
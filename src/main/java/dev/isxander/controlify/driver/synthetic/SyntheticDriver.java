@@ -0,0 +1,171 @@
+package dev.isxander.controlify.driver.synthetic;
+
+import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.controller.ControllerInfo;
+import dev.isxander.controlify.controller.ControllerType;
+import dev.isxander.controlify.controller.battery.BatteryLevel;
+import dev.isxander.controlify.controller.battery.BatteryLevelComponent;
+import dev.isxander.controlify.controller.gyro.GyroComponent;
+import dev.isxander.controlify.controller.hdhaptic.HDHapticComponent;
+import dev.isxander.controlify.controller.input.GamepadInputs;
+import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.controller.rumble.RumbleComponent;
+import dev.isxander.controlify.controller.rumble.TriggerRumbleComponent;
+import dev.isxander.controlify.controller.touchpad.TouchpadComponent;
+import dev.isxander.controlify.controllermanager.UniqueControllerID;
+import dev.isxander.controlify.driver.Driver;
+import dev.isxander.controlify.driver.PollingScheduler;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A virtual gamepad with no hardware behind it, fed by a {@link SyntheticInput}.
+ * It is scheduled like the SDL gamepad driver, and consumes rumble and HD haptics as a real one would,
+ * counting what it would have played instead of playing it.
+ */
+public class SyntheticDriver implements Driver {
+    private static final int BATTERY_POLL_PERIOD = 10 * PollingScheduler.UPDATES_PER_SECOND; // 10 seconds
+    private static final int MAX_FINGERS = 2;
+
+    private final ControllerEntity controller;
+    private final PollingScheduler scheduler = new PollingScheduler();
+    private final SyntheticControllerSpec spec;
+    private final SyntheticInput input;
+    private final SyntheticInput.Frame frame = new SyntheticInput.Frame();
+
+    private int untilNextSample;
+    private int rumblesPlayed;
+    private int hapticsPlayed;
+    private final AtomicInteger hapticsQueued = new AtomicInteger();
+
+    public SyntheticDriver(SyntheticControllerSpec spec, SyntheticInput input, String uid, UniqueControllerID ucid) {
+        this.spec = spec;
+        this.input = input;
+
+        ControllerInfo info = new ControllerInfo(uid, ucid, "synthetic", "Synthetic Controller", ControllerType.UNKNOWN, Optional.empty());
+        this.controller = new ControllerEntity(info);
+
+        this.controller.setComponent(new InputComponent(21, 10, 0, true, GamepadInputs.DEADZONE_GROUPS, ControllerType.UNKNOWN.mappingId()), InputComponent.TYPE);
+        this.controller.setComponent(new BatteryLevelComponent(), BatteryLevelComponent.TYPE);
+        if (spec.gyro()) {
+            this.controller.setComponent(new GyroComponent(), GyroComponent.TYPE);
+        }
+        if (spec.rumble()) {
+            this.controller.setComponent(new RumbleComponent(), RumbleComponent.TYPE);
+            this.controller.setComponent(new TriggerRumbleComponent(), TriggerRumbleComponent.TYPE);
+        }
+        if (spec.touchpad()) {
+            this.controller.setComponent(new TouchpadComponent(MAX_FINGERS), TouchpadComponent.TYPE);
+        }
+        if (spec.hdHaptics()) {
+            HDHapticComponent hdHapticComponent = new HDHapticComponent();
+            // may be played from the haptic loading thread
+            hdHapticComponent.getPlayHapticEvent().register(buffer -> {
+                if (!scheduler.isIdle()) hapticsQueued.incrementAndGet();
+            });
+            this.controller.setComponent(hdHapticComponent, HDHapticComponent.TYPE);
+        }
+
+        scheduler.register("input", 1, this::updateInput).whileIdle();
+        if (spec.rumble()) {
+            scheduler.register("rumble", 1, this::updateRumble)
+                    .onSuspend(this::stopRumble);
+        }
+        if (spec.gyro()) {
+            // gyro and touchpad keep being read while idle, so using either on its own wakes the controller
+            scheduler.register("gyro", 1, this::updateGyro).whileIdle();
+        }
+        if (spec.touchpad()) {
+            scheduler.register("touchpad", 1, this::updateTouchpad)
+                    .onSuspend(() -> this.controller.touchpad().orElseThrow().pushFingers(List.of()))
+                    .whileIdle();
+        }
+        scheduler.register("battery", BATTERY_POLL_PERIOD, this::updateBatteryLevel).whileIdle();
+        if (spec.hdHaptics()) {
+            scheduler.register("hd_haptics", 1, this::updateHDHaptic)
+                    .onlyWhen(() -> hapticsQueued.get() > 0);
+        }
+    }
+
+    @Override
+    public ControllerEntity getController() {
+        return this.controller;
+    }
+
+    @Override
+    public void update(boolean outOfFocus) {
+        if (--untilNextSample <= 0) {
+            untilNextSample = spec.inputPeriod();
+            input.next(frame);
+            frame.sample++;
+        }
+
+        this.scheduler.tick();
+    }
+
+    @Override
+    public void setIdle(boolean idle) {
+        this.scheduler.setIdle(idle);
+    }
+
+    @Override
+    public Optional<PollingScheduler> pollingScheduler() {
+        return Optional.of(this.scheduler);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * @return how many updates a rumble or trigger rumble state was sent on
+     */
+    public int rumblesPlayed() {
+        return rumblesPlayed;
+    }
+
+    /**
+     * @return how many HD haptic buffers were played
+     */
+    public int hapticsPlayed() {
+        return hapticsPlayed;
+    }
+
+    private void updateInput() {
+        this.controller.input().orElseThrow().pushState(frame.state);
+    }
+
+    private void updateRumble() {
+        if (this.controller.rumble().orElseThrow().consumeRumble().isPresent())
+            rumblesPlayed++;
+        if (this.controller.triggerRumble().orElseThrow().consumeTriggerRumble().isPresent())
+            rumblesPlayed++;
+    }
+
+    private void stopRumble() {
+        // drop anything queued whilst suspended so it doesn't play on resume
+        this.controller.rumble().ifPresent(rumble -> {
+            rumble.rumbleManager().clearEffects();
+            rumble.consumeRumble();
+        });
+        this.controller.triggerRumble().ifPresent(TriggerRumbleComponent::consumeTriggerRumble);
+    }
+
+    private void updateGyro() {
+        this.controller.gyro().orElseThrow().setState(frame.gyro);
+    }
+
+    private void updateTouchpad() {
+        this.controller.touchpad().orElseThrow().pushFingers(frame.fingers);
+    }
+
+    private void updateBatteryLevel() {
+        this.controller.batteryLevel().orElseThrow().setBatteryLevel(BatteryLevel.WIRED);
+    }
+
+    private void updateHDHaptic() {
+        hapticsPlayed += hapticsQueued.getAndSet(0);
+    }
+}
@@ -0,0 +1,147 @@
+package dev.isxander.controlify.driver.synthetic;
+
+import dev.isxander.controlify.controller.gyro.GyroState;
+import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.GamepadInputs;
+import dev.isxander.controlify.controller.touchpad.TouchpadState;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import org.joml.Vector2f;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Where a {@link SyntheticDriver} gets its input from.
+ */
+@FunctionalInterface
+public interface SyntheticInput {
+    /**
+     * Writes the next input into the frame. Whatever is left in the frame is held until the next call,
+     * so an input only needs to write what has changed.
+     */
+    void next(Frame frame);
+
+    /**
+     * Never gives any input, for measuring the baseline cost of a connected controller.
+     */
+    static SyntheticInput none() {
+        return frame -> {};
+    }
+
+    /**
+     * Rotates both sticks, ramps the triggers and presses each button in turn, the same way every time.
+     */
+    static SyntheticInput sweep() {
+        return new Sweep();
+    }
+
+    /**
+     * Wanders the sticks and gyro and presses buttons at random, seeded so runs can be compared.
+     */
+    static SyntheticInput random(long seed) {
+        return new RandomInput(seed);
+    }
+
+    /**
+     * The input held by a synthetic driver, written into the controller's components every update.
+     */
+    final class Frame {
+        public final ControllerStateImpl state = new ControllerStateImpl();
+        public final GyroState gyro = new GyroState();
+        public final List<TouchpadState.Finger> fingers = new ArrayList<>();
+        /** How many times this frame has been advanced. */
+        public long sample;
+    }
+
+    List<ResourceLocation> BUTTONS = List.of(
+            GamepadInputs.SOUTH_BUTTON, GamepadInputs.EAST_BUTTON, GamepadInputs.WEST_BUTTON, GamepadInputs.NORTH_BUTTON,
+            GamepadInputs.LEFT_SHOULDER_BUTTON, GamepadInputs.RIGHT_SHOULDER_BUTTON,
+            GamepadInputs.BACK_BUTTON, GamepadInputs.START_BUTTON, GamepadInputs.GUIDE_BUTTON,
+            GamepadInputs.LEFT_STICK_BUTTON, GamepadInputs.RIGHT_STICK_BUTTON,
+            GamepadInputs.DPAD_UP_BUTTON, GamepadInputs.DPAD_DOWN_BUTTON, GamepadInputs.DPAD_LEFT_BUTTON, GamepadInputs.DPAD_RIGHT_BUTTON
+    );
+
+    /**
+     * Writes stick positions in the range [-1, 1] the same way the gamepad drivers do.
+     */
+    static void writeSticks(ControllerStateImpl state, float leftX, float leftY, float rightX, float rightY) {
+        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_RIGHT, Math.max(leftX, 0));
+        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_LEFT, -Math.min(leftX, 0));
+        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_DOWN, Math.max(leftY, 0));
+        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_UP, -Math.min(leftY, 0));
+        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_RIGHT, Math.max(rightX, 0));
+        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_LEFT, -Math.min(rightX, 0));
+        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_DOWN, Math.max(rightY, 0));
+        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_UP, -Math.min(rightY, 0));
+    }
+
+    final class Sweep implements SyntheticInput {
+        private static final int STICK_PERIOD = 40;
+        private static final int BUTTON_PERIOD = 4;
+
+        private Sweep() {
+        }
+
+        @Override
+        public void next(Frame frame) {
+            long sample = frame.sample;
+            float angle = (sample % STICK_PERIOD) / (float) STICK_PERIOD * Mth.TWO_PI;
+            float sin = Mth.sin(angle), cos = Mth.cos(angle);
+
+            writeSticks(frame.state, cos, sin, -sin, cos);
+            float trigger = (sample % STICK_PERIOD) / (float) STICK_PERIOD;
+            frame.state.setAxis(GamepadInputs.LEFT_TRIGGER_AXIS, trigger);
+            frame.state.setAxis(GamepadInputs.RIGHT_TRIGGER_AXIS, 1 - trigger);
+
+            int pressed = (int) (sample / BUTTON_PERIOD % BUTTONS.size());
+            for (int i = 0; i < BUTTONS.size(); i++) {
+                frame.state.setButton(BUTTONS.get(i), i == pressed);
+            }
+
+            frame.gyro.set(sin * 0.5f, cos * 0.5f, 0);
+        }
+    }
+
+    final class RandomInput implements SyntheticInput {
+        private static final float BUTTON_TOGGLE_CHANCE = 0.05f;
+        private static final float STICK_STEP = 0.2f;
+        private static final int MAX_FINGERS = 2;
+
+        private final Random random;
+        private float leftX, leftY, rightX, rightY;
+
+        private RandomInput(long seed) {
+            this.random = new Random(seed);
+        }
+
+        @Override
+        public void next(Frame frame) {
+            leftX = wander(leftX);
+            leftY = wander(leftY);
+            rightX = wander(rightX);
+            rightY = wander(rightY);
+            writeSticks(frame.state, leftX, leftY, rightX, rightY);
+            frame.state.setAxis(GamepadInputs.LEFT_TRIGGER_AXIS, random.nextFloat());
+            frame.state.setAxis(GamepadInputs.RIGHT_TRIGGER_AXIS, random.nextFloat());
+
+            for (ResourceLocation button : BUTTONS) {
+                boolean down = frame.state.isButtonDown(button);
+                frame.state.setButton(button, random.nextFloat() < BUTTON_TOGGLE_CHANCE != down);
+            }
+
+            frame.gyro.set(random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, random.nextFloat() - 0.5f);
+
+            frame.fingers.clear();
+            int fingers = random.nextInt(MAX_FINGERS + 1);
+            for (int i = 0; i < fingers; i++) {
+                frame.fingers.add(new TouchpadState.Finger(new Vector2f(random.nextFloat(), random.nextFloat()), random.nextFloat()));
+            }
+        }
+
+        private float wander(float value) {
+            return Mth.clamp(value + (random.nextFloat() * 2 - 1) * STICK_STEP, -1, 1);
+        }
+    }
+}
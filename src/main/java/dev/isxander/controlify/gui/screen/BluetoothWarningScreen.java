@@ -13,6 +13,7 @@ public class BluetoothWarningScreen extends ConfirmScreen {
         super(showAgain -> {
             if (!showAgain) {
                 bt.confObj().dontShowWarningAgain = true;
+                bt.config().markDirty();
                 Controlify.instance().config().save();
             }
 
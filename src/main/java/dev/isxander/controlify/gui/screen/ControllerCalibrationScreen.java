@@ -169,6 +169,7 @@ public class ControllerCalibrationScreen extends Screen implements DontInteruptS
             controller.gyro().map(gyro -> gyro.config().config()).ifPresent(config -> {
                 config.calibrated = true;
             });
+            controller.markConfigDirty();
             Controlify.instance().config().setDirty();
             Controlify.instance().setCurrentController(controller, true);
             Controlify.instance().config().saveIfDirty();
@@ -219,6 +220,8 @@ public class ControllerCalibrationScreen extends Screen implements DontInteruptS
 
             input.config().config().deadzones.put(group.name(), maxAbs + 0.08f);
         }
+
+        input.invalidateDeadzones();
     }
 
     private void generateGyroCalibration() {
@@ -269,6 +272,7 @@ public class ControllerCalibrationScreen extends Screen implements DontInteruptS
                     .orElse(false);
 
             if (dirty) {
+                controller.markConfigDirty();
                 Controlify.instance().config().setDirty();
                 Controlify.instance().setCurrentController(null, true);
             }
@@ -57,7 +57,11 @@ public class ControllerConfigScreenFactory {
                 .category(basicCategory)
                 .category(advancedCategory)
                 .category(bindsCategory)
-                .save(() -> Controlify.instance().config().save())
+                .save(() -> {
+                    // options set the config fields directly
+                    controller.markConfigDirty();
+                    Controlify.instance().config().save();
+                })
                 .build().generateScreen(parent);
     }
 
@@ -276,7 +280,10 @@ public class ControllerConfigScreenFactory {
                     .binding(
                             def.deadzones.getOrDefault(groupName, 0f),
                             () -> config.deadzones.getOrDefault(groupName, 0f),
-                            v -> config.deadzones.put(groupName, v)
+                            v -> {
+                                config.deadzones.put(groupName, v);
+                                input.invalidateDeadzones();
+                            }
                     )
                     .controller(opt -> FloatSliderControllerBuilder.create(opt)
                             .range(0f, 1f).step(0.02f)
@@ -206,6 +206,7 @@ public class ControllerMappingMakerScreen extends Screen implements ScreenContro
     public void onClose() {
         minecraft.setScreen(lastScreen);
         inputComponent.confObj().mapping = mappingBuilder.build();
+        inputComponent.config().markDirty();
         Controlify.instance().config().save();
     }
 
@@ -4,6 +4,7 @@ import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.api.ControlifyApi;
 import dev.isxander.controlify.config.GlobalSettings;
 import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.debug.latency.LatencyProbe;
 import dev.isxander.controlify.driver.SDL3NativesManager;
 import dev.isxander.controlify.gui.controllers.FormattableStringController;
 import dev.isxander.controlify.reacharound.ReachAroundMode;
@@ -21,6 +22,7 @@ import net.minecraft.network.chat.CommonComponents;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class GlobalSettingsScreenFactory {
@@ -160,6 +162,47 @@ public class GlobalSettingsScreenFactory {
                                         .binding(GlobalSettings.DEFAULT.outOfFocusInput, () -> globalSettings.outOfFocusInput, v -> globalSettings.outOfFocusInput = v)
                                         .controller(TickBoxControllerBuilder::create)
                                         .build())
+                                .option(Option.<Integer>createBuilder()
+                                        .name(Component.translatable("controlify.gui.high_frequency_polling"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.high_frequency_polling.tooltip"))
+                                                .build())
+                                        .binding(GlobalSettings.DEFAULT.highFrequencyPollingRate, () -> globalSettings.highFrequencyPollingRate, v -> globalSettings.highFrequencyPollingRate = v)
+                                        .controller(opt -> IntegerSliderControllerBuilder.create(opt)
+                                                .range(0, 1000)
+                                                .step(250)
+                                                .formatValue(v -> v == 0 ? CommonComponents.OPTION_OFF : Component.literal(v + " Hz")))
+                                        .build())
+                                .option(Option.<Integer>createBuilder()
+                                        .name(Component.translatable("controlify.gui.idle_polling_rate"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.idle_polling_rate.tooltip"))
+                                                .build())
+                                        .binding(GlobalSettings.DEFAULT.idlePollingRate, () -> globalSettings.idlePollingRate, v -> globalSettings.idlePollingRate = v)
+                                        .controller(opt -> IntegerSliderControllerBuilder.create(opt)
+                                                .range(0, 10)
+                                                .step(1)
+                                                .formatValue(v -> v == 0 ? CommonComponents.OPTION_OFF : Component.literal(v + " Hz")))
+                                        .build())
+                                .option(Option.<Integer>createBuilder()
+                                        .name(Component.translatable("controlify.gui.idle_timeout"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.idle_timeout.tooltip"))
+                                                .build())
+                                        .binding(GlobalSettings.DEFAULT.idleTimeout, () -> globalSettings.idleTimeout, v -> globalSettings.idleTimeout = v)
+                                        .controller(opt -> IntegerSliderControllerBuilder.create(opt)
+                                                .range(0, 300)
+                                                .step(15)
+                                                .formatValue(v -> v == 0 ? Component.translatable("controlify.gui.idle_timeout.unfocused_only") : Component.literal(v + "s")))
+                                        .build())
+                                .option(Option.<Boolean>createBuilder()
+                                        .name(Component.translatable("controlify.gui.parallel_driver_updates"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.parallel_driver_updates.tooltip"))
+                                                .build())
+                                        .binding(GlobalSettings.DEFAULT.parallelDriverUpdates, () -> globalSettings.parallelDriverUpdates, v -> globalSettings.parallelDriverUpdates = v)
+                                        .controller(TickBoxControllerBuilder::create)
+                                        .build())
                                 .option(Option.<Boolean>createBuilder()
                                         .name(Component.translatable("controlify.gui.notify_low_battery"))
                                         .description(OptionDescription.createBuilder()
@@ -168,6 +211,14 @@ public class GlobalSettingsScreenFactory {
                                         .binding(GlobalSettings.DEFAULT.notifyLowBattery, () -> globalSettings.notifyLowBattery, v -> globalSettings.notifyLowBattery = v)
                                         .controller(TickBoxControllerBuilder::create)
                                         .build())
+                                .option(Option.<Boolean>createBuilder()
+                                        .name(Component.translatable("controlify.gui.show_tick_timings"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.show_tick_timings.tooltip"))
+                                                .build())
+                                        .binding(GlobalSettings.DEFAULT.showTickTimings, () -> globalSettings.showTickTimings, v -> globalSettings.showTickTimings = v)
+                                        .controller(TickBoxControllerBuilder::create)
+                                        .build())
                                 .option(ButtonOption.createBuilder()
                                         .name(Component.translatable("controlify.gui.copy_debug_dump"))
                                         .description(OptionDescription.createBuilder()
@@ -185,6 +236,13 @@ public class GlobalSettingsScreenFactory {
                                             Minecraft.getInstance().keyboardHandler.setClipboard(formatted);
                                         })
                                         .build())
+                                .options(LatencyProbe.ENABLED ? List.of(ButtonOption.createBuilder()
+                                        .name(Component.translatable("controlify.gui.export_latency"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.export_latency.tooltip"))
+                                                .build())
+                                        .action((screen, btn) -> Controlify.instance().exportLatency(true))
+                                        .build()) : List.of())
                                 .build())
                         .build())
                 .build().generateScreen(parent);
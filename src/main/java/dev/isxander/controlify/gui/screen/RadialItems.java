@@ -136,6 +136,7 @@ public final class RadialItems {
         @Override
         public void setRadialItem(int index, RadialMenuScreen.RadialItem item) {
             controller.genericConfig().config().radialActions[index] = ((RadialItemRecord) item).id();
+            controller.genericConfig().markDirty();
         }
 
         @Override
@@ -6,6 +6,7 @@ import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.controller.ControllerType;
 import dev.isxander.controlify.driver.SDL3NativesManager;
 import dev.isxander.controlify.debug.DebugProperties;
+import dev.isxander.controlify.debug.jfr.HidScanEvent;
 import dev.isxander.controlify.utils.CUtil;
 import dev.isxander.controlify.utils.ToastUtils;
 import net.minecraft.network.chat.Component;
@@ -119,6 +120,9 @@ public class ControllerHIDService {
     }
 
     private void doScanOnThisThread() {
+        HidScanEvent event = new HidScanEvent();
+        event.begin();
+
         List<String> removeList = new ArrayList<String>();
 
         List<HidDevice> attachedHidDeviceList = services.getAttachedHidDevices();
@@ -156,6 +160,13 @@ public class ControllerHIDService {
             // Update the attached devices map
             removeList.forEach(this.attachedDevices.keySet()::remove);
         }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.attachedDevices = attachedHidDeviceList.size();
+            event.unconsumedControllers = unconsumedControllerHIDs.size();
+            event.commit();
+        }
     }
 
     public void unconsumeController(ControllerHIDInfo hid) {
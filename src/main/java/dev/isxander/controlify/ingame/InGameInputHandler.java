@@ -7,6 +7,7 @@ import dev.isxander.controlify.controller.gyro.GyroState;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.gyro.GyroComponent;
 import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.debug.latency.LatencyProbe;
 import dev.isxander.controlify.gui.screen.RadialItems;
 import dev.isxander.controlify.gui.screen.RadialMenuScreen;
 import dev.isxander.controlify.server.ServerPolicies;
@@ -282,8 +283,16 @@ public class InGameInputHandler {
     }
 
     public void processPlayerLook(float deltaTime) {
+        boolean turned = false;
         if (minecraft.player != null) {
             minecraft.player.turn(lookInputX / 0.15f * deltaTime, lookInputY / 0.15f * deltaTime);
+            turned = deltaTime > 0 && (lookInputX != 0 || lookInputY != 0);
+        }
+
+        if (LatencyProbe.ENABLED) {
+            // without a player, axis changes are discarded rather than timed against the first turn in a world
+            boolean playerTurned = turned;
+            controller.input().ifPresent(input -> LatencyProbe.onLookApplied(input, playerTurned));
         }
     }
 
@@ -2,15 +2,31 @@ package dev.isxander.controlify.mixins.core;
 
 import com.llamalad7.mixinextras.injector.ModifyExpressionValue;
 import dev.isxander.controlify.Controlify;
+import dev.isxander.controlify.debug.timings.TickTimingsOverlay;
 import dev.isxander.controlify.ingame.InGameInputHandler;
+import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Gui;
+import net.minecraft.client.gui.GuiGraphics;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @Mixin(Gui.class)
 public class GuiMixin {
+    @Shadow @Final private Minecraft minecraft;
+
     @ModifyExpressionValue(method = "render", at = @At(value = "INVOKE", target = "Lnet/minecraft/client/KeyMapping;isDown()Z"))
     private boolean shouldShowPlayerList(boolean keyDown) {
         return keyDown || Controlify.instance().inGameInputHandler().map(InGameInputHandler::shouldShowPlayerList).orElse(false);
     }
+
+    @Inject(method = "render", at = @At("RETURN"))
+    private void renderTickTimings(GuiGraphics graphics, float tickDelta, CallbackInfo ci) {
+        if (Controlify.instance().config().globalSettings().showTickTimings) {
+            TickTimingsOverlay.render(graphics, minecraft.font, graphics.guiWidth(), graphics.guiHeight());
+        }
+    }
 }
@@ -3,6 +3,10 @@ package dev.isxander.controlify.utils;
 import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controllermanager.ControllerManager;
+import dev.isxander.controlify.debug.latency.LatencyProbe;
+import dev.isxander.controlify.debug.timings.TickTimings;
+import dev.isxander.controlify.driver.Driver;
+import dev.isxander.controlify.driver.PollingScheduler;
 import dev.isxander.controlify.driver.SDL3NativesManager;
 import dev.isxander.controlify.driver.global.GlobalDriver;
 import net.fabricmc.api.EnvType;
@@ -84,10 +88,35 @@ public class DebugDump {
                 }, () -> dump.line("Touchpads: UNSUPPORTED"));
                 dump.line("HD haptics supported: ", controller.hdHaptics().isPresent());
 
+                controllerManager.getDriver(controller.info().uid())
+                        .flatMap(Driver::pollingScheduler)
+                        .ifPresent(scheduler -> {
+                            dump.line("Idle: ", scheduler.isIdle());
+                            dump.line("Polling rates:").pushIndent();
+                            for (PollingScheduler.Task task : scheduler.tasks()) {
+                                dump.line(task.name(), ": ", task.isSuspended() ? "suspended" : task.effectiveRate() + " Hz");
+                            }
+                            dump.popIndent(); // polling rates
+                        });
+
                 dump.line();
             }
             dump.popIndent(); // connected controllers
         }
+
+        dump.line("Tick timings:").pushIndent();
+        for (String line : TickTimings.report()) {
+            dump.line(line);
+        }
+        dump.popIndent(); // tick timings
+
+        if (LatencyProbe.ENABLED) {
+            dump.line("Input latency:").pushIndent();
+            for (String line : LatencyProbe.report()) {
+                dump.line(line);
+            }
+            dump.popIndent(); // input latency
+        }
     }
 
     private static class IndentedStringBuilder {
@@ -0,0 +1,79 @@
+package dev.isxander.controlify.controller.input;
+
+import com.sun.management.ThreadMXBean;
+import dev.isxander.controlify.benchmark.BenchmarkBootstrap;
+import dev.isxander.controlify.benchmark.BenchmarkInputs;
+import dev.isxander.controlify.controller.ControllerType;
+import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.mapping.ControllerMapping;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Once warmed up, pushing a state through {@link InputComponent} must not allocate,
+ * with or without a mapping and deadzones applied.
+ */
+class InputComponentAllocationTest {
+    // enough for the loop to be compiled, so what's measured is the steady state
+    private static final int WARMUP_CYCLES = 200_000;
+    private static final int MEASURED_CYCLES = 10_000;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @BeforeAll
+    static void setup() {
+        BenchmarkBootstrap.bootstrap();
+    }
+
+    @Test
+    void pushStateDoesNotAllocate() {
+        assertPushStateDoesNotAllocate(null);
+    }
+
+    @Test
+    void pushStateWithMappingDoesNotAllocate() {
+        assertPushStateDoesNotAllocate(BenchmarkInputs.gamepadRemap());
+    }
+
+    private static void assertPushStateDoesNotAllocate(@Nullable ControllerMapping mapping) {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Thread allocation measurement is unsupported");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        InputComponent input = new InputComponent(21, 10, 0, true, GamepadInputs.DEADZONE_GROUPS, ControllerType.UNKNOWN.mappingId());
+        InputComponent.Config config = input.confObj();
+        config.mapping = mapping;
+        for (DeadzoneGroup group : GamepadInputs.DEADZONE_GROUPS) {
+            config.deadzones.put(group.name(), 0.2f);
+        }
+        input.invalidateDeadzones();
+
+        ControllerStateImpl[] samples = BenchmarkInputs.gamepadSamples(0);
+
+        cycle(input, samples, WARMUP_CYCLES);
+
+        long threadId = Thread.currentThread().getId();
+        // the JVM itself can allocate once in a while, such as when recompiling,
+        // so take the best of a few rounds. anything pushState allocates would show in every round
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long before = THREADS.getThreadAllocatedBytes(threadId);
+            cycle(input, samples, MEASURED_CYCLES);
+            allocated = Math.min(allocated, THREADS.getThreadAllocatedBytes(threadId) - before);
+        }
+
+        assertEquals(0, allocated, "Bytes allocated over " + MEASURED_CYCLES + " pushState cycles");
+    }
+
+    private static void cycle(InputComponent input, ControllerStateImpl[] samples, int cycles) {
+        for (int i = 0; i < cycles; i++) {
+            input.pushState(samples[i & BenchmarkInputs.SAMPLE_MASK]);
+        }
+    }
+}